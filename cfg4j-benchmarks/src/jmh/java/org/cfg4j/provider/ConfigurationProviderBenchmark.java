@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import org.cfg4j.source.inmemory.InMemoryConfigurationSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link ConfigurationProvider#getProperty(String, Class)} and
+ * {@link ConfigurationProvider#getProperty(String, GenericTypeInterface)} calls. Methods with the "Concurrent"
+ * suffix run the same call from multiple threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigurationProviderBenchmark {
+
+  private static final int THREADS = 4;
+
+  private ConfigurationProvider provider;
+  private GenericTypeInterface listType;
+
+  @Setup
+  public void setUp() {
+    Properties properties = new Properties();
+    for (int i = 0; i < 1000; i++) {
+      properties.put("some.property" + i, "value" + i);
+    }
+    properties.put("service.port", "8080");
+    properties.put("service.hosts", "host1,host2,host3");
+
+    provider = new ConfigurationProviderBuilder()
+        .withConfigurationSource(new InMemoryConfigurationSource(properties))
+        .build();
+
+    listType = new GenericType<List<String>>() {
+    };
+  }
+
+  @Benchmark
+  public Integer getProperty() {
+    return provider.getProperty("service.port", Integer.class);
+  }
+
+  @Benchmark
+  @Threads(THREADS)
+  public Integer getPropertyConcurrent() {
+    return provider.getProperty("service.port", Integer.class);
+  }
+
+  @Benchmark
+  public List<String> getPropertyGeneric() {
+    return provider.getProperty("service.hosts", listType);
+  }
+
+  @Benchmark
+  @Threads(THREADS)
+  public List<String> getPropertyGenericConcurrent() {
+    return provider.getProperty("service.hosts", listType);
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.compose;
+
+import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.FetchedConfiguration;
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.context.environment.ImmutableEnvironment;
+import org.cfg4j.source.inmemory.InMemoryConfigurationSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of fetching configuration through {@link MergeConfigurationSource} and {@link FallbackConfigurationSource}.
+ * Each underlying source holds {@code entries} keys, half of which collide with keys of other sources. The fallback
+ * chain has all but the last source failing. Methods with the "Concurrent" suffix run the same call from multiple
+ * threads. The "mergeReload" method fetches configuration along with its fingerprint, like a cached source does on
+ * reload. All but the last source report an unchanged fingerprint. The last source has no fingerprint and returns
+ * the same content each time, except for "mergeReloadChanged" where it changes the value of one key on each call,
+ * which makes the merge copy the merged configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComposedConfigurationSourceBenchmark {
+
+  private static final int THREADS = 4;
+
+  @Param({"2", "5"})
+  private int sources;
+
+  @Param({"100", "10000"})
+  private int entries;
+
+  private Environment environment;
+  private MergeConfigurationSource mergeSource;
+  private MergeConfigurationSource fingerprintedMergeSource;
+  private MergeConfigurationSource changingMergeSource;
+  private FallbackConfigurationSource fallbackSource;
+
+  @Setup
+  public void setUp() {
+    ConfigurationSource[] underlyingSources = new ConfigurationSource[sources];
+    ConfigurationSource[] fallbackSources = new ConfigurationSource[sources];
+    ConfigurationSource[] fingerprintedSources = new ConfigurationSource[sources];
+    ConfigurationSource[] changingSources = new ConfigurationSource[sources];
+
+    for (int i = 0; i < sources; i++) {
+      Properties properties = new Properties();
+      for (int j = 0; j < entries; j++) {
+        String key = j % 2 == 0 ? "shared.property" + j : "source" + i + ".property" + j;
+        properties.put(key, "value" + i + "." + j);
+      }
+
+      underlyingSources[i] = new InMemoryConfigurationSource(properties);
+      fallbackSources[i] = i == sources - 1 ? underlyingSources[i] : new FailingConfigurationSource();
+      fingerprintedSources[i] = new FingerprintedConfigurationSource(underlyingSources[i], i == sources - 1 ? null : "unchanged");
+      changingSources[i] = i == sources - 1 ? new ChangingConfigurationSource(properties) : fingerprintedSources[i];
+    }
+
+    environment = new ImmutableEnvironment("benchmark");
+    mergeSource = new MergeConfigurationSource(underlyingSources);
+    mergeSource.init();
+    fingerprintedMergeSource = new MergeConfigurationSource(fingerprintedSources);
+    fingerprintedMergeSource.init();
+    changingMergeSource = new MergeConfigurationSource(changingSources);
+    changingMergeSource.init();
+    fallbackSource = new FallbackConfigurationSource(fallbackSources);
+    fallbackSource.init();
+  }
+
+  @Benchmark
+  public Properties merge() {
+    return mergeSource.getConfiguration(environment);
+  }
+
+  @Benchmark
+  @Threads(THREADS)
+  public Properties mergeConcurrent() {
+    return mergeSource.getConfiguration(environment);
+  }
+
+  @Benchmark
+  public FetchedConfiguration mergeReload() {
+    return fingerprintedMergeSource.fetchConfiguration(environment, null);
+  }
+
+  @Benchmark
+  public FetchedConfiguration mergeReloadChanged() {
+    return changingMergeSource.fetchConfiguration(environment, null);
+  }
+
+  @Benchmark
+  public Properties fallback() {
+    return fallbackSource.getConfiguration(environment);
+  }
+
+  @Benchmark
+  @Threads(THREADS)
+  public Properties fallbackConcurrent() {
+    return fallbackSource.getConfiguration(environment);
+  }
+
+  private static class FailingConfigurationSource implements ConfigurationSource {
+
+    @Override
+    public Properties getConfiguration(Environment environment) {
+      throw new IllegalStateException("Source unavailable");
+    }
+
+    @Override
+    public void init() {
+      // NOP
+    }
+  }
+
+  private static class ChangingConfigurationSource implements ConfigurationSource {
+
+    private final Properties properties;
+    private long counter;
+
+    ChangingConfigurationSource(Properties properties) {
+      this.properties = properties;
+    }
+
+    @Override
+    public Properties getConfiguration(Environment environment) {
+      Properties configuration = (Properties) properties.clone();
+      configuration.put("changing.property", String.valueOf(counter++));
+
+      return configuration;
+    }
+
+    @Override
+    public void init() {
+      // NOP
+    }
+  }
+
+  private static class FingerprintedConfigurationSource implements ConfigurationSource {
+
+    private final ConfigurationSource delegate;
+    private final String fingerprint;
+
+    FingerprintedConfigurationSource(ConfigurationSource delegate, String fingerprint) {
+      this.delegate = delegate;
+      this.fingerprint = fingerprint;
+    }
+
+    @Override
+    public Properties getConfiguration(Environment environment) {
+      return delegate.getConfiguration(environment);
+    }
+
+    @Override
+    public String getFingerprint(Environment environment) {
+      return fingerprint;
+    }
+
+    @Override
+    public void init() {
+      delegate.init();
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.compose;
+
+import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.context.environment.ImmutableEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of fetching configuration through {@link MergeConfigurationSource} and hedged
+ * {@link FallbackConfigurationSource} when underlying sources are remote. Each source takes {@code latencyMillis}
+ * to respond. The first source of the fallback chain takes ten times longer than others.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelComposedConfigurationSourceBenchmark {
+
+  @Param({"3"})
+  private int sources;
+
+  @Param({"2"})
+  private long latencyMillis;
+
+  private Environment environment;
+  private ExecutorService executor;
+  private MergeConfigurationSource sequentialMerge;
+  private MergeConfigurationSource parallelMerge;
+  private FallbackConfigurationSource sequentialFallback;
+  private FallbackConfigurationSource hedgedFallback;
+
+  @Setup
+  public void setUp() {
+    ConfigurationSource[] underlyingSources = new ConfigurationSource[sources];
+    ConfigurationSource[] fallbackSources = new ConfigurationSource[sources];
+    for (int i = 0; i < sources; i++) {
+      underlyingSources[i] = new SlowConfigurationSource(latencyMillis);
+      fallbackSources[i] = new SlowConfigurationSource(i == 0 ? 10 * latencyMillis : latencyMillis);
+    }
+
+    environment = new ImmutableEnvironment("benchmark");
+    executor = Executors.newCachedThreadPool();
+    sequentialMerge = new MergeConfigurationSource(underlyingSources);
+    parallelMerge = new MergeConfigurationSource(executor, underlyingSources);
+    sequentialFallback = new FallbackConfigurationSource(fallbackSources);
+    hedgedFallback = new FallbackConfigurationSource(executor, latencyMillis, TimeUnit.MILLISECONDS, fallbackSources);
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public Properties sequentialMerge() {
+    return sequentialMerge.getConfiguration(environment);
+  }
+
+  @Benchmark
+  public Properties parallelMerge() {
+    return parallelMerge.getConfiguration(environment);
+  }
+
+  @Benchmark
+  public Properties sequentialFallback() {
+    return sequentialFallback.getConfiguration(environment);
+  }
+
+  @Benchmark
+  public Properties hedgedFallback() {
+    return hedgedFallback.getConfiguration(environment);
+  }
+
+  private static class SlowConfigurationSource implements ConfigurationSource {
+
+    private final long latencyMillis;
+
+    SlowConfigurationSource(long latencyMillis) {
+      this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public Properties getConfiguration(Environment environment) {
+      try {
+        Thread.sleep(latencyMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+
+      Properties properties = new Properties();
+      properties.put("key", "value");
+      return properties;
+    }
+
+    @Override
+    public void init() {
+      // NOP
+    }
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.context.propertiesprovider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of flattening documents of different shapes with {@link YamlBasedPropertiesProvider} and
+ * {@link JsonBasedPropertiesProvider}. Documents hold {@code entries} leaf values. In "deep" documents each section is
+ * a chain of {@value #DEPTH} nested maps with a value on every level. In "wide" documents all values are held by
+ * a single map. The same document is parsed repeatedly, as on reloads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NestedDocumentBenchmark {
+
+  private static final int DEPTH = 16;
+
+  @Param({"yaml", "json"})
+  private String format;
+
+  @Param({"deep", "wide"})
+  private String shape;
+
+  @Param({"10000"})
+  private int entries;
+
+  private PropertiesProvider provider;
+  private byte[] document;
+
+  @Setup
+  public void setUp() {
+    boolean deep;
+    switch (shape) {
+      case "deep":
+        deep = true;
+        break;
+      case "wide":
+        deep = false;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown shape: " + shape);
+    }
+
+    switch (format) {
+      case "yaml":
+        provider = new YamlBasedPropertiesProvider();
+        document = (deep ? deepYamlDocument() : wideYamlDocument()).getBytes(StandardCharsets.UTF_8);
+        break;
+      case "json":
+        provider = new JsonBasedPropertiesProvider();
+        document = (deep ? deepJsonDocument() : wideJsonDocument()).getBytes(StandardCharsets.UTF_8);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown format: " + format);
+    }
+  }
+
+  @Benchmark
+  public Properties parse() {
+    return provider.getProperties(new ByteArrayInputStream(document));
+  }
+
+  private String deepYamlDocument() {
+    StringBuilder builder = new StringBuilder();
+    for (int section = 0; section < entries / DEPTH; section++) {
+      builder.append("section").append(section).append(":\n");
+
+      for (int level = 1; level <= DEPTH; level++) {
+        indent(builder, level).append("key: value").append(level).append('\n');
+
+        if (level < DEPTH) {
+          indent(builder, level).append("level").append(level).append(":\n");
+        }
+      }
+    }
+
+    return builder.toString();
+  }
+
+  private String wideYamlDocument() {
+    StringBuilder builder = new StringBuilder("section:\n");
+    for (int i = 0; i < entries; i++) {
+      builder.append("  key").append(i).append(": value").append(i).append('\n');
+    }
+
+    return builder.toString();
+  }
+
+  private String deepJsonDocument() {
+    StringBuilder builder = new StringBuilder("{");
+    for (int section = 0; section < entries / DEPTH; section++) {
+      builder.append(section == 0 ? "" : ",").append("\"section").append(section).append("\":{");
+
+      for (int level = 1; level <= DEPTH; level++) {
+        builder.append("\"key\":\"value").append(level).append('"');
+
+        if (level < DEPTH) {
+          builder.append(",\"level").append(level).append("\":{");
+        }
+      }
+
+      for (int level = 0; level < DEPTH; level++) {
+        builder.append('}');
+      }
+    }
+
+    return builder.append('}').toString();
+  }
+
+  private String wideJsonDocument() {
+    StringBuilder builder = new StringBuilder("{\"section\":{");
+    for (int i = 0; i < entries; i++) {
+      builder.append(i == 0 ? "" : ",").append("\"key").append(i).append("\":\"value").append(i).append('"');
+    }
+
+    return builder.append("}}").toString();
+  }
+
+  private StringBuilder indent(StringBuilder builder, int level) {
+    for (int i = 0; i < level; i++) {
+      builder.append("  ");
+    }
+
+    return builder;
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.context.propertiesprovider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of parsing configuration files with {@link PropertyBasedPropertiesProvider}, {@link YamlBasedPropertiesProvider}
+ * and {@link JsonBasedPropertiesProvider}. Documents hold {@code entries} leaf values grouped in two-level sections,
+ * every tenth value is a list. Methods with the "Concurrent" suffix parse from multiple threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertiesProviderBenchmark {
+
+  private static final int THREADS = 4;
+  private static final int SECTION_SIZE = 10;
+
+  @Param({"properties", "yaml", "json"})
+  private String format;
+
+  @Param({"10", "1000", "100000"})
+  private int entries;
+
+  private PropertiesProvider provider;
+  private byte[] document;
+
+  @Setup
+  public void setUp() {
+    switch (format) {
+      case "properties":
+        provider = new PropertyBasedPropertiesProvider();
+        document = propertiesDocument().getBytes(StandardCharsets.UTF_8);
+        break;
+      case "yaml":
+        provider = new YamlBasedPropertiesProvider();
+        document = yamlDocument().getBytes(StandardCharsets.UTF_8);
+        break;
+      case "json":
+        provider = new JsonBasedPropertiesProvider();
+        document = jsonDocument().getBytes(StandardCharsets.UTF_8);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown format: " + format);
+    }
+  }
+
+  @Benchmark
+  public Properties parse() {
+    return provider.getProperties(new ByteArrayInputStream(document));
+  }
+
+  @Benchmark
+  @Threads(THREADS)
+  public Properties parseConcurrent() {
+    return provider.getProperties(new ByteArrayInputStream(document));
+  }
+
+  private String propertiesDocument() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < entries; i++) {
+      builder.append("section").append(i / SECTION_SIZE).append(".group.key").append(i % SECTION_SIZE).append('=')
+          .append(isList(i) ? "value1,value2,value3" : "value" + i).append('\n');
+    }
+
+    return builder.toString();
+  }
+
+  private String yamlDocument() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < entries; i++) {
+      if (i % SECTION_SIZE == 0) {
+        builder.append("section").append(i / SECTION_SIZE).append(":\n  group:\n");
+      }
+
+      builder.append("    key").append(i % SECTION_SIZE).append(": ")
+          .append(isList(i) ? "[value1, value2, value3]" : "value" + i).append('\n');
+    }
+
+    return builder.toString();
+  }
+
+  private String jsonDocument() {
+    StringBuilder builder = new StringBuilder("{");
+    for (int i = 0; i < entries; i++) {
+      if (i % SECTION_SIZE == 0) {
+        builder.append(i == 0 ? "" : "}},").append("\"section").append(i / SECTION_SIZE).append("\":{\"group\":{");
+      } else {
+        builder.append(',');
+      }
+
+      builder.append("\"key").append(i % SECTION_SIZE).append("\":")
+          .append(isList(i) ? "[\"value1\",\"value2\",\"value3\"]" : "\"value" + i + "\"");
+    }
+
+    return builder.append(entries == 0 ? "}" : "}}}").toString();
+  }
+
+  private boolean isList(int entry) {
+    return entry % SECTION_SIZE == SECTION_SIZE - 1;
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.files;
+
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.context.environment.ImmutableEnvironment;
+import org.cfg4j.utils.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading configuration split into {@code files} YAML fragments with {@link FilesConfigurationSource}, and of
+ * computing its fingerprint, as on periodical reloads. Each fragment holds {@code entries} values. Files don't change
+ * between reads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilesConfigurationSourceBenchmark {
+
+  @Param({"40"})
+  private int files;
+
+  @Param({"50"})
+  private int entries;
+
+  private Path directory;
+  private Environment environment;
+  private FilesConfigurationSource source;
+
+  @Setup
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("cfg4j-benchmark");
+
+    List<Path> paths = new ArrayList<>();
+    for (int file = 0; file < files; file++) {
+      StringBuilder builder = new StringBuilder("fragment").append(file).append(":\n");
+      for (int i = 0; i < entries; i++) {
+        builder.append("  key").append(i).append(": value").append(i).append('\n');
+      }
+
+      Path path = Paths.get("fragment" + file + ".yaml");
+      Files.write(directory.resolve(path), builder.toString().getBytes(StandardCharsets.UTF_8));
+      paths.add(path);
+    }
+
+    environment = new ImmutableEnvironment(directory.toString());
+    source = new FilesConfigurationSource(() -> paths);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    new FileUtils().deleteDir(directory);
+  }
+
+  @Benchmark
+  public Properties getConfiguration() {
+    return source.getConfiguration(environment);
+  }
+
+  @Benchmark
+  public String getFingerprint() {
+    return source.getFingerprint(environment);
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.reload;
+
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.context.environment.ImmutableEnvironment;
+import org.cfg4j.source.inmemory.InMemoryConfigurationSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read throughput of {@link CachedConfigurationSource} while another thread keeps reloading configuration.
+ * Each group runs a different number of reader threads next to a single reloading thread. Per-thread throughput
+ * of the {@code read} method should stay flat across groups (i.e. total throughput should grow linearly with
+ * the number of readers) as long as there are enough CPU cores for all threads.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CachedConfigurationSourceBenchmark {
+
+  @Param({"100", "10000"})
+  private int size;
+
+  private Environment environment;
+  private CachedConfigurationSource source;
+  private String[] keys;
+
+  @Setup
+  public void setUp() {
+    Properties properties = new Properties();
+    keys = new String[size];
+    for (int i = 0; i < size; i++) {
+      keys[i] = "some.property" + i;
+      properties.put(keys[i], "value" + i);
+    }
+
+    environment = new ImmutableEnvironment("benchmark");
+    source = new CachedConfigurationSource(new InMemoryConfigurationSource(properties));
+    source.init();
+    source.reload(environment);
+  }
+
+  @State(Scope.Thread)
+  public static class Reader {
+    private int next;
+
+    String nextKey(CachedConfigurationSourceBenchmark benchmark) {
+      next = (next + 1) % benchmark.keys.length;
+      return benchmark.keys[next];
+    }
+  }
+
+  @Benchmark
+  @Group("readers1")
+  @GroupThreads(1)
+  public Object read1(Reader reader) {
+    return read(reader);
+  }
+
+  @Benchmark
+  @Group("readers1")
+  @GroupThreads(1)
+  public void reload1() {
+    source.reload(environment);
+  }
+
+  @Benchmark
+  @Group("readers2")
+  @GroupThreads(2)
+  public Object read2(Reader reader) {
+    return read(reader);
+  }
+
+  @Benchmark
+  @Group("readers2")
+  @GroupThreads(1)
+  public void reload2() {
+    source.reload(environment);
+  }
+
+  @Benchmark
+  @Group("readers4")
+  @GroupThreads(4)
+  public Object read4(Reader reader) {
+    return read(reader);
+  }
+
+  @Benchmark
+  @Group("readers4")
+  @GroupThreads(1)
+  public void reload4() {
+    source.reload(environment);
+  }
+
+  @Benchmark
+  @Group("readers8")
+  @GroupThreads(8)
+  public Object read8(Reader reader) {
+    return read(reader);
+  }
+
+  @Benchmark
+  @Group("readers8")
+  @GroupThreads(1)
+  public void reload8() {
+    source.reload(environment);
+  }
+
+  private Object read(Reader reader) {
+    return source.getSnapshot(environment).get(reader.nextKey(this));
+  }
+}
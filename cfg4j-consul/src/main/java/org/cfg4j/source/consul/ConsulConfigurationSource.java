@@ -20,29 +20,40 @@ import static java.util.Objects.requireNonNull;
 import com.google.common.net.HostAndPort;
 import com.orbitz.consul.Consul;
 import com.orbitz.consul.KeyValueClient;
+import com.orbitz.consul.model.ConsulResponse;
 import com.orbitz.consul.model.kv.Value;
+import com.orbitz.consul.option.QueryOptions;
 import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.FetchedConfiguration;
 import org.cfg4j.source.SourceCommunicationException;
 import org.cfg4j.source.context.environment.Environment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigInteger;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * Note: use {@link ConsulConfigurationSourceBuilder} for building instances of this class.
  * <p>
- * Read configuration from the Consul K-V store.
+ * Read configuration from the Consul K-V store. Only keys under the environment's prefix are fetched.
+ * Environments watched by {@link ConsulWatchReloadStrategy} are served from values pushed by the strategy, without
+ * querying Consul.
  */
 public class ConsulConfigurationSource implements ConfigurationSource {
 
   private static final Logger LOG = LoggerFactory.getLogger(ConsulConfigurationSource.class);
 
   private KeyValueClient kvClient;
-  private Map<String, String> consulValues;
+  private final Map<String, Map<String, String>> convertedKeysPerPath;
+  private final Map<String, WatchedValues> watchedValues;
   private final String host;
   private final int port;
   private boolean initialized;
@@ -59,6 +70,8 @@ public class ConsulConfigurationSource implements ConfigurationSource {
     this.host = requireNonNull(host);
     this.port = port;
 
+    convertedKeysPerPath = new HashMap<>();
+    watchedValues = new ConcurrentHashMap<>();
     initialized = false;
   }
 
@@ -70,26 +83,99 @@ public class ConsulConfigurationSource implements ConfigurationSource {
       throw new IllegalStateException("Configuration source has to be successfully initialized before you request configuration.");
     }
 
-    reload();
+    String path = getPathFor(environment);
 
-    Properties properties = new Properties();
-    String path = environment.getName();
+    WatchedValues watched = watchedValues.get(path);
+    if (watched != null) {
+      Properties properties = new Properties();
+      properties.putAll(watched.properties);
 
-    if (path.startsWith("/")) {
-      path = path.substring(1);
+      return properties;
     }
 
-    if (path.length() > 0 && !path.endsWith("/")) {
-      path = path + "/";
+    ConsulResponse<List<Value>> response = fetch(path);
+
+    synchronized (this) {
+      return toProperties(path, response.getResponse());
+    }
+  }
+
+  /**
+   * Get a fingerprint of the configuration set for a given {@code environment}. The fingerprint is the Consul index
+   * (X-Consul-Index) of the environment's prefix, which changes whenever any key under it is modified or deleted.
+   * Consul's K-V API doesn't report the index alone, so computing it fetches all values of the environment (but skips
+   * converting them). Use {@link #fetchConfiguration(Environment, String)} to get both with a single request.
+   *
+   * @param environment environment to use
+   * @return fingerprint of the configuration set for {@code environment} or {@code null} when Consul doesn't
+   * report an index or can't be reached
+   */
+  @Override
+  public String getFingerprint(Environment environment) {
+    if (!initialized) {
+      return null;
+    }
+
+    WatchedValues watched = watchedValues.get(getPathFor(environment));
+    if (watched != null) {
+      return watched.index.toString();
+    }
+
+    try {
+      return getIndex(fetch(getPathFor(environment)));
+    } catch (SourceCommunicationException e) {
+      LOG.debug("Unable to fetch Consul index", e);
+      return null;
     }
+  }
 
-    for (Map.Entry<String, String> entry : consulValues.entrySet()) {
-      if (entry.getKey().startsWith(path)) {
-        properties.put(entry.getKey().substring(path.length()).replace("/", "."), entry.getValue());
+  /**
+   * Fetch configuration set for a given {@code environment} along with its Consul index using a single request.
+   * Fetched values aren't converted when the index is equal to {@code cachedFingerprint}.
+   *
+   * @param environment       environment to use
+   * @param cachedFingerprint Consul index of configuration held by the caller or {@code null} when none
+   * @return fetched configuration or {@link FetchedConfiguration#unchanged(String)} when the index didn't change
+   * @throws SourceCommunicationException when unable to get values from Consul
+   */
+  @Override
+  public FetchedConfiguration fetchConfiguration(Environment environment, String cachedFingerprint) {
+    if (!initialized) {
+      throw new IllegalStateException("Configuration source has to be successfully initialized before you request configuration.");
+    }
+
+    String path = getPathFor(environment);
+
+    WatchedValues watched = watchedValues.get(path);
+    if (watched != null) {
+      String index = watched.index.toString();
+
+      if (index.equals(cachedFingerprint)) {
+        return FetchedConfiguration.unchanged(index);
       }
+
+      Properties properties = new Properties();
+      properties.putAll(watched.properties);
+
+      return FetchedConfiguration.of(properties, index);
     }
 
-    return properties;
+    ConsulResponse<List<Value>> response = fetch(path);
+    String index = getIndex(response);
+
+    if (index != null && index.equals(cachedFingerprint)) {
+      return FetchedConfiguration.unchanged(index);
+    }
+
+    synchronized (this) {
+      return FetchedConfiguration.of(toProperties(path, response.getResponse()), index);
+    }
+  }
+
+  @Override
+  public CompletableFuture<FetchedConfiguration> fetchConfigurationAsync(Environment environment, String cachedFingerprint,
+                                                                         Executor executor) {
+    return CompletableFuture.supplyAsync(() -> fetchConfiguration(environment, cachedFingerprint), executor);
   }
 
   /**
@@ -110,36 +196,131 @@ public class ConsulConfigurationSource implements ConfigurationSource {
     initialized = true;
   }
 
-  private void reload() {
-    Map<String, String> newConsulValues = new HashMap<>();
-    List<Value> valueList;
+  /**
+   * Run a blocking query for all keys under {@code path}. The query returns when the Consul index of {@code path}
+   * becomes different than {@code index} or after {@code waitSeconds}, whichever happens first.
+   *
+   * @param path        path to query
+   * @param index       last seen Consul index
+   * @param waitSeconds maximum time to wait for a change
+   * @return Consul response holding all values under {@code path}
+   * @throws SourceCommunicationException when unable to get values from Consul
+   */
+  ConsulResponse<List<Value>> waitForValues(String path, BigInteger index, int waitSeconds) {
+    if (!initialized) {
+      throw new IllegalStateException("Configuration source has to be successfully initialized before you watch configuration.");
+    }
 
     try {
-      LOG.debug("Reloading configuration from Consuls' K-V store");
-      valueList = kvClient.getValues("/");
+      return kvClient.getConsulResponseWithValues(path, QueryOptions.blockSeconds(waitSeconds, index).build());
     } catch (Exception e) {
       throw new SourceCommunicationException("Can't get values from k-v store", e);
     }
+  }
 
-    for (Value value : valueList) {
-      String val = "";
+  /**
+   * Serve configuration for {@code path} from provided {@code values} until {@link #stopWatching(String)} is called.
+   *
+   * @param path   watched path
+   * @param values all values under {@code path}
+   * @param index  Consul index of {@code values}
+   */
+  void updateWatchedValues(String path, List<Value> values, BigInteger index) {
+    synchronized (this) {
+      watchedValues.put(path, new WatchedValues(toProperties(path, values), index));
+    }
+  }
 
-      if (value.getValueAsString().isPresent()) {
-        val = value.getValueAsString().get();
-      }
+  /**
+   * Stop serving configuration for {@code path} from values provided to {@link #updateWatchedValues(String, List, BigInteger)}.
+   *
+   * @param path watched path
+   */
+  void stopWatching(String path) {
+    watchedValues.remove(path);
+  }
+
+  static String getPathFor(Environment environment) {
+    String path = environment.getName();
+
+    if (path.startsWith("/")) {
+      path = path.substring(1);
+    }
+
+    if (path.length() > 0 && !path.endsWith("/")) {
+      path = path + "/";
+    }
+
+    return path;
+  }
+
+  private static String getIndex(ConsulResponse<List<Value>> response) {
+    return BigInteger.ZERO.equals(response.getIndex()) ? null : response.getIndex().toString();
+  }
+
+  private ConsulResponse<List<Value>> fetch(String path) {
+    try {
+      LOG.debug("Reloading configuration from Consuls' K-V store for path: " + path);
+      return kvClient.getConsulResponseWithValues(path);
+    } catch (Exception e) {
+      throw new SourceCommunicationException("Can't get values from k-v store", e);
+    }
+  }
+
+  /**
+   * Convert values under {@code path} to {@link Properties}. Keys converted for the same {@code path} in the previous
+   * call are reused. Has to be called while holding this object's monitor.
+   */
+  private Properties toProperties(String path, List<Value> valueList) {
+    Properties properties = new Properties();
+    Map<String, String> previousConvertedKeys = convertedKeysPerPath.getOrDefault(path, Collections.emptyMap());
+    Map<String, String> convertedKeys = new HashMap<>();
+
+    if (valueList != null) {
+      for (Value value : valueList) {
+        if (!value.getKey().startsWith(path)) {
+          continue;
+        }
 
-      LOG.trace("Consul provided configuration key: " + value.getKey() + " with value: " + val);
+        String val = "";
 
-      newConsulValues.put(value.getKey(), val);
+        if (value.getValueAsString().isPresent()) {
+          val = value.getValueAsString().get();
+        }
+
+        LOG.trace("Consul provided configuration key: " + value.getKey() + " with value: " + val);
+
+        String key = previousConvertedKeys.get(value.getKey());
+
+        if (key == null) {
+          key = value.getKey().substring(path.length()).replace('/', '.');
+        }
+
+        convertedKeys.put(value.getKey(), key);
+        properties.put(key, val);
+      }
     }
 
-    consulValues = newConsulValues;
+    convertedKeysPerPath.put(path, convertedKeys);
+
+    return properties;
+  }
+
+  private static final class WatchedValues {
+    private final Properties properties;
+    private final BigInteger index;
+
+    private WatchedValues(Properties properties, BigInteger index) {
+      this.properties = properties;
+      this.index = index;
+    }
   }
 
   @Override
   public String toString() {
     return "ConsulConfigurationSource{" +
-        "consulValues=" + consulValues +
+        "host=" + host +
+        ", port=" + port +
         ", kvClient=" + kvClient +
         '}';
   }
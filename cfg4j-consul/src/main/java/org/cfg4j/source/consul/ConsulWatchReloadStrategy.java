@@ -0,0 +1,175 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.consul;
+
+import static java.util.Objects.requireNonNull;
+
+import com.orbitz.consul.model.ConsulResponse;
+import com.orbitz.consul.model.kv.Value;
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.reload.ReloadStrategy;
+import org.cfg4j.source.reload.Reloadable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ReloadStrategy} that watches a single environment of a {@link ConsulConfigurationSource} using Consul blocking
+ * queries. Only keys under the environment's prefix are queried. Whenever they change, the new values are pushed to
+ * the source and all registered resources are reloaded. While watched, the source serves that environment from
+ * pushed values without querying Consul. It spawns a daemon thread that runs while at least one resource is
+ * registered.
+ * <p>
+ * Note: Consul client's read timeout (10 seconds by default) has to be longer than the wait time of blocking queries.
+ */
+public class ConsulWatchReloadStrategy implements ReloadStrategy {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ConsulWatchReloadStrategy.class);
+
+  private final ConsulConfigurationSource source;
+  private final String path;
+  private final int waitSeconds;
+  private final long retryDelayMillis;
+  private final Set<Reloadable> resources;
+  private Thread watcher;
+
+  /**
+   * Construct strategy watching {@code environment} of {@code source}. Each blocking query waits up to 5 seconds
+   * for a change. Failed queries are re-tried after 1 second.
+   *
+   * @param source      source to watch
+   * @param environment environment to watch
+   */
+  public ConsulWatchReloadStrategy(ConsulConfigurationSource source, Environment environment) {
+    this(source, environment, 5, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Construct strategy watching {@code environment} of {@code source}. Each blocking query waits up to {@code waitTime}
+   * (measured in {@code timeUnit}s, rounded to full seconds) for a change. Failed queries are re-tried after 1 second.
+   *
+   * @param source      source to watch
+   * @param environment environment to watch
+   * @param waitTime    maximum time (in {@code timeUnit}) a single blocking query waits for a change
+   * @param timeUnit    time unit to use
+   */
+  public ConsulWatchReloadStrategy(ConsulConfigurationSource source, Environment environment, long waitTime, TimeUnit timeUnit) {
+    this.source = requireNonNull(source);
+    path = ConsulConfigurationSource.getPathFor(requireNonNull(environment));
+    waitSeconds = (int) Math.max(1, requireNonNull(timeUnit).toSeconds(waitTime));
+    retryDelayMillis = TimeUnit.SECONDS.toMillis(1);
+    resources = new CopyOnWriteArraySet<>();
+  }
+
+  @Override
+  public void register(Reloadable resource) {
+    LOG.debug("Registering resource " + resource + " for changes of Consul path: " + path);
+
+    resources.add(resource);
+
+    synchronized (this) {
+      if (watcher == null) {
+        watcher = new Thread(this::watch, "cfg4j-consul-watch-" + path);
+        watcher.setDaemon(true);
+        watcher.start();
+      }
+    }
+  }
+
+  @Override
+  public void deregister(Reloadable resource) {
+    LOG.debug("De-registering resource " + resource);
+
+    resources.remove(resource);
+
+    synchronized (this) {
+      if (resources.isEmpty() && watcher != null) {
+        watcher.interrupt();
+        watcher = null;
+        source.stopWatching(path);
+      }
+    }
+  }
+
+  private void watch() {
+    BigInteger index = BigInteger.ZERO;
+
+    while (isCurrentWatcher()) {
+      try {
+        ConsulResponse<List<Value>> response = source.waitForValues(path, index, waitSeconds);
+
+        BigInteger newIndex = response.getIndex();
+        if (newIndex.signum() <= 0) {
+          throw new IllegalStateException("Consul didn't report index for path: " + path);
+        }
+
+        if (newIndex.equals(index)) {
+          continue;
+        }
+
+        // Consul requires resetting the index when it goes backwards
+        index = newIndex.compareTo(index) < 0 ? BigInteger.ZERO : newIndex;
+
+        synchronized (this) {
+          if (watcher != Thread.currentThread()) {
+            return;
+          }
+
+          source.updateWatchedValues(path, response.getResponse(), newIndex);
+        }
+
+        reloadResources();
+
+      } catch (Exception e) {
+        LOG.warn("Watching Consul path " + path + " failed. Will re-try in " + retryDelayMillis + " ms.", e);
+
+        try {
+          Thread.sleep(retryDelayMillis);
+        } catch (InterruptedException interrupted) {
+          return;
+        }
+      }
+    }
+  }
+
+  private synchronized boolean isCurrentWatcher() {
+    return watcher == Thread.currentThread();
+  }
+
+  private void reloadResources() {
+    for (Reloadable resource : resources) {
+      try {
+        resource.reload();
+      } catch (Exception e) {
+        LOG.warn("Resource reload after Consul change failed. Will re-try at the next change.", e);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ConsulWatchReloadStrategy{" +
+        "path=" + path +
+        ", waitSeconds=" + waitSeconds +
+        ", watcher=" + watcher +
+        '}';
+  }
+}
@@ -23,6 +23,7 @@ import com.squareup.okhttp.mockwebserver.MockResponse;
 import com.squareup.okhttp.mockwebserver.MockWebServer;
 import com.squareup.okhttp.mockwebserver.RecordedRequest;
 import org.assertj.core.data.MapEntry;
+import org.cfg4j.source.FetchedConfiguration;
 import org.cfg4j.source.SourceCommunicationException;
 import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.ImmutableEnvironment;
@@ -56,15 +57,28 @@ class ConsulConfigurationSourceIntegrationTest {
         case "/v1/agent/self":
           return new MockResponse().setResponseCode(200).setBody(PING_RESPONSE);
         case "/v1/kv/?recurse=true":
-          return new MockResponse()
-              .setResponseCode(200)
-              .addHeader("Content-Type", "application/json; charset=utf-8")
-              .setBody("[{\"CreateIndex\":1,\"ModifyIndex\":1,\"LockIndex\":0,\"Key\":\"us-west-1/featureA.toggle\",\"Flags\":0,\"Value\":\"ZGlzYWJsZWQ=\"},"
-                  + "{\"CreateIndex\":2,\"ModifyIndex\":2,\"LockIndex\":0,\"Key\":\"us-west-2/featureA.toggle\",\"Flags\":0,\"Value\":\""
-                  + (usWest2Toggle ? enabledBase64 : disabledBase64) + "\"}]");
+          return valuesResponse(true, true);
+        case "/v1/kv/us-west-1%2F?recurse=true":
+          return valuesResponse(true, false);
+        case "/v1/kv/us-west-2%2F?recurse=true":
+          return valuesResponse(false, true);
       }
       return new MockResponse().setResponseCode(404);
     }
+
+    private MockResponse valuesResponse(boolean includeUsWest1, boolean includeUsWest2) {
+      String usWest1Value = "{\"CreateIndex\":1,\"ModifyIndex\":1,\"LockIndex\":0,\"Key\":\"us-west-1/featureA.toggle\",\"Flags\":0,\"Value\":\"ZGlzYWJsZWQ=\"}";
+      String usWest2Value = "{\"CreateIndex\":2,\"ModifyIndex\":2,\"LockIndex\":0,\"Key\":\"us-west-2/featureA.toggle\",\"Flags\":0,\"Value\":\""
+          + (usWest2Toggle ? enabledBase64 : disabledBase64) + "\"}";
+
+      return new MockResponse()
+          .setResponseCode(200)
+          .addHeader("Content-Type", "application/json; charset=utf-8")
+          .addHeader("X-Consul-Index", usWest2Toggle ? "3" : "2")
+          .setBody("[" + (includeUsWest1 ? usWest1Value : "")
+              + (includeUsWest1 && includeUsWest2 ? "," : "")
+              + (includeUsWest2 ? usWest2Value : "") + "]");
+    }
   }
 
 
@@ -122,6 +136,41 @@ class ConsulConfigurationSourceIntegrationTest {
     assertThat(source.getConfiguration(environment)).contains(MapEntry.entry("featureA.toggle", "disabled"));
   }
 
+  @Test
+  void getConfigurationFetchesOnlyGivenEnvironment() throws Exception {
+    server.takeRequest();
+
+    source.getConfiguration(new ImmutableEnvironment("us-west-1"));
+
+    assertThat(server.takeRequest().getPath()).isEqualTo("/v1/kv/us-west-1%2F?recurse=true");
+  }
+
+  @Test
+  void getConfigurationConvertsNestedKeysForRootEnvironment() {
+    assertThat(source.getConfiguration(new ImmutableEnvironment(""))).containsOnly(
+        MapEntry.entry("us-west-1.featureA.toggle", "disabled"),
+        MapEntry.entry("us-west-2.featureA.toggle", "disabled"));
+  }
+
+  @Test
+  void getConfigurationReturnsChangedValuesAfterReload() {
+    Environment environment = new ImmutableEnvironment("us-west-2");
+    source.getConfiguration(environment);
+
+    dispatcher.toggleUsWest2();
+
+    assertThat(source.getConfiguration(environment)).containsOnly(MapEntry.entry("featureA.toggle", "enabled"));
+  }
+
+  @Test
+  void getConfigurationKeepsOtherEnvironmentsWhenReloadingOne() {
+    source.getConfiguration(new ImmutableEnvironment("us-west-1"));
+    dispatcher.toggleUsWest2();
+
+    assertThat(source.getConfiguration(new ImmutableEnvironment("us-west-2"))).containsOnly(MapEntry.entry("featureA.toggle", "enabled"));
+    assertThat(source.getConfiguration(new ImmutableEnvironment("us-west-1"))).containsOnly(MapEntry.entry("featureA.toggle", "disabled"));
+  }
+
   @Test
   void getConfigurationThrowsBeforeInitCalled() {
     source = new ConsulConfigurationSourceBuilder()
@@ -146,6 +195,68 @@ class ConsulConfigurationSourceIntegrationTest {
         .isExactlyInstanceOf(SourceCommunicationException.class);
   }
 
+  @Test
+  void getFingerprintDoesNotChangeWithoutChanges() {
+    Environment environment = new ImmutableEnvironment("us-west-1");
+
+    assertThat(source.getFingerprint(environment))
+        .isNotNull()
+        .isEqualTo(source.getFingerprint(environment));
+  }
+
+  @Test
+  void getFingerprintChangesOnKeyChange() {
+    Environment environment = new ImmutableEnvironment("us-west-2");
+    String fingerprint = source.getFingerprint(environment);
+
+    dispatcher.toggleUsWest2();
+
+    assertThat(source.getFingerprint(environment)).isNotEqualTo(fingerprint);
+  }
+
+  @Test
+  void fetchConfigurationReturnsConfigurationWithIndex() {
+    FetchedConfiguration fetched = source.fetchConfiguration(new ImmutableEnvironment("us-west-2"), null);
+
+    assertThat(fetched.getConfiguration()).containsOnly(MapEntry.entry("featureA.toggle", "disabled"));
+    assertThat(fetched.getFingerprint()).isEqualTo("2");
+  }
+
+  @Test
+  void fetchConfigurationReturnsUnchangedForSameIndex() {
+    assertThat(source.fetchConfiguration(new ImmutableEnvironment("us-west-2"), "2").isChanged()).isFalse();
+  }
+
+  @Test
+  void fetchConfigurationReturnsChangedValuesWithSingleRequest() {
+    Environment environment = new ImmutableEnvironment("us-west-2");
+    int requestCount = server.getRequestCount();
+
+    dispatcher.toggleUsWest2();
+    FetchedConfiguration fetched = source.fetchConfiguration(environment, "2");
+
+    assertThat(fetched.getConfiguration()).containsOnly(MapEntry.entry("featureA.toggle", "enabled"));
+    assertThat(fetched.getFingerprint()).isEqualTo("3");
+    assertThat(server.getRequestCount()).isEqualTo(requestCount + 1);
+  }
+
+  @Test
+  void getFingerprintReturnsNullBeforeInitCalled() {
+    source = new ConsulConfigurationSourceBuilder()
+        .withHost(server.getHostName())
+        .withPort(server.getPort())
+        .build();
+
+    assertThat(source.getFingerprint(new ImmutableEnvironment("us-west-1"))).isNull();
+  }
+
+  @Test
+  void getFingerprintReturnsNullOnConnectionFailure() throws Exception {
+    server.shutdown();
+
+    assertThat(source.getFingerprint(new ImmutableEnvironment("us-west-1"))).isNull();
+  }
+
   private void runMockServer() throws IOException {
     server = new MockWebServer();
     server.setDispatcher(dispatcher);
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.consul;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import org.assertj.core.data.MapEntry;
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.context.environment.ImmutableEnvironment;
+import org.cfg4j.source.reload.Reloadable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ConsulWatchReloadStrategyIntegrationTest {
+
+  private static class WatchDispatcher extends Dispatcher {
+
+    private static final String disabledBase64 = "ZGlzYWJsZWQ=";
+    private static final String enabledBase64 = "ZW5hYmxlZA==";
+
+    private final AtomicInteger nonBlockingRequests = new AtomicInteger();
+    private int index = 1;
+    private boolean enabled = false;
+
+    synchronized void toggleFeature() {
+      enabled = !enabled;
+      index++;
+      notifyAll();
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+      String path = request.getPath();
+
+      if (path.equals("/v1/agent/self")) {
+        return new MockResponse().setResponseCode(200).setBody("{}");
+      }
+
+      if (path.startsWith("/v1/kv/us-west-1%2F?")) {
+        if (!path.contains("index=")) {
+          nonBlockingRequests.incrementAndGet();
+        }
+
+        synchronized (this) {
+          if (getRequestedIndex(path) == index) {
+            wait(1000);
+          }
+
+          return valuesResponse();
+        }
+      }
+
+      return new MockResponse().setResponseCode(404);
+    }
+
+    private synchronized MockResponse valuesResponse() {
+      return new MockResponse()
+          .setResponseCode(200)
+          .addHeader("Content-Type", "application/json; charset=utf-8")
+          .addHeader("X-Consul-Index", String.valueOf(index))
+          .setBody("[{\"CreateIndex\":1,\"ModifyIndex\":" + index + ",\"LockIndex\":0,\"Key\":\"us-west-1/featureA.toggle\",\"Flags\":0,\"Value\":\""
+              + (enabled ? enabledBase64 : disabledBase64) + "\"}]");
+    }
+
+    private long getRequestedIndex(String path) {
+      int start = path.indexOf("index=");
+      if (start < 0) {
+        return 0;
+      }
+
+      int end = start + "index=".length();
+      while (end < path.length() && Character.isDigit(path.charAt(end))) {
+        end++;
+      }
+
+      return Long.parseLong(path.substring(start + "index=".length(), end));
+    }
+  }
+
+  private MockWebServer server;
+  private WatchDispatcher dispatcher;
+  private ConsulConfigurationSource source;
+  private Environment environment;
+  private ConsulWatchReloadStrategy strategy;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    dispatcher = new WatchDispatcher();
+    server = new MockWebServer();
+    server.setDispatcher(dispatcher);
+    server.start(0);
+
+    source = new ConsulConfigurationSourceBuilder()
+        .withHost(server.getHostName())
+        .withPort(server.getPort())
+        .build();
+    source.init();
+
+    environment = new ImmutableEnvironment("us-west-1");
+    strategy = new ConsulWatchReloadStrategy(source, environment, 1, TimeUnit.SECONDS);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    server.shutdown();
+  }
+
+  @Test
+  void reloadsResourceWhenWatchedValuesChange() throws Exception {
+    CountDownLatch initialReload = new CountDownLatch(1);
+    CountDownLatch changeReload = new CountDownLatch(2);
+    Reloadable resource = () -> {
+      initialReload.countDown();
+      changeReload.countDown();
+    };
+
+    strategy.register(resource);
+    assertThat(initialReload.await(5, TimeUnit.SECONDS)).isTrue();
+    dispatcher.toggleFeature();
+
+    try {
+      assertThat(changeReload.await(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(source.getConfiguration(environment)).containsOnly(MapEntry.entry("featureA.toggle", "enabled"));
+    } finally {
+      strategy.deregister(resource);
+    }
+  }
+
+  @Test
+  void watchedEnvironmentIsServedWithoutQueryingConsul() throws Exception {
+    CountDownLatch reload = new CountDownLatch(1);
+    Reloadable resource = reload::countDown;
+
+    strategy.register(resource);
+
+    try {
+      assertThat(reload.await(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(source.getConfiguration(environment)).containsOnly(MapEntry.entry("featureA.toggle", "disabled"));
+      assertThat(source.getFingerprint(environment)).isEqualTo("1");
+      assertThat(dispatcher.nonBlockingRequests.get()).isZero();
+    } finally {
+      strategy.deregister(resource);
+    }
+  }
+
+  @Test
+  void deregisterStopsServingWatchedValues() throws Exception {
+    CountDownLatch reload = new CountDownLatch(1);
+    Reloadable resource = reload::countDown;
+
+    strategy.register(resource);
+    assertThat(reload.await(5, TimeUnit.SECONDS)).isTrue();
+    strategy.deregister(resource);
+
+    source.getConfiguration(environment);
+
+    assertThat(dispatcher.nonBlockingRequests.get()).isEqualTo(1);
+  }
+
+  @Test
+  void watchedResourcesAreReloadedAfterFailedQueries() throws Exception {
+    source = new ConsulConfigurationSourceBuilder()
+        .withHost(server.getHostName())
+        .withPort(server.getPort())
+        .build();
+    strategy = new ConsulWatchReloadStrategy(source, environment, 1, TimeUnit.SECONDS);
+    CountDownLatch reload = new CountDownLatch(1);
+    Reloadable resource = reload::countDown;
+
+    strategy.register(resource);
+    source.init();
+
+    try {
+      assertThat(reload.await(5, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      strategy.deregister(resource);
+    }
+  }
+
+  @Test
+  void constructorThrowsOnNullSource() {
+    assertThatThrownBy(() -> new ConsulWatchReloadStrategy(null, environment))
+        .isExactlyInstanceOf(NullPointerException.class);
+  }
+}
@@ -20,17 +20,20 @@ import static java.util.Objects.requireNonNull;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.Type;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Invocation handler for proxies created by {@link ConfigurationProvider#bind(String, Class)}. Uses provided
- * {@link ConfigurationProvider} for getting properties.
+ * {@link ConfigurationProvider} for getting properties. Property key and type for each method are resolved once
+ * and kept in a dispatch table.
  */
 class BindInvocationHandler implements InvocationHandler {
 
   private final ConfigurationProvider simpleConfigurationProvider;
   private final String prefix;
+  private final ConcurrentMap<Method, MethodBinding> methodBindings;
 
   /**
    * Create invocation handler which fetches property from given {@code configurationProvider} using call to
@@ -42,6 +45,25 @@ class BindInvocationHandler implements InvocationHandler {
   BindInvocationHandler(ConfigurationProvider configurationProvider, String prefix) {
     this.simpleConfigurationProvider = requireNonNull(configurationProvider);
     this.prefix = requireNonNull(prefix);
+
+    methodBindings = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Create invocation handler which fetches property from given {@code configurationProvider} using call to
+   * {@link ConfigurationProvider#getProperty(String, Class)} method. Property keys and types for all methods of
+   * {@code type} are computed upfront.
+   *
+   * @param configurationProvider configuration provider to use for fetching properties
+   * @param prefix                prefix for calls to {@link ConfigurationProvider#getProperty(String, Class)}
+   * @param type                  interface describing configuration object
+   */
+  BindInvocationHandler(ConfigurationProvider configurationProvider, String prefix, Class<?> type) {
+    this(configurationProvider, prefix);
+
+    for (Method method : type.getMethods()) {
+      methodBindings.put(method, bindingFor(method));
+    }
   }
 
   /**
@@ -53,42 +75,19 @@ class BindInvocationHandler implements InvocationHandler {
    */
   @Override
   public Object invoke(Object proxy, Method method, Object[] args) throws InvocationTargetException, IllegalAccessException {
-    if (isObjectMethod(method)) {
-      return method.invoke(this, args);
+    MethodBinding methodBinding = methodBindings.get(method);
+    if (methodBinding == null) {
+      methodBinding = methodBindings.computeIfAbsent(method, this::bindingFor);
     }
 
-    final Type returnType = method.getGenericReturnType();
-    return simpleConfigurationProvider.getProperty(prefix + (prefix.isEmpty() ? "" : ".") + method.getName(), () -> returnType);
-  }
-
-  /**
-   * Check if method is defined by Object class (e.g. {@link Object#hashCode()}.
-   */
-  private boolean isObjectMethod(Method method) {
-    for (Method objectMethod : Object.class.getMethods()) {
-      if (method.getName().equals(objectMethod.getName())) {
-        if (equalParamTypes(objectMethod.getParameterTypes(), method.getParameterTypes())) {
-          return true;
-        }
-      }
+    if (methodBinding == MethodBinding.OBJECT_METHOD) {
+      return method.invoke(this, args);
     }
 
-    return false;
+    return simpleConfigurationProvider.getProperty(methodBinding.getKey(), methodBinding.getType());
   }
 
-  /**
-   * Check if two arrays of parameter types are equal.
-   */
-  private boolean equalParamTypes(Class<?>[] params1, Class<?>[] params2) {
-    if (params1.length == params2.length) {
-      for (int i = 0; i < params1.length; i++) {
-        if (params1[i] != params2[i]) {
-          return false;
-        }
-      }
-      return true;
-    }
-    return false;
+  private MethodBinding bindingFor(Method method) {
+    return MethodBinding.of(prefix, method);
   }
-
 }
@@ -48,6 +48,7 @@ public interface ConfigurationProvider {
    * <pre>
    *   boolean myBooleanProperty = configurationProvider.getProperty("my.property", boolean.class);
    * </pre>
+   * Converted values may be shared between calls (until configuration changes), so returned arrays should not be modified.
    *
    * @param <T>  property type. Supported baic types: {@link BigDecimal}, {@link BigInteger}, {@link Boolean}, {@link Byte},
    *             {@link Character}, {@link Class}, {@link Double}, {@link Enum}, {@link File}, {@link Float}, {@link Integer},
@@ -67,6 +68,7 @@ public interface ConfigurationProvider {
    * <pre>
    *   List&lt;String&gt; myListProperty = configurationProvider.getProperty("my.list", new GenericType&lt;List&lt;String&gt;&gt;() { });
    * </pre>
+   * Converted values may be shared between calls (until configuration changes), so returned collections should not be modified.
    *
    * @param <T>         property type. Supported collections (and most of their standard implementations): {@link Collection},
    *                    {@link List}, {@link Set}, {@link SortedSet}, {@link Map}, {@link SortedMap}
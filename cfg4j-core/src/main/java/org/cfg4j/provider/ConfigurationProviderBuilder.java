@@ -32,6 +32,13 @@ import org.cfg4j.source.reload.strategy.ImmediateReloadStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * A builder producing {@link ConfigurationProvider}s. If you don't specify the value for one the fields
  * then the default value will be provided - read the constructor's documentation to learn
@@ -46,6 +53,8 @@ public class ConfigurationProviderBuilder {
   private Environment environment;
   private MetricRegistry metricRegistry;
   private String prefix;
+  private boolean snapshotBinding;
+  private long initialLoadDeadlineNanos;
 
   /**
    * Construct {@link ConfigurationProvider}s builder.
@@ -56,6 +65,8 @@ public class ConfigurationProviderBuilder {
    * <li>ReloadStrategy: {@link ImmediateReloadStrategy}</li>
    * <li>Environment: {@link DefaultEnvironment}</li>
    * <li>Metrics: disabled</li>
+   * <li>Snapshot binding: disabled</li>
+   * <li>Parallel initial load: disabled</li>
    * </ul>
    */
   public ConfigurationProviderBuilder() {
@@ -126,10 +137,47 @@ public class ConfigurationProviderBuilder {
     return this;
   }
 
+  /**
+   * Enable snapshot binding for {@link ConfigurationProvider}s built by this builder. Objects created by
+   * {@link ConfigurationProvider#bind(String, Class)} will precompute property keys and types for all their methods
+   * at bind time and will keep converted values until configuration changes. Calls to methods of such objects
+   * are not included in provider-level metrics (see {@link #withMetrics(MetricRegistry, String)}).
+   *
+   * @return this builder
+   */
+  public ConfigurationProviderBuilder withSnapshotBinding() {
+    this.snapshotBinding = true;
+    return this;
+  }
+
+  /**
+   * Load configuration asynchronously when building {@link ConfigurationProvider}s. The source is initialized with
+   * {@link ConfigurationSource#initAsync(java.util.concurrent.Executor)} and configuration is fetched with
+   * {@link ConfigurationSource#getConfigurationAsync(Environment, java.util.concurrent.Executor)}, so composed sources
+   * (e.g. {@link org.cfg4j.source.compose.MergeConfigurationSource}) load their underlying sources in parallel and
+   * startup takes as long as the slowest of them rather than all of them combined. A reload requested by
+   * the {@link ReloadStrategy} while registering reuses this initial load.
+   *
+   * @param deadline maximum time (in {@code timeUnit}) to wait for configuration to load
+   * @param timeUnit time unit to use
+   * @return this builder
+   * @throws IllegalArgumentException when {@code deadline} isn't positive
+   */
+  public ConfigurationProviderBuilder withParallelInitialLoad(long deadline, TimeUnit timeUnit) {
+    if (deadline <= 0) {
+      throw new IllegalArgumentException("Initial load deadline has to be positive: " + deadline);
+    }
+
+    this.initialLoadDeadlineNanos = timeUnit.toNanos(deadline);
+    return this;
+  }
+
   /**
    * Build a {@link ConfigurationProvider} using this builder's configuration.
    *
    * @return new {@link ConfigurationProvider}
+   * @throws IllegalStateException when parallel initial load is enabled and configuration wasn't loaded before
+   *                               the deadline
    */
   public ConfigurationProvider build() {
     LOG.info("Initializing ConfigurationProvider with "
@@ -141,17 +189,33 @@ public class ConfigurationProviderBuilder {
     if (metricRegistry != null) {
       configurationSource = new MeteredConfigurationSource(metricRegistry, prefix, cachedConfigurationSource);
     }
-    cachedConfigurationSource.init();
 
-    Reloadable reloadable = () -> cachedConfigurationSource.reload(environment);
+    Reloadable reloadable = new Reloadable() {
+      @Override
+      public void reload() {
+        cachedConfigurationSource.reload(environment);
+      }
+
+      @Override
+      public long getVersion() {
+        return cachedConfigurationSource.getVersion(environment);
+      }
+    };
 
     if (metricRegistry != null) {
       reloadable = new MeteredReloadable(metricRegistry, prefix, reloadable);
     }
-    reloadable.reload();
-    reloadStrategy.register(reloadable);
 
-    SimpleConfigurationProvider configurationProvider = new SimpleConfigurationProvider(cachedConfigurationSource, environment);
+    if (initialLoadDeadlineNanos > 0) {
+      loadInParallel(cachedConfigurationSource);
+      registerSkippingReloads(reloadable);
+    } else {
+      cachedConfigurationSource.init();
+      reloadable.reload();
+      reloadStrategy.register(reloadable);
+    }
+
+    SimpleConfigurationProvider configurationProvider = new SimpleConfigurationProvider(cachedConfigurationSource, environment, snapshotBinding);
     if (metricRegistry != null) {
       return new MeteredConfigurationProvider(metricRegistry, prefix, configurationProvider);
     }
@@ -159,6 +223,58 @@ public class ConfigurationProviderBuilder {
     return configurationProvider;
   }
 
+  private void loadInParallel(CachedConfigurationSource cachedConfigurationSource) {
+    ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "cfg4j-initial-load");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    try {
+      cachedConfigurationSource.initAsync(executor)
+          .thenCompose(ignored -> cachedConfigurationSource.reloadAsync(environment, executor))
+          .get(initialLoadDeadlineNanos, TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      throw new IllegalStateException("Configuration wasn't loaded within "
+          + TimeUnit.NANOSECONDS.toMillis(initialLoadDeadlineNanos) + "ms", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while loading configuration", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+
+      throw new IllegalStateException("Unable to load configuration", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Register {@code reloadable} with the reload strategy. Reloads requested while registering are skipped, as
+   * configuration was just loaded.
+   */
+  private void registerSkippingReloads(Reloadable reloadable) {
+    AtomicBoolean registering = new AtomicBoolean(true);
+
+    reloadStrategy.register(new Reloadable() {
+      @Override
+      public void reload() {
+        if (!registering.get()) {
+          reloadable.reload();
+        }
+      }
+
+      @Override
+      public long getVersion() {
+        return reloadable.getVersion();
+      }
+    });
+
+    registering.set(false);
+  }
+
   @Override
   public String toString() {
     return "ConfigurationProviderBuilder{" +
@@ -167,6 +283,8 @@ public class ConfigurationProviderBuilder {
         ", environment=" + environment +
         ", metricRegistry=" + metricRegistry +
         ", prefix='" + prefix + '\'' +
+        ", snapshotBinding=" + snapshotBinding +
+        ", initialLoadDeadlineNanos=" + initialLoadDeadlineNanos +
         '}';
   }
 }
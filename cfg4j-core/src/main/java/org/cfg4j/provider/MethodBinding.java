@@ -0,0 +1,123 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+/**
+ * Property key and type resolved for a single method of an object bound by
+ * {@link ConfigurationProvider#bind(String, Class)}. Shared by invocation handlers of bound objects.
+ */
+class MethodBinding {
+
+  /**
+   * Marks methods that should be invoked on the invocation handler itself.
+   */
+  static final MethodBinding OBJECT_METHOD = new MethodBinding(null, null);
+
+  private final String key;
+  private final GenericTypeInterface type;
+
+  private MethodBinding(String key, GenericTypeInterface type) {
+    this.key = key;
+    this.type = type;
+  }
+
+  /**
+   * Resolve binding of {@code method} for properties under {@code prefix}.
+   *
+   * @param prefix relative path to configuration values
+   * @param method method of the bound interface
+   * @return binding for {@code method} or {@link #OBJECT_METHOD} when it's defined by the Object class
+   */
+  static MethodBinding of(String prefix, Method method) {
+    if (isObjectMethod(method)) {
+      return OBJECT_METHOD;
+    }
+
+    return new MethodBinding(prefix + (prefix.isEmpty() ? "" : ".") + method.getName(),
+        new ResolvedType(method.getGenericReturnType()));
+  }
+
+  /**
+   * @return key of the property returned by the method
+   */
+  String getKey() {
+    return key;
+  }
+
+  /**
+   * @return type of the property returned by the method
+   */
+  GenericTypeInterface getType() {
+    return type;
+  }
+
+  /**
+   * Check if method is defined by Object class (e.g. {@link Object#hashCode()}.
+   */
+  private static boolean isObjectMethod(Method method) {
+    for (Method objectMethod : Object.class.getMethods()) {
+      if (method.getName().equals(objectMethod.getName())) {
+        if (equalParamTypes(objectMethod.getParameterTypes(), method.getParameterTypes())) {
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Check if two arrays of parameter types are equal.
+   */
+  private static boolean equalParamTypes(Class<?>[] params1, Class<?>[] params2) {
+    if (params1.length == params2.length) {
+      for (int i = 0; i < params1.length; i++) {
+        if (params1[i] != params2[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * {@link GenericTypeInterface} for an already resolved {@link Type}.
+   */
+  private static class ResolvedType implements GenericTypeInterface {
+
+    private final Type type;
+
+    ResolvedType(Type type) {
+      this.type = type;
+    }
+
+    @Override
+    public Type getType() {
+      return type;
+    }
+
+    @Override
+    public String toString() {
+      return "GenericType{" +
+          "type=" + type +
+          '}';
+    }
+  }
+}
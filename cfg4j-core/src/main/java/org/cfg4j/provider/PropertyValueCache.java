@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import java.io.File;
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Holds property values already converted to their target types. Each cache is attached to a single
+ * {@link org.cfg4j.source.reload.ConfigurationSnapshot} (see
+ * {@link org.cfg4j.source.reload.ConfigurationSnapshot#getAttachment(Class, java.util.function.Supplier)}), so it's
+ * discarded together with the snapshot. Thread-safe.
+ * <p>
+ * Cached values are shared by all callers, so only immutable values are cached. Arrays of immutable values are
+ * cached too, but each caller gets its own copy. Other values (e.g. collections and maps) aren't cached.
+ */
+class PropertyValueCache {
+
+  /**
+   * Returned by {@link #get(String, Type)} when there's no cached value for the given key and type.
+   */
+  static final Object MISSING = new Object();
+
+  private static final Object NULL_VALUE = new Object();
+
+  private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+      String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class,
+      Double.class, BigInteger.class, BigDecimal.class, File.class, URI.class, URL.class, Locale.class, UUID.class,
+      Pattern.class, Class.class
+  ));
+
+  private final Map<String, Map<Type, Object>> values;
+
+  /**
+   * Create an empty cache.
+   */
+  PropertyValueCache() {
+    values = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Get value of property {@code key} converted to {@code type}.
+   *
+   * @param key  configuration key
+   * @param type type the property was converted to
+   * @return cached value (may be null) or {@link #MISSING} if the value wasn't cached yet. Arrays are copied.
+   */
+  Object get(String key, Type type) {
+    Map<Type, Object> valuesForKey = values.get(key);
+    if (valuesForKey == null) {
+      return MISSING;
+    }
+
+    Object value = valuesForKey.get(type);
+    if (value == null) {
+      return MISSING;
+    }
+
+    return value == NULL_VALUE ? null : copy(value);
+  }
+
+  /**
+   * Store value of property {@code key} converted to {@code type}. Arrays are copied, so that the caller keeps
+   * its own instance. Values that can't be safely shared aren't stored.
+   *
+   * @param key   configuration key
+   * @param type  type the property was converted to
+   * @param value converted value (may be null)
+   */
+  void put(String key, Type type, Object value) {
+    if (!isCacheable(value)) {
+      return;
+    }
+
+    values.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+        .put(type, value == null ? NULL_VALUE : copy(value));
+  }
+
+  /**
+   * Check if {@code value} can be kept and handed out to multiple callers, possibly after {@link #copy(Object)}.
+   *
+   * @param value converted value (may be null)
+   * @return true if {@code value} is immutable or an array of immutable values, false otherwise
+   */
+  static boolean isCacheable(Object value) {
+    if (value == null || value instanceof Enum || IMMUTABLE_TYPES.contains(value.getClass())) {
+      return true;
+    }
+
+    if (!value.getClass().isArray()) {
+      return false;
+    }
+
+    if (value.getClass().getComponentType().isPrimitive()) {
+      return true;
+    }
+
+    for (int i = 0; i < Array.getLength(value); i++) {
+      if (!isCacheable(Array.get(value, i))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Copy {@code value} of a cacheable type, so that each caller gets its own instance of mutable arrays.
+   *
+   * @param value non-null value accepted by {@link #isCacheable(Object)}
+   * @return copy of {@code value} when it's an array, {@code value} itself otherwise
+   */
+  static Object copy(Object value) {
+    if (!value.getClass().isArray()) {
+      return value;
+    }
+
+    Class<?> componentType = value.getClass().getComponentType();
+    int length = Array.getLength(value);
+    Object copy = Array.newInstance(componentType, length);
+
+    if (componentType.isPrimitive()) {
+      System.arraycopy(value, 0, copy, 0, length);
+    } else {
+      for (int i = 0; i < length; i++) {
+        Object element = Array.get(value, i);
+        Array.set(copy, i, element == null ? null : copy(element));
+      }
+    }
+
+    return copy;
+  }
+}
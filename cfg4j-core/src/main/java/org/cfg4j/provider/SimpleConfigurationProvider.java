@@ -23,10 +23,13 @@ import com.github.drapostolos.typeparser.TypeParserException;
 import org.cfg4j.source.ConfigurationSource;
 import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
+import org.cfg4j.source.reload.ConfigurationSnapshot;
 import org.cfg4j.validator.BindingValidator;
 
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
 import java.util.NoSuchElementException;
 import java.util.Properties;
 
@@ -35,8 +38,11 @@ import java.util.Properties;
  */
 class SimpleConfigurationProvider implements ConfigurationProvider {
 
+  private static final TypeParser TYPE_PARSER = TypeParser.newBuilder().build();
+
   private final ConfigurationSource configurationSource;
   private final Environment environment;
+  private final boolean snapshotBinding;
 
   /**
    * {@link ConfigurationProvider} backed by provided {@link ConfigurationSource} and using {@code environment}
@@ -46,8 +52,21 @@ class SimpleConfigurationProvider implements ConfigurationProvider {
    * @param environment         {@link Environment} to use
    */
   SimpleConfigurationProvider(ConfigurationSource configurationSource, Environment environment) {
+    this(configurationSource, environment, false);
+  }
+
+  /**
+   * {@link ConfigurationProvider} backed by provided {@link ConfigurationSource} and using {@code environment}
+   * to select environment. To construct this provider use {@link ConfigurationProviderBuilder}.
+   *
+   * @param configurationSource source for configuration
+   * @param environment         {@link Environment} to use
+   * @param snapshotBinding     when true objects created by {@link #bind(String, Class)} use {@link SnapshotBindInvocationHandler}
+   */
+  SimpleConfigurationProvider(ConfigurationSource configurationSource, Environment environment, boolean snapshotBinding) {
     this.configurationSource = requireNonNull(configurationSource);
     this.environment = requireNonNull(environment);
+    this.snapshotBinding = snapshotBinding;
   }
 
   @Override
@@ -61,46 +80,99 @@ class SimpleConfigurationProvider implements ConfigurationProvider {
 
   @Override
   public <T> T getProperty(String key, Class<T> type) {
-    String propertyStr = getProperty(key);
+    return getProperty(key, type, type);
+  }
+
+  @Override
+  public <T> T getProperty(String key, GenericTypeInterface genericType) {
+    return getProperty(key, genericType.getType(), genericType);
+  }
+
+  /**
+   * Get property {@code key} converted to {@code type}. When the configuration source publishes snapshots, converted
+   * values are cached in the snapshot they were read from, so they're kept for as long as the configuration source
+   * keeps serving that snapshot (i.e. until the next reload). Otherwise the property is looked up in the
+   * configuration set returned by the source and converted on each call.
+   *
+   * @param typeDescription description of the {@code type} used in error messages
+   */
+  private <T> T getProperty(String key, Type type, Object typeDescription) {
+    ConfigurationSnapshot snapshot = getSnapshot(key);
+    if (snapshot != null) {
+      return getProperty(snapshot, key, type, typeDescription);
+    }
 
+    Properties configuration;
     try {
-      TypeParser parser = TypeParser.newBuilder().build();
-      return parser.parse(propertyStr, type);
-    } catch (TypeParserException | NoSuchRegisteredParserException e) {
-      throw new IllegalArgumentException("Unable to cast value \'" + propertyStr + "\' to " + type, e);
+      configuration = configurationSource.getConfiguration(environment);
+    } catch (IllegalStateException e) {
+      throw new IllegalStateException("Couldn't fetch configuration from configuration source for key: " + key, e);
     }
+
+    return convert(requireProperty(configuration.get(key), key), type, typeDescription);
   }
 
-  @Override
-  public <T> T getProperty(String key, GenericTypeInterface genericType) {
-    String propertyStr = getProperty(key);
+  /**
+   * Get property {@code key} from the given configuration {@code snapshot} converted to {@code genericType}.
+   */
+  <T> T getProperty(ConfigurationSnapshot snapshot, String key, GenericTypeInterface genericType) {
+    return getProperty(snapshot, key, genericType.getType(), genericType);
+  }
+
+  /**
+   * Get property {@code key} from the given configuration {@code snapshot} converted to {@code type}.
+   *
+   * @param typeDescription description of the {@code type} used in error messages
+   */
+  private <T> T getProperty(ConfigurationSnapshot snapshot, String key, Type type, Object typeDescription) {
+    PropertyValueCache cache = snapshot.getAttachment(PropertyValueCache.class, PropertyValueCache::new);
+
+    Object value = cache.get(key, type);
+
+    if (value == PropertyValueCache.MISSING) {
+      value = convert(requireProperty(snapshot.get(key), key), type, typeDescription);
+
+      cache.put(key, type, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    T property = (T) value;
+    return property;
+  }
 
+  private static <T> T convert(String propertyStr, Type type, Object typeDescription) {
     try {
-      TypeParser parser = TypeParser.newBuilder().build();
       @SuppressWarnings("unchecked")
-      T property = (T) parser.parseType(propertyStr, genericType.getType());
+      T property = (T) TYPE_PARSER.parseType(propertyStr, type);
       return property;
     } catch (TypeParserException | NoSuchRegisteredParserException e) {
-      throw new IllegalArgumentException("Unable to cast value \'" + propertyStr + "\' to " + genericType, e);
+      throw new IllegalArgumentException("Unable to cast value \'" + propertyStr + "\' to " + typeDescription, e);
     }
   }
 
-  private String getProperty(String key) {
+  /**
+   * Get configuration snapshot currently served by the configuration source (see
+   * {@link ConfigurationSource#getSnapshot(Environment)}).
+   *
+   * @param key key the configuration is fetched for (used in error messages)
+   * @return current snapshot or {@code null} when the source doesn't publish snapshots
+   */
+  ConfigurationSnapshot getSnapshot(String key) {
     try {
-
-      Object property = configurationSource.getConfiguration(environment).get(key);
-
-      if (property == null) {
-        throw new NoSuchElementException("No configuration with key: " + key);
-      }
-
-      return property.toString();
-
+      return configurationSource.getSnapshot(environment);
     } catch (IllegalStateException e) {
       throw new IllegalStateException("Couldn't fetch configuration from configuration source for key: " + key, e);
     }
   }
 
+  private static String requireProperty(Object property, String key) {
+    if (property == null) {
+      throw new NoSuchElementException("No configuration with key: " + key);
+    }
+
+    return property.toString();
+  }
+
   @Override
   public <T> T bind(String prefix, Class<T> type) {
     return bind(this, prefix, type);
@@ -111,6 +183,9 @@ class SimpleConfigurationProvider implements ConfigurationProvider {
    * bound object will be updated with the new values. Use {@code prefix} to specify the relative path to configuration
    * values. Please note that each method of returned object can throw runtime exceptions. For details see javadoc for
    * {@link BindInvocationHandler#invoke(Object, Method, Object[])}.
+   * <p>
+   * When snapshot binding is enabled the returned object reads values directly from this provider (bypassing
+   * {@code configurationProvider}) using {@link SnapshotBindInvocationHandler}.
    *
    * @param <T>    interface describing configuration object to bind
    * @param prefix relative path to configuration values (e.g. "myContext" will map settings "myContext.someSetting",
@@ -122,8 +197,12 @@ class SimpleConfigurationProvider implements ConfigurationProvider {
    * @throws IllegalStateException    when provider is unable to fetch configuration value for the given {@code key}
    */
   <T> T bind(ConfigurationProvider configurationProvider, String prefix, Class<T> type) {
+    InvocationHandler invocationHandler = snapshotBinding
+        ? new SnapshotBindInvocationHandler(this, prefix, type)
+        : new BindInvocationHandler(configurationProvider, prefix, type);
+
     @SuppressWarnings("unchecked")
-    T proxy = (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new BindInvocationHandler(configurationProvider, prefix));
+    T proxy = (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler);
 
     new BindingValidator().validate(proxy, type);
 
@@ -135,6 +214,7 @@ class SimpleConfigurationProvider implements ConfigurationProvider {
     return "SimpleConfigurationProvider{" +
         "configurationSource=" + configurationSource +
         ", environment=" + environment +
+        ", snapshotBinding=" + snapshotBinding +
         '}';
   }
 }
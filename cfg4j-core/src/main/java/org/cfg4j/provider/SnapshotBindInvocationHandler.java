@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.source.reload.ConfigurationSnapshot;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Invocation handler for objects bound in the snapshot binding mode. All per-method work (key construction, return
+ * type resolution, detection of Object-level methods) is done once, when the handler is created (see
+ * {@link MethodBinding}). Each method gets a slot holding its converted value for the configuration snapshot currently
+ * served by the provider. Slots are filled lazily and discarded all at once when configuration changes, so calling
+ * a getter of a bound object costs a method lookup, an identity check of the current configuration snapshot and
+ * a volatile array read. Like {@link PropertyValueCache}, slots hold only values that can be shared between callers.
+ * When the configuration source doesn't publish snapshots, properties are fetched from the provider on each call.
+ */
+class SnapshotBindInvocationHandler implements InvocationHandler {
+
+  private static final Object NULL_VALUE = new Object();
+
+  private final SimpleConfigurationProvider configurationProvider;
+  private final Map<Method, Integer> slots;
+  private final MethodBinding[] bindings;
+  private volatile ResolvedValues resolvedValues;
+
+  /**
+   * Create invocation handler which fetches properties from given {@code configurationProvider} for all methods
+   * of the given {@code type}.
+   *
+   * @param configurationProvider configuration provider to use for fetching properties
+   * @param prefix                prefix for property keys
+   * @param type                  interface describing configuration object
+   */
+  SnapshotBindInvocationHandler(SimpleConfigurationProvider configurationProvider, String prefix, Class<?> type) {
+    this.configurationProvider = requireNonNull(configurationProvider);
+    requireNonNull(prefix);
+
+    slots = new HashMap<>();
+    List<MethodBinding> methodBindings = new ArrayList<>();
+    for (Method method : type.getMethods()) {
+      MethodBinding binding = MethodBinding.of(prefix, method);
+
+      if (binding != MethodBinding.OBJECT_METHOD) {
+        slots.put(method, methodBindings.size());
+        methodBindings.add(binding);
+      }
+    }
+
+    bindings = methodBindings.toArray(new MethodBinding[0]);
+    resolvedValues = new ResolvedValues(null, bindings.length);
+  }
+
+  /**
+   * @throws NoSuchElementException    when the provided {@code key} doesn't have a corresponding config value
+   * @throws IllegalArgumentException  when property can't be converted to {@code type}
+   * @throws IllegalStateException     when provider is unable to fetch configuration value for the given {@code key}
+   * @throws InvocationTargetException when invoked an Object-level (e.g. {@link Object#hashCode()}) method and it throws an exception.
+   * @throws IllegalAccessException    when invoked an Object-level (e.g. {@link Object#hashCode()}) method and it is inaccessible.
+   */
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws InvocationTargetException, IllegalAccessException {
+    Integer slot = slots.get(method);
+    if (slot == null) {
+      return method.invoke(this, args);
+    }
+
+    MethodBinding binding = bindings[slot];
+    ConfigurationSnapshot snapshot = configurationProvider.getSnapshot(binding.getKey());
+    if (snapshot == null) {
+      return configurationProvider.getProperty(binding.getKey(), binding.getType());
+    }
+
+    ResolvedValues values = resolvedValues;
+    if (!values.isFor(snapshot)) {
+      values = new ResolvedValues(snapshot, bindings.length);
+      resolvedValues = values;
+    }
+
+    Object value = values.get(slot);
+    if (value == null) {
+      value = configurationProvider.getProperty(snapshot, binding.getKey(), binding.getType());
+
+      if (PropertyValueCache.isCacheable(value)) {
+        values.set(slot, value == null ? NULL_VALUE : PropertyValueCache.copy(value));
+      }
+
+      return value;
+    }
+
+    return value == NULL_VALUE ? null : PropertyValueCache.copy(value);
+  }
+
+  /**
+   * Values converted for a single configuration snapshot.
+   */
+  private static class ResolvedValues {
+    private final ConfigurationSnapshot snapshot;
+    private final AtomicReferenceArray<Object> values;
+
+    ResolvedValues(ConfigurationSnapshot snapshot, int size) {
+      this.snapshot = snapshot;
+      values = new AtomicReferenceArray<>(size);
+    }
+
+    boolean isFor(ConfigurationSnapshot snapshot) {
+      return this.snapshot == snapshot;
+    }
+
+    Object get(int slot) {
+      return values.get(slot);
+    }
+
+    void set(int slot, Object value) {
+      values.lazySet(slot, value);
+    }
+  }
+}
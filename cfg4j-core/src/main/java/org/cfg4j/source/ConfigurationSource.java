@@ -18,8 +18,11 @@ package org.cfg4j.source;
 import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
 import org.cfg4j.source.inmemory.InMemoryConfigurationSource;
+import org.cfg4j.source.reload.ConfigurationSnapshot;
 
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Provides access to configuration store and exposes configuration values in bulk {@link Properties} format.
@@ -38,6 +41,68 @@ public interface ConfigurationSource {
    */
   Properties getConfiguration(Environment environment);
 
+  /**
+   * Get a fingerprint of the configuration set for a given {@code environment}. The fingerprint changes whenever
+   * the configuration returned by {@link #getConfiguration(Environment)} may have changed, so a caller holding
+   * configuration fetched along with an equal fingerprint can skip fetching it again. Computing a fingerprint
+   * should be much cheaper than fetching configuration.
+   * <p>
+   * Returns {@code null} when this source can't tell whether configuration changed (e.g. the source doesn't
+   * support fingerprints or is unreachable). The default implementation always returns {@code null}.
+   *
+   * @param environment environment to use
+   * @return fingerprint of the configuration set for {@code environment} or {@code null} when unknown
+   */
+  default String getFingerprint(Environment environment) {
+    return null;
+  }
+
+  /**
+   * Get configuration set for a given {@code environment} along with its fingerprint, unless the fingerprint is equal
+   * to {@code cachedFingerprint} of configuration the caller already holds. Both are taken in the same call, so
+   * the returned fingerprint always describes the returned configuration. Returned configuration may be shared with
+   * the source (e.g. kept for later calls) and must not be modified.
+   * <p>
+   * The default implementation calls {@link #getFingerprint(Environment)} and then, when the fingerprint is unknown
+   * or differs from {@code cachedFingerprint}, {@link #getConfiguration(Environment)}. Sources that learn
+   * the fingerprint while fetching configuration (or the other way round) override it to talk to the backend once.
+   *
+   * @param environment       environment to use
+   * @param cachedFingerprint fingerprint of configuration held by the caller or {@code null} when none
+   * @return fetched configuration or {@link FetchedConfiguration#unchanged(String)} when the fingerprint is equal to
+   * {@code cachedFingerprint}
+   * @throws MissingEnvironmentException when requested environment couldn't be found
+   * @throws IllegalStateException       when unable to fetch configuration
+   */
+  default FetchedConfiguration fetchConfiguration(Environment environment, String cachedFingerprint) {
+    String fingerprint = getFingerprint(environment);
+
+    if (fingerprint != null && fingerprint.equals(cachedFingerprint)) {
+      return FetchedConfiguration.unchanged(fingerprint);
+    }
+
+    // Fingerprint is taken before fetching so a change in between only causes one more fetch later
+    return FetchedConfiguration.of(getConfiguration(environment), fingerprint);
+  }
+
+  /**
+   * Get configuration set for a given {@code environment} in a form of an immutable {@link ConfigurationSnapshot}.
+   * Sources that keep configuration in snapshots return the same snapshot until their configuration changes, so
+   * callers can read it without copying and keep values derived from it. Sources decorating other sources should
+   * delegate this call.
+   * <p>
+   * The default implementation returns {@code null}, meaning that this source doesn't keep snapshots and
+   * {@link #getConfiguration(Environment)} should be used instead.
+   *
+   * @param environment environment to use
+   * @return configuration snapshot for {@code environment} or {@code null} when this source doesn't keep snapshots
+   * @throws MissingEnvironmentException when requested environment couldn't be found
+   * @throws IllegalStateException       when unable to fetch configuration
+   */
+  default ConfigurationSnapshot getSnapshot(Environment environment) {
+    return null;
+  }
+
   /**
    * Initialize this source. This method has to be called before any other method of this instance.
    *
@@ -45,4 +110,55 @@ public interface ConfigurationSource {
    * @throws SourceCommunicationException when unable to communicate with source
    */
   void init();
+
+  /**
+   * Asynchronously get configuration set for a given {@code environment}, see {@link #getConfiguration(Environment)}.
+   * Exceptions thrown by {@link #getConfiguration(Environment)} complete the returned future exceptionally.
+   * The default implementation calls {@link #getConfiguration(Environment)} on the {@code executor}. Sources composed
+   * of other sources override it to fetch from them concurrently.
+   *
+   * @param environment environment to use
+   * @param executor    executor running blocking operations
+   * @return future completed with configuration set for {@code environment}
+   */
+  default CompletableFuture<Properties> getConfigurationAsync(Environment environment, Executor executor) {
+    return CompletableFuture.supplyAsync(() -> getConfiguration(environment), executor);
+  }
+
+  /**
+   * Asynchronously fetch configuration set for a given {@code environment}, see
+   * {@link #fetchConfiguration(Environment, String)}. Exceptions complete the returned future exceptionally.
+   * The default implementation gets the fingerprint on the {@code executor} and then, when configuration changed,
+   * calls {@link #getConfigurationAsync(Environment, Executor)}, so composed sources fetch from their underlying
+   * sources concurrently.
+   *
+   * @param environment       environment to use
+   * @param cachedFingerprint fingerprint of configuration held by the caller or {@code null} when none
+   * @param executor          executor running blocking operations
+   * @return future completed with fetched configuration
+   */
+  default CompletableFuture<FetchedConfiguration> fetchConfigurationAsync(Environment environment, String cachedFingerprint,
+                                                                          Executor executor) {
+    return CompletableFuture.supplyAsync(() -> getFingerprint(environment), executor)
+        .thenCompose(fingerprint -> {
+          if (fingerprint != null && fingerprint.equals(cachedFingerprint)) {
+            return CompletableFuture.completedFuture(FetchedConfiguration.unchanged(fingerprint));
+          }
+
+          return getConfigurationAsync(environment, executor)
+              .thenApply(configuration -> FetchedConfiguration.of(configuration, fingerprint));
+        });
+  }
+
+  /**
+   * Asynchronously initialize this source, see {@link #init()}. Exceptions thrown by {@link #init()} complete
+   * the returned future exceptionally. The default implementation calls {@link #init()} on the {@code executor}.
+   * Sources composed of other sources override it to initialize them concurrently.
+   *
+   * @param executor executor running blocking operations
+   * @return future completed when this source is initialized
+   */
+  default CompletableFuture<Void> initAsync(Executor executor) {
+    return CompletableFuture.runAsync(this::init, executor);
+  }
 }
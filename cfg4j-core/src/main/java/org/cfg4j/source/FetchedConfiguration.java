@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source;
+
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.source.context.environment.Environment;
+
+import java.util.Properties;
+
+/**
+ * Result of {@link ConfigurationSource#fetchConfiguration(Environment, String)}: configuration set along with
+ * the fingerprint it was fetched for, or a marker that configuration didn't change since the caller fetched it.
+ */
+public final class FetchedConfiguration {
+
+  private final Properties configuration;
+  private final String fingerprint;
+
+  private FetchedConfiguration(Properties configuration, String fingerprint) {
+    this.configuration = configuration;
+    this.fingerprint = fingerprint;
+  }
+
+  /**
+   * Configuration set fetched along with its {@code fingerprint}.
+   *
+   * @param configuration fetched configuration set
+   * @param fingerprint   fingerprint of {@code configuration} or {@code null} when unknown
+   * @return fetched configuration
+   */
+  public static FetchedConfiguration of(Properties configuration, String fingerprint) {
+    return new FetchedConfiguration(requireNonNull(configuration), fingerprint);
+  }
+
+  /**
+   * Marker of configuration that didn't change since it was fetched with the given {@code fingerprint}.
+   *
+   * @param fingerprint fingerprint of the unchanged configuration
+   * @return unchanged configuration
+   */
+  public static FetchedConfiguration unchanged(String fingerprint) {
+    return new FetchedConfiguration(null, requireNonNull(fingerprint));
+  }
+
+  /**
+   * @return true when configuration changed and {@link #getConfiguration()} holds it, false otherwise
+   */
+  public boolean isChanged() {
+    return configuration != null;
+  }
+
+  /**
+   * @return fetched configuration set or {@code null} when it didn't change
+   */
+  public Properties getConfiguration() {
+    return configuration;
+  }
+
+  /**
+   * @return fingerprint of the configuration set or {@code null} when unknown
+   */
+  public String getFingerprint() {
+    return fingerprint;
+  }
+
+  @Override
+  public String toString() {
+    return "FetchedConfiguration{" +
+        "changed=" + isChanged() +
+        ", fingerprint=" + fingerprint +
+        '}';
+  }
+}
@@ -35,7 +35,9 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@link ConfigurationSource} reading configuration from classpath files.
@@ -44,11 +46,18 @@ import java.util.Properties;
  * {@link Environment} name is prepended to all file paths from {@link ConfigFilesProvider}
  * to form an absolute configuration file path. Trailing slashes in environment name are not supported (due
  * to Java disallowing classpath locations starting with slash).
+ * <p>
+ * Classpath resources don't change at runtime, so by default each resource is parsed once and later requests are
+ * served from the parsed copy. Parsed resources are identified by their URL, which already reflects
+ * the environment. Caching can be disabled for development classpaths made of exploded directories, where files
+ * do change.
  */
 public class ClasspathConfigurationSource implements ConfigurationSource {
 
   private final ConfigFilesProvider configFilesProvider;
   private final PropertiesProviderSelector propertiesProviderSelector;
+  private final boolean cacheResources;
+  private final Map<String, Properties> parsedResources;
 
   /**
    * Construct {@link ConfigurationSource} backed by classpath files. Uses "application.properties" file
@@ -84,8 +93,26 @@ public class ClasspathConfigurationSource implements ConfigurationSource {
    * @param propertiesProviderSelector selector used for choosing {@link PropertiesProvider} based on a configuration file extension
    */
   public ClasspathConfigurationSource(ConfigFilesProvider configFilesProvider, PropertiesProviderSelector propertiesProviderSelector) {
+    this(configFilesProvider, propertiesProviderSelector, true);
+  }
+
+  /**
+   * Construct {@link ConfigurationSource} backed by classpath files. File paths should by provided by
+   * {@link ConfigFilesProvider} and will be treated as relative paths to the environment provided in
+   * {@link #getConfiguration(Environment)} calls (see corresponding javadoc for detail).
+   *
+   * @param configFilesProvider        {@link ConfigFilesProvider} supplying a list of configuration files to use
+   * @param propertiesProviderSelector selector used for choosing {@link PropertiesProvider} based on a configuration file extension
+   * @param cacheResources             whether to parse each classpath resource only once. Disable when resources can
+   *                                   change at runtime (e.g. classpath directories during development)
+   */
+  public ClasspathConfigurationSource(ConfigFilesProvider configFilesProvider, PropertiesProviderSelector propertiesProviderSelector,
+                                      boolean cacheResources) {
     this.configFilesProvider = requireNonNull(configFilesProvider);
     this.propertiesProviderSelector = requireNonNull(propertiesProviderSelector);
+    this.cacheResources = cacheResources;
+
+    parsedResources = new ConcurrentHashMap<>();
   }
 
   /**
@@ -100,6 +127,58 @@ public class ClasspathConfigurationSource implements ConfigurationSource {
   public Properties getConfiguration(Environment environment) {
     Properties properties = new Properties();
 
+    for (Path path : getPaths(environment)) {
+      URL resource = getClass().getClassLoader().getResource(path.toString());
+
+      if (resource == null) {
+        throw new IllegalStateException("Unable to load properties from classpath: " + path);
+      }
+
+      properties.putAll(getResourceProperties(path, resource));
+    }
+
+    return properties;
+  }
+
+  /**
+   * Get a fingerprint of the configuration set for a given {@code environment}. When resources are cached
+   * the fingerprint is made of URLs of all configuration files, as their content doesn't change.
+   *
+   * @param environment environment to use
+   * @return fingerprint of the configuration set for {@code environment} or {@code null} when resources aren't cached
+   * or some of them can't be found
+   */
+  @Override
+  public String getFingerprint(Environment environment) {
+    if (!cacheResources) {
+      return null;
+    }
+
+    StringBuilder fingerprint = new StringBuilder();
+
+    try {
+      for (Path path : getPaths(environment)) {
+        URL resource = getClass().getClassLoader().getResource(path.toString());
+
+        if (resource == null) {
+          return null;
+        }
+
+        fingerprint.append(resource.toExternalForm()).append('\n');
+      }
+    } catch (MissingEnvironmentException e) {
+      return null;
+    }
+
+    return fingerprint.toString();
+  }
+
+  @Override
+  public void init() {
+    // NOP
+  }
+
+  private List<Path> getPaths(Environment environment) {
     Path pathPrefix = Paths.get(environment.getName());
 
     URL url = getClass().getClassLoader().getResource(pathPrefix.toString());
@@ -112,33 +191,44 @@ public class ClasspathConfigurationSource implements ConfigurationSource {
       paths.add(pathPrefix.resolve(path));
     }
 
-    for (Path path : paths) {
-      try (InputStream input = getClass().getClassLoader().getResourceAsStream(path.toString())) {
+    return paths;
+  }
 
-        if (input == null) {
-          throw new IllegalStateException("Unable to load properties from classpath: " + path);
-        }
+  /**
+   * Properties parsed from the {@code resource}. Cached properties are never modified.
+   */
+  private Properties getResourceProperties(Path path, URL resource) {
+    if (!cacheResources) {
+      return parse(path, resource);
+    }
 
-        PropertiesProvider provider = propertiesProviderSelector.getProvider(path.getFileName().toString());
-        properties.putAll(provider.getProperties(input));
+    String key = resource.toExternalForm();
+    Properties properties = parsedResources.get(key);
 
-      } catch (IOException e) {
-        throw new IllegalStateException("Unable to load properties from classpath: " + path, e);
-      }
+    if (properties == null) {
+      properties = parse(path, resource);
+      parsedResources.putIfAbsent(key, properties);
     }
 
     return properties;
   }
 
-  @Override
-  public void init() {
-    // NOP
+  private Properties parse(Path path, URL resource) {
+    try (InputStream input = resource.openStream()) {
+
+      PropertiesProvider provider = propertiesProviderSelector.getProvider(path.getFileName().toString());
+      return provider.getProperties(input);
+
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to load properties from classpath: " + path, e);
+    }
   }
 
   @Override
   public String toString() {
     return "ClasspathConfigurationSource{" +
         "configFilesProvider=" + configFilesProvider +
+        ", cacheResources=" + cacheResources +
         '}';
   }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.compose;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Helpers for sources calling underlying sources concurrently.
+ */
+final class CompletableFutures {
+
+  private CompletableFutures() {
+  }
+
+  /**
+   * Wait for {@code future} to complete. Unlike {@link CompletableFuture#join()}, exceptions thrown by the underlying
+   * sources are rethrown as they are, so callers observe the same exceptions as from sequential calls.
+   *
+   * @param future future to wait for
+   * @param <T>    result type
+   * @return result of {@code future}
+   */
+  static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      throw rethrow(unwrap(e));
+    }
+  }
+
+  /**
+   * Rethrow {@code throwable} when it's unchecked, wrap it in {@link CompletionException} otherwise.
+   *
+   * @param throwable exception thrown by an underlying source
+   * @return never returns normally, declared so callers can {@code throw} the result
+   */
+  static RuntimeException rethrow(Throwable throwable) {
+    if (throwable instanceof RuntimeException) {
+      throw (RuntimeException) throwable;
+    } else if (throwable instanceof Error) {
+      throw (Error) throwable;
+    }
+
+    throw new CompletionException(throwable);
+  }
+
+  /**
+   * Create a future failed with {@code throwable}.
+   *
+   * @param throwable exception to complete the future with
+   * @param <T>       result type
+   * @return exceptionally completed future
+   */
+  static <T> CompletableFuture<T> failed(Throwable throwable) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(throwable);
+
+    return future;
+  }
+
+  /**
+   * Run {@code task} after {@code delayNanos} on a single daemon thread shared by all sources. Tasks should only
+   * start other (asynchronous) operations and never block.
+   *
+   * @param task       task to run
+   * @param delayNanos delay (in nanoseconds)
+   * @return future that can be used to cancel the task
+   */
+  static ScheduledFuture<?> schedule(Runnable task, long delayNanos) {
+    return Timer.SCHEDULER.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * @return cause of {@code throwable} when it's a {@link CompletionException}, {@code throwable} otherwise
+   */
+  static Throwable unwrap(Throwable throwable) {
+    return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+  }
+
+  /**
+   * Holder of the lazily started scheduler thread.
+   */
+  private static final class Timer {
+    private static final ScheduledThreadPoolExecutor SCHEDULER = new ScheduledThreadPoolExecutor(1, runnable -> {
+      Thread thread = new Thread(runnable, "cfg4j-compose-timer");
+      thread.setDaemon(true);
+
+      return thread;
+    });
+
+    static {
+      SCHEDULER.setRemoveOnCancelPolicy(true);
+    }
+  }
+}
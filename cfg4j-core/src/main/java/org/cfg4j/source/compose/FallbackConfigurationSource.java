@@ -18,20 +18,43 @@ package org.cfg4j.source.compose;
 import static java.util.Objects.requireNonNull;
 
 import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.FetchedConfiguration;
 import org.cfg4j.source.SourceCommunicationException;
 import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 
 /**
  * Combines multiple {@link ConfigurationSource}s in a fallback chain. When one of the sources is not available
  * another one is used for providing configuration.
+ * <p>
+ * When constructed with an {@link Executor} underlying sources are initialized concurrently. In hedged mode
+ * configuration is requested from the second source when the first one doesn't respond within the hedge delay
+ * (or fails earlier) and the first successful response of the two is used. Remaining sources are tried one after
+ * another only when both fail.
  */
 public class FallbackConfigurationSource implements ConfigurationSource {
 
+  private static final Logger LOG = LoggerFactory.getLogger(FallbackConfigurationSource.class);
+
   private final ConfigurationSource[] sources;
+  private final Executor executor;
+  private final long hedgeDelayNanos;
 
   /**
    * Create a fallback chain of {@link ConfigurationSource}s
@@ -39,7 +62,38 @@ public class FallbackConfigurationSource implements ConfigurationSource {
    * @param sources configuration sources to use
    */
   public FallbackConfigurationSource(ConfigurationSource... sources) {
+    this(null, -1, sources);
+  }
+
+  /**
+   * Create a fallback chain of {@link ConfigurationSource}s initialized concurrently on the {@code executor}.
+   * Configuration is requested from sources one after another.
+   *
+   * @param executor executor running calls to the underlying sources
+   * @param sources  configuration sources to use
+   */
+  public FallbackConfigurationSource(Executor executor, ConfigurationSource... sources) {
+    this(requireNonNull(executor), -1, sources);
+  }
+
+  /**
+   * Create a hedged fallback chain of {@link ConfigurationSource}s initialized concurrently on the {@code executor}.
+   * When the first source doesn't provide configuration within {@code hedgeDelay} (measured in {@code timeUnit}s),
+   * it's requested from the second source too and the first successful response is used.
+   *
+   * @param executor   executor running calls to the underlying sources
+   * @param hedgeDelay time (in {@code timeUnit}) to wait for the first source before requesting the second one
+   * @param timeUnit   time unit to use
+   * @param sources    configuration sources to use
+   */
+  public FallbackConfigurationSource(Executor executor, long hedgeDelay, TimeUnit timeUnit, ConfigurationSource... sources) {
+    this(requireNonNull(executor), Math.max(0, timeUnit.toNanos(hedgeDelay)), sources);
+  }
+
+  private FallbackConfigurationSource(Executor executor, long hedgeDelayNanos, ConfigurationSource... sources) {
     this.sources = requireNonNull(sources);
+    this.executor = executor;
+    this.hedgeDelayNanos = hedgeDelayNanos;
 
     for (ConfigurationSource source : sources) {
       requireNonNull(source);
@@ -58,12 +112,97 @@ public class FallbackConfigurationSource implements ConfigurationSource {
    */
   @Override
   public Properties getConfiguration(Environment environment) {
+    return request(environment,
+        index -> sources[index].getConfiguration(environment),
+        index -> CompletableFuture.supplyAsync(() -> sources[index].getConfiguration(environment), executor)).value;
+  }
+
+  /**
+   * Asynchronously get configuration set for a given {@code environment}, see {@link #getConfiguration(Environment)}.
+   * Sources are still called in a provided order, each one only after the previous one failed (or, in hedged mode,
+   * the second one after the hedge delay). Waiting for the hedge delay doesn't block any thread.
+   *
+   * @param environment environment to use
+   * @param executor    executor running blocking operations
+   * @return future completed with configuration set for {@code environment} from the first source that works
+   */
+  @Override
+  public CompletableFuture<Properties> getConfigurationAsync(Environment environment, Executor executor) {
+    return requestAsync(environment, index -> sources[index].getConfigurationAsync(environment, executor))
+        .thenApply(response -> response.value);
+  }
+
+  /**
+   * Get a fingerprint of the configuration set for a given {@code environment}. It's the fingerprint reported by
+   * the first source, as that's the one providing configuration while it works. In hedged mode configuration may be
+   * provided by the second source as well, so the fingerprint is unknown.
+   *
+   * @param environment environment to use
+   * @return fingerprint of the configuration set for {@code environment} or {@code null} when unknown
+   */
+  @Override
+  public String getFingerprint(Environment environment) {
+    if (isHedged() || sources.length == 0) {
+      return null;
+    }
+
+    return toFingerprint(0, sources[0].getFingerprint(environment));
+  }
 
+  /**
+   * Fetch configuration set for a given {@code environment} from the first source that works (see
+   * {@link #getConfiguration(Environment)}). The fingerprint identifies that source along with the fingerprint it
+   * reported, so {@code cachedFingerprint} is passed only to the source that provided the cached configuration.
+   *
+   * @param environment       environment to use
+   * @param cachedFingerprint fingerprint of configuration held by the caller or {@code null} when none
+   * @return fetched configuration or {@link FetchedConfiguration#unchanged(String)} when the source that provided
+   * the cached configuration reports it didn't change
+   * @throws MissingEnvironmentException when requested environment couldn't be found in any of the underlying source
+   * @throws IllegalStateException       when unable to fetch configuration from any of the underlying sources
+   */
+  @Override
+  public FetchedConfiguration fetchConfiguration(Environment environment, String cachedFingerprint) {
+    return toFetchedConfiguration(request(environment,
+        index -> sources[index].fetchConfiguration(environment, getSourceFingerprint(cachedFingerprint, index)),
+        index -> CompletableFuture.supplyAsync(
+            () -> sources[index].fetchConfiguration(environment, getSourceFingerprint(cachedFingerprint, index)), executor)));
+  }
+
+  @Override
+  public CompletableFuture<FetchedConfiguration> fetchConfigurationAsync(Environment environment, String cachedFingerprint,
+                                                                         Executor executor) {
+    return requestAsync(environment,
+        index -> sources[index].fetchConfigurationAsync(environment, getSourceFingerprint(cachedFingerprint, index), executor))
+        .thenApply(FallbackConfigurationSource::toFetchedConfiguration);
+  }
+
+  /**
+   * Call underlying sources in a provided order until one succeeds. In hedged mode the first two sources are raced
+   * using {@code hedgedRequest}.
+   *
+   * @param request       blocking request to the source of a given index
+   * @param hedgedRequest asynchronous request to the source of a given index
+   */
+  private <T> Response<T> request(Environment environment, IntFunction<T> request,
+                                  IntFunction<CompletableFuture<T>> hedgedRequest) {
     boolean allMissEnvironment = true;
+    int firstSequentialSource = 0;
 
-    for (ConfigurationSource source : sources) {
+    if (isHedged()) {
+      HedgedResponse<T> hedgedResponse = CompletableFutures.join(new Hedge<>(hedgedRequest).start());
+
+      if (hedgedResponse.response != null) {
+        return hedgedResponse.response;
+      }
+
+      allMissEnvironment = hedgedResponse.allMissEnvironment;
+      firstSequentialSource = 2;
+    }
+
+    for (int i = firstSequentialSource; i < sources.length; i++) {
       try {
-        return source.getConfiguration(environment);
+        return new Response<>(i, request.apply(i));
       } catch (MissingEnvironmentException e) {
         // NOP
       } catch (IllegalStateException e) {
@@ -78,8 +217,77 @@ public class FallbackConfigurationSource implements ConfigurationSource {
     throw new IllegalStateException();
   }
 
+  private <T> CompletableFuture<Response<T>> requestAsync(Environment environment, IntFunction<CompletableFuture<T>> request) {
+    if (isHedged()) {
+      return new Hedge<>(request).start()
+          .thenCompose(hedgedResponse -> hedgedResponse.response != null
+              ? CompletableFuture.completedFuture(hedgedResponse.response)
+              : requestAsync(environment, request, 2, hedgedResponse.allMissEnvironment));
+    }
+
+    return requestAsync(environment, request, 0, true);
+  }
+
+  private <T> CompletableFuture<Response<T>> requestAsync(Environment environment, IntFunction<CompletableFuture<T>> request,
+                                                          int sourceIndex, boolean allMissEnvironment) {
+    if (sourceIndex == sources.length) {
+      return CompletableFutures.failed(allMissEnvironment
+          ? new MissingEnvironmentException(environment.getName())
+          : new IllegalStateException());
+    }
+
+    return request.apply(sourceIndex)
+        .handle((value, throwable) -> {
+          if (throwable == null) {
+            return CompletableFuture.completedFuture(new Response<>(sourceIndex, value));
+          }
+
+          Throwable cause = CompletableFutures.unwrap(throwable);
+
+          if (cause instanceof MissingEnvironmentException) {
+            return requestAsync(environment, request, sourceIndex + 1, allMissEnvironment);
+          } else if (cause instanceof IllegalStateException) {
+            return requestAsync(environment, request, sourceIndex + 1, false);
+          }
+
+          throw new CompletionException(cause);
+        })
+        .thenCompose(Function.identity());
+  }
+
+  private boolean isHedged() {
+    return hedgeDelayNanos >= 0 && sources.length > 1;
+  }
+
+  private static String toFingerprint(int sourceIndex, String sourceFingerprint) {
+    return sourceFingerprint == null ? null : sourceIndex + ":" + sourceFingerprint;
+  }
+
+  /**
+   * @return fingerprint the source of {@code sourceIndex} reported for configuration with {@code fingerprint} or
+   * {@code null} when that configuration was provided by another source
+   */
+  private static String getSourceFingerprint(String fingerprint, int sourceIndex) {
+    String prefix = sourceIndex + ":";
+
+    return fingerprint != null && fingerprint.startsWith(prefix) ? fingerprint.substring(prefix.length()) : null;
+  }
+
+  private static FetchedConfiguration toFetchedConfiguration(Response<FetchedConfiguration> response) {
+    String fingerprint = toFingerprint(response.sourceIndex, response.value.getFingerprint());
+
+    return response.value.isChanged()
+        ? FetchedConfiguration.of(response.value.getConfiguration(), fingerprint)
+        : FetchedConfiguration.unchanged(fingerprint);
+  }
+
   @Override
   public void init() {
+    if (executor != null) {
+      CompletableFutures.join(initAsync(executor));
+      return;
+    }
+
     boolean atLeastOneSuccess = false;
 
     for (ConfigurationSource source : sources) {
@@ -96,10 +304,145 @@ public class FallbackConfigurationSource implements ConfigurationSource {
     }
   }
 
+  /**
+   * Asynchronously initialize this source, see {@link #init()}. All underlying sources are initialized concurrently.
+   *
+   * @param executor executor running blocking operations
+   * @return future completed when all underlying sources attempted initialization and at least one succeeded
+   */
+  @Override
+  public CompletableFuture<Void> initAsync(Executor executor) {
+    List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+    for (ConfigurationSource source : sources) {
+      futures.add(source.initAsync(executor)
+          .handle((ignored, throwable) -> {
+            if (throwable == null) {
+              return true;
+            }
+
+            Throwable cause = CompletableFutures.unwrap(throwable);
+            if (cause instanceof IllegalStateException || cause instanceof SourceCommunicationException) {
+              return false;
+            }
+
+            throw new CompletionException(cause);
+          }));
+    }
+
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+        .thenRun(() -> {
+          for (CompletableFuture<Boolean> future : futures) {
+            if (future.join()) {
+              return;
+            }
+          }
+
+          throw new IllegalStateException("Unable to initialize any of the underlying sources");
+        });
+  }
+
+  /**
+   * Race of the first two sources: the second one is requested when the first one doesn't respond within the hedge
+   * delay or fails earlier. Completes with the first successful response or, when both sources fail, with
+   * {@code null} response. Nothing blocks while waiting for responses.
+   */
+  private final class Hedge<T> {
+    private final IntFunction<CompletableFuture<T>> request;
+    private final CompletableFuture<HedgedResponse<T>> result;
+    private final AtomicBoolean secondRequested;
+    private final AtomicInteger failures;
+    private volatile boolean allMissEnvironment;
+
+    private Hedge(IntFunction<CompletableFuture<T>> request) {
+      this.request = request;
+      result = new CompletableFuture<>();
+      secondRequested = new AtomicBoolean();
+      failures = new AtomicInteger();
+      allMissEnvironment = true;
+    }
+
+    private CompletableFuture<HedgedResponse<T>> start() {
+      ScheduledFuture<?> timer = CompletableFutures.schedule(() -> {
+        if (!result.isDone()) {
+          LOG.debug("Source " + sources[0] + " didn't respond within hedge delay. Requesting " + sources[1]);
+        }
+
+        requestSecond();
+      }, hedgeDelayNanos);
+      result.whenComplete((response, throwable) -> timer.cancel(false));
+
+      send(0);
+
+      return result;
+    }
+
+    private void requestSecond() {
+      if (!result.isDone() && secondRequested.compareAndSet(false, true)) {
+        send(1);
+      }
+    }
+
+    private void send(int sourceIndex) {
+      CompletableFuture<T> response;
+      try {
+        response = request.apply(sourceIndex);
+      } catch (RuntimeException e) {
+        response = CompletableFutures.failed(e);
+      }
+
+      response.whenComplete((value, throwable) -> {
+        if (throwable == null) {
+          result.complete(new HedgedResponse<>(new Response<>(sourceIndex, value), false));
+          return;
+        }
+
+        Throwable cause = CompletableFutures.unwrap(throwable);
+
+        if (cause instanceof IllegalStateException) {
+          allMissEnvironment = false;
+        } else if (!(cause instanceof MissingEnvironmentException)) {
+          result.completeExceptionally(cause);
+          return;
+        }
+
+        if (failures.incrementAndGet() == 2) {
+          result.complete(new HedgedResponse<>(null, allMissEnvironment));
+        } else {
+          requestSecond();
+        }
+      });
+    }
+  }
+
+  /**
+   * Response of the source of a given index.
+   */
+  private static final class Response<T> {
+    private final int sourceIndex;
+    private final T value;
+
+    private Response(int sourceIndex, T value) {
+      this.sourceIndex = sourceIndex;
+      this.value = value;
+    }
+  }
+
+  private static final class HedgedResponse<T> {
+    private final Response<T> response;
+    private final boolean allMissEnvironment;
+
+    private HedgedResponse(Response<T> response, boolean allMissEnvironment) {
+      this.response = response;
+      this.allMissEnvironment = allMissEnvironment;
+    }
+  }
+
   @Override
   public String toString() {
     return "FallbackConfigurationSource{" +
         "sources=" + Arrays.toString(sources) +
+        ", executor=" + executor +
+        ", hedgeDelayNanos=" + hedgeDelayNanos +
         '}';
   }
 }
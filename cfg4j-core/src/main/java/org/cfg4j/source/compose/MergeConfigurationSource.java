@@ -18,18 +18,41 @@ package org.cfg4j.source.compose;
 import static java.util.Objects.requireNonNull;
 
 import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.FetchedConfiguration;
 import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * Merges multiple {@link ConfigurationSource}s. In case of key collision last-match wins merge strategy is used.
+ * By default underlying sources are called sequentially. When constructed with an {@link Executor} they're called
+ * concurrently, so reloads take as long as the slowest source rather than all of them combined. The merge order
+ * doesn't depend on which source responds first.
+ * <p>
+ * The last configuration of each underlying source (along with the fingerprint it was fetched with) and the merged
+ * configuration are kept per environment. Underlying sources are asked for configuration with
+ * {@link ConfigurationSource#fetchConfiguration(Environment, String)}, passing the fingerprint of the kept
+ * configuration, so sources supporting fingerprints aren't fetched from when they didn't change. Each merge only
+ * resolves keys that changed in some source since the previous merge, instead of merging all sources from scratch.
+ * The merged configuration is copied only when its content changes, as configuration returned earlier is never
+ * modified.
+ * Underlying sources must not modify {@link Properties} they have returned - a source returning the same object as in
+ * the previous call is considered unchanged.
  */
 public class MergeConfigurationSource implements ConfigurationSource {
 
   private final ConfigurationSource[] sources;
+  private final Executor executor;
+  private final Map<String, MergeState> mergeStatePerEnvironment = new ConcurrentHashMap<>();
 
   /**
    * Create a merge of provided {@link ConfigurationSource}s
@@ -38,6 +61,23 @@ public class MergeConfigurationSource implements ConfigurationSource {
    */
   public MergeConfigurationSource(ConfigurationSource... sources) {
     this.sources = requireNonNull(sources);
+    this.executor = null;
+
+    for (ConfigurationSource source : sources) {
+      requireNonNull(source);
+    }
+  }
+
+  /**
+   * Create a merge of provided {@link ConfigurationSource}s that calls them concurrently on the {@code executor}.
+   * Configuration, fingerprints and initialization of all sources are requested at once.
+   *
+   * @param executor executor running calls to the underlying sources
+   * @param sources  configuration sources to merge
+   */
+  public MergeConfigurationSource(Executor executor, ConfigurationSource... sources) {
+    this.sources = requireNonNull(sources);
+    this.executor = requireNonNull(executor);
 
     for (ConfigurationSource source : sources) {
       requireNonNull(source);
@@ -47,7 +87,8 @@ public class MergeConfigurationSource implements ConfigurationSource {
   /**
    * Get configuration set for a given {@code environment} from this source in a form of {@link Properties}. The configuration
    * set is a result of a merge of provided {@link ConfigurationSource} configurations. In case of key collision
-   * last-match wins merge strategy is used.
+   * last-match wins merge strategy is used. Each call returns a new copy of the merged configuration set. Use
+   * {@link #fetchConfiguration(Environment, String)} to avoid copying.
    *
    * @param environment environment to use
    * @return configuration set for {@code environment}
@@ -56,27 +97,320 @@ public class MergeConfigurationSource implements ConfigurationSource {
    */
   @Override
   public Properties getConfiguration(Environment environment) {
-    Properties properties = new Properties();
+    return copyOf(fetchConfiguration(environment, null));
+  }
 
-    for (ConfigurationSource source : sources) {
-      Properties sourceProperties = source.getConfiguration(environment);
-      properties.putAll(sourceProperties);
+  /**
+   * Get a fingerprint of the configuration set for a given {@code environment}. The fingerprint combines fingerprints
+   * of all underlying sources, so it's only known when all of them report one.
+   *
+   * @param environment environment to use
+   * @return fingerprint of the merged configuration set or {@code null} when any underlying fingerprint is unknown
+   */
+  @Override
+  public String getFingerprint(Environment environment) {
+    List<CompletableFuture<String>> futures = new ArrayList<>();
+    if (executor != null) {
+      for (ConfigurationSource source : sources) {
+        futures.add(CompletableFuture.supplyAsync(() -> source.getFingerprint(environment), executor));
+      }
     }
 
-    return properties;
+    String[] sourceFingerprints = new String[sources.length];
+    for (int i = 0; i < sources.length; i++) {
+      sourceFingerprints[i] = executor == null
+          ? sources[i].getFingerprint(environment)
+          : CompletableFutures.join(futures.get(i));
+
+      if (sourceFingerprints[i] == null) {
+        return null;
+      }
+    }
+
+    return combineFingerprints(sourceFingerprints);
+  }
+
+  /**
+   * Fetch configuration set for a given {@code environment} along with its fingerprint, see
+   * {@link #getConfiguration(Environment)} and {@link #getFingerprint(Environment)}. Each underlying source is fetched
+   * from with a single call that also returns its fingerprint, so the returned fingerprint always describes
+   * the returned configuration. The returned configuration is shared with this source and must not be modified.
+   *
+   * @param environment       environment to use
+   * @param cachedFingerprint fingerprint of configuration held by the caller or {@code null} when none
+   * @return fetched configuration or {@link FetchedConfiguration#unchanged(String)} when no underlying source changed
+   * @throws MissingEnvironmentException when requested environment couldn't be found
+   * @throws IllegalStateException       when unable to fetch configuration from one of the underlying sources
+   */
+  @Override
+  public FetchedConfiguration fetchConfiguration(Environment environment, String cachedFingerprint) {
+    if (executor != null) {
+      return CompletableFutures.join(fetchConfigurationAsync(environment, cachedFingerprint, executor));
+    }
+
+    MergeState state = getMergeState(environment);
+    FetchedConfiguration[] fetched = new FetchedConfiguration[sources.length];
+
+    for (int i = 0; i < sources.length; i++) {
+      fetched[i] = sources[i].fetchConfiguration(environment, state.getFingerprint(i));
+    }
+
+    return merge(environment, state, fetched, cachedFingerprint);
+  }
+
+  /**
+   * Asynchronously get configuration set for a given {@code environment}, see {@link #getConfiguration(Environment)}.
+   * Configuration is fetched from all underlying sources concurrently.
+   *
+   * @param environment environment to use
+   * @param executor    executor running blocking operations
+   * @return future completed with the merged configuration set for {@code environment}
+   */
+  @Override
+  public CompletableFuture<Properties> getConfigurationAsync(Environment environment, Executor executor) {
+    return fetchConfigurationAsync(environment, null, executor)
+        .thenApply(MergeConfigurationSource::copyOf);
+  }
+
+  /**
+   * Asynchronously fetch configuration set for a given {@code environment}, see
+   * {@link #fetchConfiguration(Environment, String)}. Configuration is fetched from all underlying sources concurrently.
+   *
+   * @param environment       environment to use
+   * @param cachedFingerprint fingerprint of configuration held by the caller or {@code null} when none
+   * @param executor          executor running blocking operations
+   * @return future completed with fetched configuration
+   */
+  @Override
+  public CompletableFuture<FetchedConfiguration> fetchConfigurationAsync(Environment environment, String cachedFingerprint,
+                                                                         Executor executor) {
+    MergeState state = getMergeState(environment);
+
+    List<CompletableFuture<FetchedConfiguration>> futures = new ArrayList<>();
+    for (int i = 0; i < sources.length; i++) {
+      futures.add(sources[i].fetchConfigurationAsync(environment, state.getFingerprint(i), executor));
+    }
+
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+        .thenApply(ignored -> {
+          FetchedConfiguration[] fetched = new FetchedConfiguration[sources.length];
+
+          for (int i = 0; i < sources.length; i++) {
+            fetched[i] = futures.get(i).join();
+          }
+
+          return merge(environment, state, fetched, cachedFingerprint);
+        });
   }
 
   @Override
   public void init() {
+    if (executor != null) {
+      CompletableFutures.join(initAsync(executor));
+      return;
+    }
+
     for (ConfigurationSource source : sources) {
       source.init();
     }
   }
 
+  /**
+   * Asynchronously initialize this source, see {@link #init()}. All underlying sources are initialized concurrently.
+   *
+   * @param executor executor running blocking operations
+   * @return future completed when all underlying sources are initialized
+   */
+  @Override
+  public CompletableFuture<Void> initAsync(Executor executor) {
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (ConfigurationSource source : sources) {
+      futures.add(source.initAsync(executor));
+    }
+
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+  }
+
+  private MergeState getMergeState(Environment environment) {
+    return mergeStatePerEnvironment.computeIfAbsent(environment.getName(), name -> new MergeState(sources.length));
+  }
+
+  /**
+   * Merge configurations {@code fetched} from underlying sources into {@code state} and keep the result, unless
+   * a concurrent merge has replaced {@code state} in the meantime.
+   */
+  private FetchedConfiguration merge(Environment environment, MergeState state, FetchedConfiguration[] fetched,
+                                     String cachedFingerprint) {
+    MergeState updated = state.update(fetched);
+    if (updated != state) {
+      mergeStatePerEnvironment.replace(environment.getName(), state, updated);
+    }
+
+    String fingerprint = updated.getMergedFingerprint();
+    if (fingerprint != null && fingerprint.equals(cachedFingerprint)) {
+      return FetchedConfiguration.unchanged(fingerprint);
+    }
+
+    return FetchedConfiguration.of(updated.merged, fingerprint);
+  }
+
+  /**
+   * @return fingerprint combining all (non-null) {@code sourceFingerprints}
+   */
+  private static String combineFingerprints(String[] sourceFingerprints) {
+    StringBuilder fingerprint = new StringBuilder();
+    for (String sourceFingerprint : sourceFingerprints) {
+      fingerprint.append(sourceFingerprint.length()).append(':').append(sourceFingerprint);
+    }
+
+    return fingerprint.toString();
+  }
+
+  private static Properties copyOf(FetchedConfiguration fetched) {
+    Properties properties = new Properties();
+    properties.putAll(fetched.getConfiguration());
+
+    return properties;
+  }
+
+  /**
+   * Configurations of all underlying sources for a single environment, fingerprints they were fetched with and
+   * the result of their merge. Instances are immutable, so each merge works on a consistent state no matter how
+   * many merges run concurrently.
+   */
+  private static final class MergeState {
+    private final Properties[] configurations;
+    private final String[] fingerprints;
+    private final Properties merged;
+
+    private MergeState(int sourceCount) {
+      this(new Properties[sourceCount], new String[sourceCount], new Properties());
+    }
+
+    private MergeState(Properties[] configurations, String[] fingerprints, Properties merged) {
+      this.configurations = configurations;
+      this.fingerprints = fingerprints;
+      this.merged = merged;
+    }
+
+    /**
+     * @return fingerprint of the kept configuration of source {@code index} or {@code null} when unknown
+     */
+    private String getFingerprint(int index) {
+      return configurations[index] == null ? null : fingerprints[index];
+    }
+
+    /**
+     * @return fingerprint of the merged configuration or {@code null} when any underlying fingerprint is unknown
+     */
+    private String getMergedFingerprint() {
+      for (String fingerprint : fingerprints) {
+        if (fingerprint == null) {
+          return null;
+        }
+      }
+
+      return combineFingerprints(fingerprints);
+    }
+
+    /**
+     * Create a state updated with configurations fetched from underlying sources. Only keys that changed in some
+     * source are resolved again. The merged configuration is shared with callers, so it's never modified - when any
+     * resolved value differs from the merged one, the merged configuration is copied once and all differences are
+     * applied to the copy. Sources returning new objects with the same content (e.g. sources without fingerprints)
+     * don't cause a copy.
+     *
+     * @param fetched configuration fetched from each source
+     * @return updated state or this state when nothing changed
+     */
+    private MergeState update(FetchedConfiguration[] fetched) {
+      Properties[] updatedConfigurations = configurations.clone();
+      String[] updatedFingerprints = new String[fingerprints.length];
+      boolean changed = false;
+
+      for (int i = 0; i < configurations.length; i++) {
+        updatedFingerprints[i] = fetched[i].getFingerprint();
+
+        if (fetched[i].isChanged() && fetched[i].getConfiguration() != configurations[i]) {
+          updatedConfigurations[i] = fetched[i].getConfiguration();
+          changed = true;
+        }
+      }
+
+      if (!changed) {
+        return Arrays.equals(fingerprints, updatedFingerprints)
+            ? this
+            : new MergeState(configurations, updatedFingerprints, merged);
+      }
+
+      Map<Object, Object> updatedValues = new HashMap<>();
+
+      for (int i = 0; i < configurations.length; i++) {
+        Properties previous = configurations[i];
+        Properties current = updatedConfigurations[i];
+
+        if (current == previous) {
+          continue;
+        }
+
+        for (Map.Entry<Object, Object> entry : current.entrySet()) {
+          if (previous == null || !entry.getValue().equals(previous.get(entry.getKey()))) {
+            resolve(updatedValues, updatedConfigurations, entry.getKey());
+          }
+        }
+
+        if (previous != null) {
+          for (Object key : previous.keySet()) {
+            if (!current.containsKey(key)) {
+              resolve(updatedValues, updatedConfigurations, key);
+            }
+          }
+        }
+      }
+
+      if (updatedValues.isEmpty()) {
+        return new MergeState(updatedConfigurations, updatedFingerprints, merged);
+      }
+
+      Properties updatedMerged = (Properties) merged.clone();
+      for (Map.Entry<Object, Object> entry : updatedValues.entrySet()) {
+        if (entry.getValue() == null) {
+          updatedMerged.remove(entry.getKey());
+        } else {
+          updatedMerged.put(entry.getKey(), entry.getValue());
+        }
+      }
+
+      return new MergeState(updatedConfigurations, updatedFingerprints, updatedMerged);
+    }
+
+    /**
+     * Resolve value of {@code key} from the last of {@code configurations} that has it and record it in
+     * {@code updatedValues} (with {@code null} value for keys to remove) when it differs from the merged one.
+     */
+    private void resolve(Map<Object, Object> updatedValues, Properties[] configurations, Object key) {
+      for (int i = configurations.length - 1; i >= 0; i--) {
+        Object value = configurations[i] == null ? null : configurations[i].get(key);
+
+        if (value != null) {
+          if (!value.equals(merged.get(key))) {
+            updatedValues.put(key, value);
+          }
+          return;
+        }
+      }
+
+      if (merged.containsKey(key)) {
+        updatedValues.put(key, null);
+      }
+    }
+  }
+
   @Override
   public String toString() {
     return "MergeConfigurationSource{" +
         "sources=" + Arrays.toString(sources) +
+        ", executor=" + executor +
         '}';
   }
 }
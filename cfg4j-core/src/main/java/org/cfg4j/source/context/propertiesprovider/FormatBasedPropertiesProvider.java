@@ -13,51 +13,105 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.cfg4j.source.context.propertiesprovider;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 abstract class FormatBasedPropertiesProvider implements PropertiesProvider {
 
+  private final KeyCache keyCache = new KeyCache();
+
   /**
-   * Flatten multi-level map.
+   * Put {@code value} into {@code destination} under the key held in {@code path}. Multi-level maps are flattened, keys
+   * of nested maps are joined with dots. Collections are stored as comma-separated lists, see
+   * {@link #toListElement(Object)}. The {@code path} is restored before this method returns.
    */
   @SuppressWarnings("unchecked")
-  Map<String, Object> flatten(Map<String, Object> source) {
-    Map<String, Object> result = new LinkedHashMap<>();
+  void flatten(StringBuilder path, Object value, Map<Object, Object> destination) {
+    if (value instanceof Map) {
+      int length = path.length();
 
-    for (String key : source.keySet()) {
-      Object value = source.get(key);
+      for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+        path.append('.').append(entry.getKey());
+        flatten(path, entry.getValue(), destination);
+        path.setLength(length);
+      }
+    } else if (value instanceof Collection) {
+      destination.put(toKey(path), toList((Collection<?>) value));
+    } else {
+      destination.put(toKey(path), value);
+    }
+  }
 
-      if (value instanceof Map) {
-        Map<String, Object> subMap = flatten((Map<String, Object>) value);
+  /**
+   * Key held in {@code path}. Keys seen in previously parsed documents are reused.
+   */
+  String toKey(CharSequence path) {
+    return keyCache.get(path);
+  }
 
-        for (String subkey : subMap.keySet()) {
-          result.put(key + "." + subkey, subMap.get(subkey));
-        }
-      } else if (value instanceof Collection) {
-        StringBuilder joiner = new StringBuilder();
-        String separator = "";
+  /**
+   * Let the key cache fit all keys of a parsed document.
+   */
+  void keysRead(int count) {
+    keyCache.ensureCapacity(count);
+  }
+
+  /**
+   * Representation of a collection element in a comma-separated list. Maps are represented by their first
+   * (flattened) value, collections by their comma-separated elements.
+   *
+   * @throws IllegalStateException when {@code element} is a map without values
+   */
+  @SuppressWarnings("unchecked")
+  String toListElement(Object element) {
+    if (element instanceof Map) {
+      String value = firstValue((Map<String, Object>) element);
 
-        for (Object element : ((Collection) value)) {
-          Map<String, Object> subMap = flatten(Collections.singletonMap(key, element));
-          joiner
-              .append(separator)
-              .append(subMap.entrySet().iterator().next().getValue().toString());
+      if (value == null) {
+        throw new IllegalStateException("Unable to represent an empty map as a list element");
+      }
 
-          separator = ",";
-        }
+      return value;
+    } else if (element instanceof Collection) {
+      return toList((Collection<?>) element);
+    }
 
-        result.put(key, joiner.toString());
+    return element.toString();
+  }
+
+  private String toList(Collection<?> collection) {
+    StringBuilder joiner = new StringBuilder();
+    String separator = "";
+
+    for (Object element : collection) {
+      joiner
+          .append(separator)
+          .append(toListElement(element));
+
+      separator = ",";
+    }
+
+    return joiner.toString();
+  }
+
+  @SuppressWarnings("unchecked")
+  private String firstValue(Map<String, Object> map) {
+    for (Object value : map.values()) {
+      if (value instanceof Map) {
+        String subValue = firstValue((Map<String, Object>) value);
+
+        if (subValue != null) {
+          return subValue;
+        }
+      } else if (value instanceof Collection) {
+        return toList((Collection<?>) value);
       } else {
-        result.put(key, value);
+        return value.toString();
       }
     }
 
-    return result;
+    return null;
   }
 }
@@ -24,12 +24,15 @@ import org.json.JSONTokener;
 
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 /**
- * {@link PropertiesProvider} that interprets given stream as JSON file.
+ * {@link PropertiesProvider} that interprets given stream as JSON file. The document is read token by token and
+ * flattened values are put directly into the resulting {@link Properties}, without building the document tree.
  */
 public class JsonBasedPropertiesProvider extends FormatBasedPropertiesProvider {
 
@@ -57,10 +60,8 @@ public class JsonBasedPropertiesProvider extends FormatBasedPropertiesProvider {
         properties.put("content", tokener.nextValue().toString());
       } else {
         tokener.back();
-        JSONObject obj = new JSONObject(tokener);
-
-        Map<String, Object> yamlAsMap = convertToMap(obj);
-        properties.putAll(flatten(yamlAsMap));
+        readObject(tokener, new StringBuilder(), false, properties);
+        keysRead(properties.size());
       }
 
       return properties;
@@ -70,6 +71,130 @@ public class JsonBasedPropertiesProvider extends FormatBasedPropertiesProvider {
     }
   }
 
+  /**
+   * Read JSON object from {@code tokener} and put its flattened values into {@code destination}. Keys of a
+   * {@code nested} object are prefixed with {@code path}. Accepts the same syntax as
+   * {@link JSONObject#JSONObject(JSONTokener)}.
+   */
+  private void readObject(JSONTokener tokener, StringBuilder path, boolean nested, Map<Object, Object> destination) {
+    if (tokener.nextClean() != '{') {
+      throw tokener.syntaxError("A JSONObject text must begin with '{'");
+    }
+
+    Set<String> keys = new HashSet<>();
+    int length = path.length();
+
+    for (;;) {
+      char c = tokener.nextClean();
+
+      if (c == 0) {
+        throw tokener.syntaxError("A JSONObject text must end with '}'");
+      } else if (c == '}') {
+        return;
+      }
+
+      tokener.back();
+      String key = tokener.nextValue().toString();
+
+      if (tokener.nextClean() != ':') {
+        throw tokener.syntaxError("Expected a ':' after a key");
+      }
+
+      if (!keys.add(key)) {
+        throw tokener.syntaxError("Duplicate key \"" + key + "\"");
+      }
+
+      if (nested) {
+        path.append('.');
+      }
+      readValue(tokener, path.append(key), destination);
+      path.setLength(length);
+
+      switch (tokener.nextClean()) {
+        case ';':
+        case ',':
+          if (tokener.nextClean() == '}') {
+            return;
+          }
+          tokener.back();
+          break;
+        case '}':
+          return;
+        default:
+          throw tokener.syntaxError("Expected a ',' or '}'");
+      }
+    }
+  }
+
+  private void readValue(JSONTokener tokener, StringBuilder path, Map<Object, Object> destination) {
+    char c = tokener.nextClean();
+    tokener.back();
+
+    if (c == '{') {
+      readObject(tokener, path, true, destination);
+    } else if (c == '[') {
+      destination.put(toKey(path), readArray(tokener));
+    } else {
+      destination.put(toKey(path), tokener.nextValue());
+    }
+  }
+
+  /**
+   * Read JSON array from {@code tokener} as a comma-separated list. Accepts the same syntax as
+   * {@link JSONArray#JSONArray(JSONTokener)}.
+   */
+  private String readArray(JSONTokener tokener) {
+    if (tokener.nextClean() != '[') {
+      throw tokener.syntaxError("A JSONArray text must start with '['");
+    }
+
+    char c = tokener.nextClean();
+    if (c == 0) {
+      throw tokener.syntaxError("Expected a ',' or ']'");
+    } else if (c == ']') {
+      return "";
+    }
+    tokener.back();
+
+    StringBuilder joiner = new StringBuilder();
+    String separator = "";
+
+    for (;;) {
+      joiner.append(separator);
+      separator = ",";
+
+      c = tokener.nextClean();
+      tokener.back();
+
+      if (c == ',') {
+        joiner.append(JSONObject.NULL);
+      } else if (c == '{') {
+        joiner.append(toListElement(convertToMap(new JSONObject(tokener))));
+      } else {
+        // Nested arrays are represented by their JSON text
+        joiner.append(tokener.nextValue());
+      }
+
+      switch (tokener.nextClean()) {
+        case 0:
+          throw tokener.syntaxError("Expected a ',' or ']'");
+        case ',':
+          c = tokener.nextClean();
+          if (c == 0) {
+            throw tokener.syntaxError("Expected a ',' or ']'");
+          } else if (c == ']') {
+            return joiner.toString();
+          }
+          tokener.back();
+          break;
+        case ']':
+          return joiner.toString();
+        default:
+          throw tokener.syntaxError("Expected a ',' or ']'");
+      }
+    }
+  }
+
   /**
    * Convert given Json document to a multi-level map.
    */
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.context.propertiesprovider;
+
+/**
+ * Cache of configuration keys. Keys are looked up by content, so that a key built in a reusable buffer is turned into
+ * a {@link String} only the first time it's seen. Parsing the same document again reuses cached instances instead of
+ * allocating new ones.
+ * <p>
+ * Each key can be kept in one of two slots, a new key evicts an older one when both are taken. This class is
+ * thread-safe without locking: racing threads may only cause a cache miss.
+ */
+final class KeyCache {
+
+  private static final int MIN_CAPACITY = 1 << 10;
+  private static final int MAX_CAPACITY = 1 << 18;
+
+  private volatile String[] keys = new String[MIN_CAPACITY];
+
+  /**
+   * Get a key with the same content as {@code key}.
+   *
+   * @param key key content
+   * @return cached key equal to {@code key} or a new one if none was cached
+   */
+  String get(CharSequence key) {
+    String[] table = keys;
+    int mask = table.length - 1;
+    int index = indexFor(hash(key), mask);
+    int nextIndex = (index + 1) & mask;
+
+    String cached = table[index];
+    if (cached != null && cached.contentEquals(key)) {
+      return cached;
+    }
+
+    String next = table[nextIndex];
+    if (next != null && next.contentEquals(key)) {
+      return next;
+    }
+
+    String created = key.toString();
+    table[cached == null || next != null ? index : nextIndex] = created;
+
+    return created;
+  }
+
+  /**
+   * Grow the cache so that it can hold {@code size} keys with few evictions.
+   *
+   * @param size number of keys in a parsed document
+   */
+  void ensureCapacity(int size) {
+    String[] table = keys;
+    int capacity = Math.min(MAX_CAPACITY, Integer.highestOneBit(Math.max(size, 1) * 4 - 1) << 1);
+
+    if (capacity <= table.length) {
+      return;
+    }
+
+    String[] grown = new String[capacity];
+    for (String key : table) {
+      if (key != null) {
+        grown[indexFor(key.hashCode(), capacity - 1)] = key;
+      }
+    }
+
+    keys = grown;
+  }
+
+  /**
+   * Same as {@link String#hashCode()} of {@code key}.
+   */
+  private static int hash(CharSequence key) {
+    int hash = 0;
+    for (int i = 0; i < key.length(); i++) {
+      hash = 31 * hash + key.charAt(i);
+    }
+
+    return hash;
+  }
+
+  private static int indexFor(int hash, int mask) {
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+}
@@ -13,26 +13,47 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.cfg4j.source.context.propertiesprovider;
 
 import static java.util.Objects.requireNonNull;
 
 import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.CollectionEndEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
 import org.yaml.snakeyaml.reader.UnicodeReader;
-import org.yaml.snakeyaml.scanner.ScannerException;
+import org.yaml.snakeyaml.resolver.Resolver;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 /**
- * {@link PropertiesProvider} that interprets given stream as YAML file.
+ * {@link PropertiesProvider} that interprets given stream as YAML file. The document is read as a stream of parser
+ * events and flattened values are put directly into the resulting {@link Properties}, without building the document
+ * tree. Only anchored nodes are kept in memory, so that aliases can be resolved.
+ * <p>
+ * The result is the same as flattening the document loaded with {@link Yaml#load(Reader)}: of duplicate keys in
+ * a mapping the last one wins, together with all its nested keys. Streams with more than one document and lists
+ * containing empty mappings can't be represented and are rejected with {@link IllegalStateException}.
  */
 public class YamlBasedPropertiesProvider extends FormatBasedPropertiesProvider {
 
@@ -47,57 +68,393 @@ public class YamlBasedPropertiesProvider extends FormatBasedPropertiesProvider {
   public Properties getProperties(InputStream inputStream) {
     requireNonNull(inputStream);
 
-    Yaml yaml = new Yaml();
-
     Properties properties = new Properties();
 
     try (Reader reader = new UnicodeReader(inputStream)) {
 
-      Object object = yaml.load(reader);
-
-      if (object != null) {
-        Map<String, Object> yamlAsMap = convertToMap(object);
-        properties.putAll(flatten(yamlAsMap));
-      }
+      new EventReader(new Yaml().parse(reader).iterator(), properties).readStream();
+      keysRead(properties.size());
 
       return properties;
 
-    } catch (IOException | ScannerException e) {
+    } catch (IOException | YAMLException e) {
       throw new IllegalStateException("Unable to load yaml configuration from provided stream", e);
     }
   }
 
   /**
-   * Convert given Yaml document to a multi-level map.
+   * Flattens parser events of a single YAML stream into the destination map.
    */
-  @SuppressWarnings("unchecked")
-  private Map<String, Object> convertToMap(Object yamlDocument) {
+  private final class EventReader {
+    private final Iterator<Event> stream;
+    private final Map<Object, Object> destination;
+    private final Resolver resolver;
+    private final ScalarConstructor constructor;
+    private final Map<String, List<Event>> anchors;
+    private final List<Recording> recordings;
+    private final StringBuilder path;
+
+    private EventReader(Iterator<Event> stream, Map<Object, Object> destination) {
+      this.stream = stream;
+      this.destination = destination;
+
+      resolver = new Resolver();
+      constructor = new ScalarConstructor();
+      anchors = new HashMap<>();
+      recordings = new ArrayList<>();
+      path = new StringBuilder();
+    }
+
+    private void readStream() {
+      expect(next(stream), Event.ID.StreamStart);
 
-    Map<String, Object> yamlMap = new LinkedHashMap<>();
+      Event event = next(stream);
+      if (event.is(Event.ID.StreamEnd)) {
+        return;
+      }
+      expect(event, Event.ID.DocumentStart);
+
+      readDocument(next(stream));
 
-    // Document is a text block
-    if (!(yamlDocument instanceof Map)) {
-      yamlMap.put("content", yamlDocument);
-      return yamlMap;
+      expect(next(stream), Event.ID.DocumentEnd);
+      if (!next(stream).is(Event.ID.StreamEnd)) {
+        throw new IllegalStateException("Expected a single document in the stream");
+      }
     }
 
-    for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) yamlDocument).entrySet()) {
-      Object value = entry.getValue();
+    /**
+     * Documents other than maps are stored under the "content" key.
+     */
+    private void readDocument(Event event) {
+      if (event.is(Event.ID.MappingStart)) {
+        readMapping(stream, false);
+      } else if (event.is(Event.ID.SequenceStart)) {
+        destination.put("content", readSequence(stream));
+      } else {
+        Object value = toScalar((ScalarEvent) event);
+
+        if (value != null) {
+          destination.put("content", value);
+        }
+      }
+    }
+
+    /**
+     * Put flattened value of the node starting with {@code event} into the destination under the current path.
+     */
+    private void readValue(Iterator<Event> events, Event event) {
+      if (event.is(Event.ID.Alias)) {
+        Iterator<Event> replay = replay((AliasEvent) event);
+        readValue(replay, replay.next());
+      } else if (event.is(Event.ID.MappingStart)) {
+        readMapping(events, true);
+      } else if (event.is(Event.ID.SequenceStart)) {
+        destination.put(toKey(path), readSequence(events));
+      } else {
+        destination.put(toKey(path), toScalar((ScalarEvent) event));
+      }
+    }
+
+    /**
+     * Read mapping entries up to the end of the mapping and put their flattened values into the destination. Keys of
+     * a {@code nested} mapping are prefixed with the current path. Entries of merged mappings (the "&lt;&lt;" key) are
+     * overridden by the mapping's own entries, and entries of earlier merged mappings override the ones of later
+     * mappings.
+     */
+    private void readMapping(Iterator<Event> events, boolean nested) {
+      int length = path.length();
+      Set<String> keys = new HashSet<>();
+      Map<String, Object> mergedValues = null;
+
+      Event event;
+      while (!(event = next(events)).is(Event.ID.MappingEnd)) {
+        if (isMergeKey(event)) {
+          if (mergedValues == null) {
+            mergedValues = new HashMap<>();
+          }
+
+          for (Map.Entry<String, Object> entry : toMergedMapping(events, next(events)).entrySet()) {
+            if (!keys.contains(entry.getKey()) && !mergedValues.containsKey(entry.getKey())) {
+              mergedValues.put(entry.getKey(), entry.getValue());
+              flatten(appendToPath(nested, entry.getKey()), entry.getValue(), destination);
+              path.setLength(length);
+            }
+          }
+
+          continue;
+        }
+
+        String key = readKey(events, event);
+
+        appendToPath(nested, key);
+
+        if (mergedValues != null && mergedValues.containsKey(key)) {
+          remove(mergedValues.remove(key));
+        }
+
+        if (!keys.add(key)) {
+          removeAllUnderPath();
+        }
+
+        readValue(events, next(events));
+        path.setLength(length);
+      }
+    }
+
+    private StringBuilder appendToPath(boolean nested, String key) {
+      if (nested) {
+        path.append('.');
+      }
+
+      return path.append(key);
+    }
+
+    /**
+     * Read sequence elements up to the end of the sequence as a comma-separated list.
+     */
+    private String readSequence(Iterator<Event> events) {
+      StringBuilder joiner = new StringBuilder();
+      String separator = "";
+
+      Event event;
+      while (!(event = next(events)).is(Event.ID.SequenceEnd)) {
+        joiner
+            .append(separator)
+            .append(readListElement(events, event));
+
+        separator = ",";
+      }
+
+      return joiner.toString();
+    }
+
+    private String readListElement(Iterator<Event> events, Event event) {
+      if (event.is(Event.ID.Alias)) {
+        Iterator<Event> replay = replay((AliasEvent) event);
+        return readListElement(replay, replay.next());
+      } else if (event.is(Event.ID.SequenceStart)) {
+        return readSequence(events);
+      } else if (event.is(Event.ID.MappingStart)) {
+        return toListElement(toObject(events, event));
+      }
+
+      return toScalar((ScalarEvent) event).toString();
+    }
+
+    /**
+     * Build the node starting with {@code event} the way {@link Yaml#load(Reader)} would, with mapping keys
+     * converted to strings. Used for nodes which can't be flattened on the fly.
+     */
+    private Object toObject(Iterator<Event> events, Event event) {
+      if (event.is(Event.ID.Alias)) {
+        Iterator<Event> replay = replay((AliasEvent) event);
+        return toObject(replay, replay.next());
+      } else if (event.is(Event.ID.SequenceStart)) {
+        List<Object> list = new ArrayList<>();
+
+        while (!(event = next(events)).is(Event.ID.SequenceEnd)) {
+          list.add(toObject(events, event));
+        }
+
+        return list;
+      } else if (event.is(Event.ID.MappingStart)) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        Map<String, Object> mergedValues = new LinkedHashMap<>();
+
+        while (!(event = next(events)).is(Event.ID.MappingEnd)) {
+          if (isMergeKey(event)) {
+            for (Map.Entry<String, Object> entry : toMergedMapping(events, next(events)).entrySet()) {
+              mergedValues.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+          } else {
+            String key = readKey(events, event);
+            map.put(key, toObject(events, next(events)));
+          }
+        }
+
+        if (mergedValues.isEmpty()) {
+          return map;
+        }
+
+        mergedValues.putAll(map);
+        return mergedValues;
+      }
+
+      return toScalar((ScalarEvent) event);
+    }
+
+    /**
+     * Build the value of a merge key: a mapping or a sequence of mappings. Entries of earlier mappings in the sequence
+     * take precedence.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> toMergedMapping(Iterator<Event> events, Event event) {
+      Object value = toObject(events, event);
 
       if (value instanceof Map) {
-        value = convertToMap(value);
-      } else if (value instanceof Collection) {
-        ArrayList<Map<String, Object>> collection = new ArrayList<>();
+        return (Map<String, Object>) value;
+      } else if (value instanceof List) {
+        Map<String, Object> merged = new LinkedHashMap<>();
+
+        for (Object element : (List<Object>) value) {
+          if (!(element instanceof Map)) {
+            throw new IllegalStateException("Expected a mapping for merging, but found " + element);
+          }
 
-        for (Object element : ((Collection) value)) {
-          collection.add(convertToMap(element));
+          for (Map.Entry<String, Object> entry : ((Map<String, Object>) element).entrySet()) {
+            merged.putIfAbsent(entry.getKey(), entry.getValue());
+          }
         }
 
-        value = collection;
+        return merged;
       }
 
-      yamlMap.put(entry.getKey().toString(), value);
+      throw new IllegalStateException("Expected a mapping or list of mappings for merging, but found " + value);
+    }
+
+    /**
+     * Remove flattened {@code value} stored under the current path from the destination.
+     */
+    @SuppressWarnings("unchecked")
+    private void remove(Object value) {
+      if (value instanceof Map) {
+        int length = path.length();
+
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+          path.append('.').append(entry.getKey());
+          remove(entry.getValue());
+          path.setLength(length);
+        }
+      } else {
+        destination.remove(toKey(path));
+      }
+    }
+
+    /**
+     * Remove the value stored under the current path from the destination, along with all values nested in it.
+     */
+    private void removeAllUnderPath() {
+      String key = toKey(path);
+      String prefix = key + ".";
+
+      destination.keySet().removeIf(k -> k.equals(key) || k.toString().startsWith(prefix));
+    }
+
+    private String readKey(Iterator<Event> events, Event event) {
+      return toObject(events, event).toString();
+    }
+
+    private boolean isMergeKey(Event event) {
+      return event.is(Event.ID.Scalar) && Tag.MERGE.equals(getTag((ScalarEvent) event));
+    }
+
+    private Object toScalar(ScalarEvent event) {
+      Tag tag = getTag(event);
+
+      if (Tag.STR.equals(tag)) {
+        return event.getValue();
+      }
+
+      return constructor.construct(
+          new ScalarNode(tag, event.getValue(), event.getStartMark(), event.getEndMark(), event.getScalarStyle()));
+    }
+
+    private Tag getTag(ScalarEvent event) {
+      String tag = event.getTag();
+
+      if (tag == null || tag.equals("!")) {
+        return resolver.resolve(NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar());
+      }
+
+      return new Tag(tag);
+    }
+
+    private Iterator<Event> replay(AliasEvent event) {
+      List<Event> anchored = anchors.get(event.getAnchor());
+
+      if (anchored == null) {
+        throw new IllegalStateException("Found undefined alias " + event.getAnchor());
+      }
+
+      return anchored.iterator();
+    }
+
+    /**
+     * Next event from {@code events}. Events of anchored nodes read from the stream are recorded, so that they can be
+     * replayed for aliases.
+     */
+    private Event next(Iterator<Event> events) {
+      Event event = events.next();
+
+      if (events != stream) {
+        return event;
+      }
+
+      for (Recording recording : recordings) {
+        recording.add(event);
+      }
+
+      String anchor = event instanceof NodeEvent && !event.is(Event.ID.Alias) ? ((NodeEvent) event).getAnchor() : null;
+      if (anchor != null) {
+        if (event.is(Event.ID.Scalar)) {
+          anchors.put(anchor, Collections.singletonList(event));
+        } else {
+          Recording recording = new Recording(anchor);
+          recording.add(event);
+          recordings.add(recording);
+        }
+      }
+
+      while (!recordings.isEmpty() && recordings.get(recordings.size() - 1).isComplete()) {
+        Recording recording = recordings.remove(recordings.size() - 1);
+        anchors.put(recording.anchor, recording.events);
+      }
+
+      return event;
+    }
+
+    private void expect(Event event, Event.ID id) {
+      if (!event.is(id)) {
+        throw new IllegalStateException("Expected " + id + " but found " + event);
+      }
+    }
+  }
+
+  /**
+   * Events of an anchored node.
+   */
+  private static final class Recording {
+    private final String anchor;
+    private final List<Event> events;
+    private int depth;
+
+    private Recording(String anchor) {
+      this.anchor = anchor;
+      events = new ArrayList<>();
+    }
+
+    private void add(Event event) {
+      events.add(event);
+
+      if (event instanceof CollectionStartEvent) {
+        depth++;
+      } else if (event instanceof CollectionEndEvent) {
+        depth--;
+      }
+    }
+
+    private boolean isComplete() {
+      return depth == 0;
+    }
+  }
+
+  /**
+   * Constructs scalar values the same way as {@link Yaml#load(Reader)} does.
+   */
+  private static final class ScalarConstructor extends SafeConstructor {
+
+    private Object construct(ScalarNode node) {
+      return getConstructor(node).construct(node);
     }
-    return yamlMap;
   }
-}
\ No newline at end of file
+}
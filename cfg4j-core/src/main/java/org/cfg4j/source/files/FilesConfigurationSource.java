@@ -27,23 +27,38 @@ import org.cfg4j.source.context.propertiesprovider.PropertiesProviderSelector;
 import org.cfg4j.source.context.propertiesprovider.PropertyBasedPropertiesProvider;
 import org.cfg4j.source.context.propertiesprovider.YamlBasedPropertiesProvider;
 
-import java.io.FileInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
 
 /**
- * {@link ConfigurationSource} reading configuration from local files.
+ * {@link ConfigurationSource} reading configuration from local files. Parsed content of each file is kept together with
+ * its modification time, size and content checksum (see {@link ParsedFile}). A file is read again only when its
+ * modification time or size changes or is too recent to be trusted, and parsed again only when its content changes.
+ * Only files currently supplied by {@link ConfigFilesProvider} are kept. Environments watched by
+ * {@link FilesWatchReloadStrategy} are served from files parsed by the strategy, without reading them again.
  */
 public class FilesConfigurationSource implements ConfigurationSource {
 
   private final ConfigFilesProvider configFilesProvider;
   private final PropertiesProviderSelector propertiesProviderSelector;
+  private final Map<Path, Map<Path, ParsedFile>> parsedFiles;
+  private final Map<Path, WatchedFiles> watchedFiles;
+  private final AtomicLong watchedFilesVersion;
 
   /**
    * Construct {@link ConfigurationSource} backed by files. Uses "application.properties" file
@@ -82,13 +97,17 @@ public class FilesConfigurationSource implements ConfigurationSource {
   public FilesConfigurationSource(ConfigFilesProvider configFilesProvider, PropertiesProviderSelector propertiesProviderSelector) {
     this.configFilesProvider = requireNonNull(configFilesProvider);
     this.propertiesProviderSelector = requireNonNull(propertiesProviderSelector);
+    parsedFiles = new ConcurrentHashMap<>();
+    watchedFiles = new ConcurrentHashMap<>();
+    watchedFilesVersion = new AtomicLong();
   }
 
   /**
    * Get configuration set for a given {@code environment} from this source in a form of {@link Properties}.
    * {@link Environment} name is prepended to all file paths from {@link ConfigFilesProvider}
    * to form an absolute configuration file path. If environment name is empty paths are treated as relative
-   * to the user's home directory location.
+   * to the user's home directory location. Only files that changed since they were last read are parsed, and their
+   * properties are composed in the order supplied by {@link ConfigFilesProvider}.
    *
    * @param environment environment to use
    * @return configuration set for {@code environment}
@@ -99,34 +118,56 @@ public class FilesConfigurationSource implements ConfigurationSource {
   public Properties getConfiguration(Environment environment) {
     Properties properties = new Properties();
 
-    Path rootPath;
-    if (environment.getName().trim().isEmpty()) {
-      rootPath = Paths.get(System.getProperty("user.home"));
-    } else {
-      rootPath = Paths.get(environment.getName());
+    Path rootPath = getRootPath(environment);
+
+    WatchedFiles watched = watchedFiles.get(rootPath);
+    if (watched != null) {
+      properties.putAll(watched.properties);
+
+      return properties;
     }
 
     if (!rootPath.toFile().exists()) {
+      parsedFiles.remove(rootPath);
       throw new MissingEnvironmentException("Directory doesn't exist: " + rootPath);
     }
 
-    List<Path> paths = new ArrayList<>();
-    for (Path path : configFilesProvider.getConfigFiles()) {
-      paths.add(rootPath.resolve(path));
+    for (ParsedFile parsedFile : getParsedFiles(rootPath, false).values()) {
+      properties.putAll(parsedFile.getProperties());
     }
 
-    for (Path path : paths) {
-      try (InputStream input = new FileInputStream(path.toFile())) {
+    return properties;
+  }
+
+  /**
+   * Get a fingerprint of the configuration files for a given {@code environment}. The fingerprint consists of
+   * modification time, size and content checksum of each file. Files are read only when their parsed content can't be
+   * reused (see {@link #getConfiguration(Environment)}), and changed files are parsed so that the following
+   * {@link #getConfiguration(Environment)} call doesn't read them again.
+   * For watched environments it's the version of files pushed by {@link FilesWatchReloadStrategy}. Versions are never
+   * reused by this source, also after watching stops and starts again.
+   *
+   * @param environment environment to use
+   * @return fingerprint of the configuration files or {@code null} when any of them can't be read or parsed
+   */
+  @Override
+  public String getFingerprint(Environment environment) {
+    WatchedFiles watched = watchedFiles.get(getRootPath(environment));
+    if (watched != null) {
+      return Long.toString(watched.version);
+    }
 
-        PropertiesProvider provider = propertiesProviderSelector.getProvider(path.getFileName().toString());
-        properties.putAll(provider.getProperties(input));
+    StringBuilder fingerprint = new StringBuilder();
 
-      } catch (IOException e) {
-        throw new IllegalStateException("Unable to load properties from file: " + path, e);
+    try {
+      for (ParsedFile parsedFile : getParsedFiles(getRootPath(environment), false).values()) {
+        fingerprint.append(parsedFile.getFingerprint()).append(';');
       }
+    } catch (IllegalStateException e) {
+      return null;
     }
 
-    return properties;
+    return fingerprint.toString();
   }
 
   @Override
@@ -134,6 +175,140 @@ public class FilesConfigurationSource implements ConfigurationSource {
     // NOP
   }
 
+  /**
+   * Serve configuration for {@code rootPath} from parsed files until {@link #stopWatching(Path)} is called. Files
+   * not present in {@code changedFiles} keep their previously provided content. Files are composed in the order
+   * supplied by {@link ConfigFilesProvider}.
+   *
+   * @param rootPath     watched environment directory
+   * @param changedFiles parsed content of files that changed since the previous call, keyed by file path
+   */
+  void updateWatchedFiles(Path rootPath, Map<Path, Properties> changedFiles) {
+    synchronized (this) {
+      WatchedFiles previous = watchedFiles.get(rootPath);
+
+      Map<Path, Properties> files = new HashMap<>();
+      if (previous != null) {
+        files.putAll(previous.files);
+      }
+      files.putAll(changedFiles);
+
+      Properties properties = new Properties();
+      for (Path path : getConfigFilePaths(rootPath)) {
+        Properties fileProperties = files.get(path);
+        if (fileProperties != null) {
+          properties.putAll(fileProperties);
+        }
+      }
+
+      watchedFiles.put(rootPath, new WatchedFiles(files, properties, watchedFilesVersion.incrementAndGet()));
+    }
+  }
+
+  /**
+   * Stop serving configuration for {@code rootPath} from files provided to {@link #updateWatchedFiles(Path, Map)}.
+   *
+   * @param rootPath watched environment directory
+   */
+  void stopWatching(Path rootPath) {
+    watchedFiles.remove(rootPath);
+  }
+
+  /**
+   * Get parsed content of the configuration files for {@code rootPath}. Previously parsed content of a file is reused
+   * when its validators are valid for the file (see {@link ParsedFile#isValid(BasicFileAttributes)}) and
+   * {@code verifyContent} is false. Otherwise the file is read, and parsed only when its checksum differs. Parsed
+   * content of files that are no longer supplied by {@link ConfigFilesProvider} is dropped.
+   *
+   * @param rootPath      environment directory
+   * @param verifyContent whether to read files even when their modification time and size didn't change
+   * @return parsed files in the order supplied by {@link ConfigFilesProvider}, keyed by file path
+   * @throws IllegalStateException when unable to read or parse any of the files
+   */
+  Map<Path, ParsedFile> getParsedFiles(Path rootPath, boolean verifyContent) {
+    Map<Path, ParsedFile> previousFiles = parsedFiles.getOrDefault(rootPath, Collections.emptyMap());
+    Map<Path, ParsedFile> files = new LinkedHashMap<>();
+
+    for (Path path : getConfigFilePaths(rootPath)) {
+      try {
+
+        files.put(path, getParsedFile(path, previousFiles.get(path), verifyContent));
+
+      } catch (IOException e) {
+        throw new IllegalStateException("Unable to load properties from file: " + path, e);
+      }
+    }
+
+    parsedFiles.put(rootPath, files);
+
+    return files;
+  }
+
+  /**
+   * Get parsed content of the file located at {@code path}, reusing {@code previous} content when possible.
+   *
+   * @throws IOException           when unable to read the file
+   * @throws IllegalStateException when unable to parse the file
+   */
+  private ParsedFile getParsedFile(Path path, ParsedFile previous, boolean verifyContent) throws IOException {
+    long readTimeMillis = System.currentTimeMillis();
+    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+    if (previous != null && !verifyContent && previous.isValid(attributes)) {
+      return previous;
+    }
+
+    byte[] content = Files.readAllBytes(path);
+
+    CRC32 checksum = new CRC32();
+    checksum.update(content, 0, content.length);
+
+    Properties properties = previous != null && previous.getChecksum() == checksum.getValue()
+        ? previous.getProperties()
+        : parse(path, new ByteArrayInputStream(content));
+
+    return new ParsedFile(attributes, checksum.getValue(), readTimeMillis, properties);
+  }
+
+  /**
+   * Parse {@code input} holding the content of the configuration file located at {@code path}.
+   *
+   * @throws IllegalStateException when unable to parse {@code input}
+   */
+  Properties parse(Path path, InputStream input) {
+    PropertiesProvider provider = propertiesProviderSelector.getProvider(path.getFileName().toString());
+    return provider.getProperties(input);
+  }
+
+  Path getRootPath(Environment environment) {
+    if (environment.getName().trim().isEmpty()) {
+      return Paths.get(System.getProperty("user.home"));
+    }
+
+    return Paths.get(environment.getName());
+  }
+
+  List<Path> getConfigFilePaths(Path rootPath) {
+    List<Path> paths = new ArrayList<>();
+    for (Path path : configFilesProvider.getConfigFiles()) {
+      paths.add(rootPath.resolve(path));
+    }
+
+    return paths;
+  }
+
+  private static final class WatchedFiles {
+    private final Map<Path, Properties> files;
+    private final Properties properties;
+    private final long version;
+
+    private WatchedFiles(Map<Path, Properties> files, Properties properties, long version) {
+      this.files = files;
+      this.properties = properties;
+      this.version = version;
+    }
+  }
+
   @Override
   public String toString() {
     return "FilesConfigurationSource{" +
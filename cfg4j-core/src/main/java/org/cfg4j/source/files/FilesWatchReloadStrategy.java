@@ -0,0 +1,301 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.files;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.reload.ReloadStrategy;
+import org.cfg4j.source.reload.Reloadable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ReloadStrategy} that watches configuration files of a single environment of a {@link FilesConfigurationSource}
+ * using {@link WatchService}. Directories holding the files are watched rather than the files themselves, so files
+ * replaced by a rename or a symbolic link swap (e.g. Kubernetes ConfigMap volumes) are noticed too. Whenever files
+ * change, only the modified ones are parsed again and pushed to the source, and all registered resources are
+ * reloaded. Files are parsed using the source, so they share parsed content and its validators with it. While watched, the source serves that environment from pushed files without reading them. It spawns a
+ * daemon thread that runs while at least one resource is registered.
+ * <p>
+ * Modification time and size of files are also checked every poll interval in case some change wasn't reported.
+ * When {@link WatchService} isn't available (or isn't used) files are polled instead, comparing their content too.
+ */
+public class FilesWatchReloadStrategy implements ReloadStrategy {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FilesWatchReloadStrategy.class);
+
+  private final FilesConfigurationSource source;
+  private final Path rootPath;
+  private final long pollIntervalMillis;
+  private final boolean useWatchService;
+  private final Set<Reloadable> resources;
+  private Thread watcher;
+
+  /**
+   * Construct strategy watching {@code environment} of {@code source} using {@link WatchService}. Files are also
+   * checked every 5 seconds.
+   *
+   * @param source      source to watch
+   * @param environment environment to watch
+   */
+  public FilesWatchReloadStrategy(FilesConfigurationSource source, Environment environment) {
+    this(source, environment, 5, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Construct strategy watching {@code environment} of {@code source} using {@link WatchService}. Files are also
+   * checked every {@code pollInterval} (measured in {@code timeUnit}s).
+   *
+   * @param source       source to watch
+   * @param environment  environment to watch
+   * @param pollInterval time (in {@code timeUnit}) between checks of files when no change is reported
+   * @param timeUnit     time unit to use
+   */
+  public FilesWatchReloadStrategy(FilesConfigurationSource source, Environment environment, long pollInterval, TimeUnit timeUnit) {
+    this(source, environment, pollInterval, timeUnit, true);
+  }
+
+  /**
+   * Construct strategy watching {@code environment} of {@code source}. Files are checked every {@code pollInterval}
+   * (measured in {@code timeUnit}s) and, when {@code useWatchService} is true, whenever {@link WatchService} reports
+   * a change in their directories. Use polling only for file systems that don't report changes (e.g. network file
+   * systems).
+   *
+   * @param source          source to watch
+   * @param environment     environment to watch
+   * @param pollInterval    time (in {@code timeUnit}) between checks of files when no change is reported
+   * @param timeUnit        time unit to use
+   * @param useWatchService whether to watch directories using {@link WatchService} or only poll files
+   */
+  public FilesWatchReloadStrategy(FilesConfigurationSource source, Environment environment, long pollInterval, TimeUnit timeUnit,
+                                  boolean useWatchService) {
+    this.source = requireNonNull(source);
+    rootPath = source.getRootPath(requireNonNull(environment));
+    pollIntervalMillis = Math.max(1, requireNonNull(timeUnit).toMillis(pollInterval));
+    this.useWatchService = useWatchService;
+    resources = new CopyOnWriteArraySet<>();
+  }
+
+  @Override
+  public void register(Reloadable resource) {
+    LOG.debug("Registering resource " + resource + " for changes of files in: " + rootPath);
+
+    resources.add(resource);
+
+    synchronized (this) {
+      if (watcher == null) {
+        watcher = new Thread(this::watch, "cfg4j-files-watch-" + rootPath);
+        watcher.setDaemon(true);
+        watcher.start();
+      }
+    }
+  }
+
+  @Override
+  public void deregister(Reloadable resource) {
+    LOG.debug("De-registering resource " + resource);
+
+    resources.remove(resource);
+
+    synchronized (this) {
+      if (resources.isEmpty() && watcher != null) {
+        watcher.interrupt();
+        watcher = null;
+        source.stopWatching(rootPath);
+      }
+    }
+  }
+
+  private void watch() {
+    WatchService watchService = useWatchService ? newWatchService() : null;
+    Set<Path> watchedDirectories = new HashSet<>();
+    Map<Path, Properties> pushedFiles = new HashMap<>();
+    boolean verifyContent = true;
+
+    try {
+      while (isCurrentWatcher()) {
+        try {
+          if (watchService != null) {
+            watchDirectories(watchService, watchedDirectories);
+          }
+
+          if (!update(pushedFiles, verifyContent)) {
+            return;
+          }
+        } catch (Exception e) {
+          LOG.warn("Reading files in " + rootPath + " failed. Will re-try at the next change or in " + pollIntervalMillis + " ms.", e);
+        }
+
+        try {
+          verifyContent = awaitChanges(watchService, watchedDirectories);
+        } catch (InterruptedException e) {
+          return;
+        }
+      }
+    } finally {
+      if (watchService != null) {
+        try {
+          watchService.close();
+        } catch (IOException e) {
+          LOG.debug("Unable to close watch service", e);
+        }
+      }
+    }
+  }
+
+  private WatchService newWatchService() {
+    try {
+      return rootPath.getFileSystem().newWatchService();
+    } catch (IOException | UnsupportedOperationException e) {
+      LOG.info("Watch service isn't available for " + rootPath + ". Will poll files every " + pollIntervalMillis + " ms.", e);
+      return null;
+    }
+  }
+
+  /**
+   * Register directories holding the configuration files that aren't watched yet. Directories that can't be watched
+   * (e.g. don't exist yet) are re-tried at the next call.
+   */
+  private void watchDirectories(WatchService watchService, Set<Path> watchedDirectories) {
+    for (Path path : source.getConfigFilePaths(rootPath)) {
+      Path directory = path.getParent();
+
+      if (directory == null || watchedDirectories.contains(directory)) {
+        continue;
+      }
+
+      try {
+        directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        watchedDirectories.add(directory);
+      } catch (IOException e) {
+        LOG.debug("Unable to watch directory: " + directory, e);
+      }
+    }
+  }
+
+  /**
+   * Wait until a change is reported for one of {@code watchedDirectories} or the poll interval passes.
+   *
+   * @return true when files' content should be compared, false when checking modification time and size is enough
+   */
+  private boolean awaitChanges(WatchService watchService, Set<Path> watchedDirectories) throws InterruptedException {
+    if (watchService == null) {
+      Thread.sleep(pollIntervalMillis);
+      return true;
+    }
+
+    boolean changed = false;
+    WatchKey key = watchService.poll(pollIntervalMillis, TimeUnit.MILLISECONDS);
+
+    // Drain all pending keys so that a burst of events results in a single update
+    while (key != null) {
+      changed |= !key.pollEvents().isEmpty();
+
+      if (!key.reset()) {
+        watchedDirectories.remove((Path) key.watchable());
+      }
+
+      key = watchService.poll();
+    }
+
+    return changed;
+  }
+
+  /**
+   * Parse files that changed since they were pushed to the source and push them. Content of files is compared only
+   * when {@code verifyContent} is true or their validators don't match (see {@link ParsedFile}). When any file can't
+   * be read nothing is pushed, so that all files are checked again at the next call.
+   *
+   * @param pushedFiles parsed content of files pushed to the source, keyed by file path
+   * @return false when this thread is no longer the current watcher
+   * @throws IllegalStateException when unable to read one of the files
+   */
+  private boolean update(Map<Path, Properties> pushedFiles, boolean verifyContent) {
+    Map<Path, Properties> files = new HashMap<>();
+    Map<Path, Properties> changedFiles = new HashMap<>();
+
+    for (Map.Entry<Path, ParsedFile> file : source.getParsedFiles(rootPath, verifyContent).entrySet()) {
+      Properties properties = file.getValue().getProperties();
+
+      // Unchanged content keeps its parsed properties
+      if (pushedFiles.get(file.getKey()) != properties) {
+        LOG.debug("Configuration file changed: " + file.getKey());
+        changedFiles.put(file.getKey(), properties);
+      }
+
+      files.put(file.getKey(), properties);
+    }
+
+    if (changedFiles.isEmpty() && files.keySet().equals(pushedFiles.keySet())) {
+      return true;
+    }
+
+    synchronized (this) {
+      if (watcher != Thread.currentThread()) {
+        return false;
+      }
+
+      source.updateWatchedFiles(rootPath, changedFiles);
+    }
+
+    pushedFiles.clear();
+    pushedFiles.putAll(files);
+
+    reloadResources();
+
+    return true;
+  }
+
+  private synchronized boolean isCurrentWatcher() {
+    return watcher == Thread.currentThread();
+  }
+
+  private void reloadResources() {
+    for (Reloadable resource : resources) {
+      try {
+        resource.reload();
+      } catch (Exception e) {
+        LOG.warn("Resource reload after files change failed. Will re-try at the next change.", e);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "FilesWatchReloadStrategy{" +
+        "rootPath=" + rootPath +
+        ", pollIntervalMillis=" + pollIntervalMillis +
+        ", useWatchService=" + useWatchService +
+        ", watcher=" + watcher +
+        '}';
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.files;
+
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Parsed content of a configuration file together with validators telling whether the file changed since it was
+ * read: file key, modification time and size of the file, and a checksum of its content. Validators are trusted only
+ * when the file was modified long enough before it was read, as a file modified again within the file system's
+ * timestamp granularity may keep its modification time. Parsed {@link Properties} must not be modified.
+ */
+final class ParsedFile {
+
+  /**
+   * The coarsest modification time granularity of common file systems (FAT). Also covers JDK 8, which reports
+   * modification times in whole seconds.
+   */
+  static final long TIMESTAMP_GRANULARITY_MILLIS = 2000;
+
+  private final Object fileKey;
+  private final long lastModifiedMillis;
+  private final long size;
+  private final long checksum;
+  private final long readTimeMillis;
+  private final Properties properties;
+
+  /**
+   * Create parsed file.
+   *
+   * @param attributes     attributes of the file read before its content
+   * @param checksum       checksum of the file content
+   * @param readTimeMillis time (in milliseconds since epoch) before {@code attributes} were read
+   * @param properties     parsed file content
+   */
+  ParsedFile(BasicFileAttributes attributes, long checksum, long readTimeMillis, Properties properties) {
+    fileKey = attributes.fileKey();
+    lastModifiedMillis = attributes.lastModifiedTime().toMillis();
+    size = attributes.size();
+    this.checksum = checksum;
+    this.readTimeMillis = readTimeMillis;
+    this.properties = properties;
+  }
+
+  /**
+   * Check whether the file with given {@code attributes} is known to hold the parsed content without reading it.
+   *
+   * @param attributes current attributes of the file
+   * @return true when validators match {@code attributes} and can be trusted
+   */
+  boolean isValid(BasicFileAttributes attributes) {
+    return lastModifiedMillis < readTimeMillis - TIMESTAMP_GRANULARITY_MILLIS
+        && lastModifiedMillis == attributes.lastModifiedTime().toMillis()
+        && size == attributes.size()
+        && Objects.equals(fileKey, attributes.fileKey());
+  }
+
+  long getChecksum() {
+    return checksum;
+  }
+
+  Properties getProperties() {
+    return properties;
+  }
+
+  /**
+   * Get a fingerprint of the parsed content consisting of modification time, size and checksum of the file.
+   */
+  String getFingerprint() {
+    return lastModifiedMillis + ":" + size + ":" + Long.toHexString(checksum);
+  }
+
+  @Override
+  public String toString() {
+    return "ParsedFile{" +
+        "lastModifiedMillis=" + lastModifiedMillis +
+        ", size=" + size +
+        ", checksum=" + checksum +
+        ", readTimeMillis=" + readTimeMillis +
+        '}';
+  }
+}
@@ -21,16 +21,27 @@ import static java.util.Objects.requireNonNull;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.FetchedConfiguration;
 import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.reload.ConfigurationSnapshot;
 
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
  * Decorator for {@link ConfigurationSource} that emits execution metrics. It emits the following metrics (each of those prefixed
  * with a string passed at construction time):
  * <ul>
  * <li>source.getConfiguration</li>
+ * <li>source.getConfigurationAsync (time until the returned future completes)</li>
+ * <li>source.getFingerprint</li>
+ * <li>source.fetchConfiguration</li>
+ * <li>source.fetchConfigurationAsync (time until the returned future completes)</li>
+ * <li>source.getSnapshot</li>
  * <li>source.init</li>
+ * <li>source.initAsync (time until the returned future completes)</li>
  * </ul>
  * Each of those metrics is of {@link Timer} type (i.e. includes execution time percentiles, execution count, etc.)
  */
@@ -39,7 +50,13 @@ public class MeteredConfigurationSource implements ConfigurationSource {
   private final ConfigurationSource delegate;
 
   private final Timer getConfigurationTimer;
+  private final Timer getConfigurationAsyncTimer;
+  private final Timer getFingerprintTimer;
+  private final Timer fetchConfigurationTimer;
+  private final Timer fetchConfigurationAsyncTimer;
+  private final Timer getSnapshotTimer;
   private final Timer initTimer;
+  private final Timer initAsyncTimer;
 
   /**
    * Create decorator for given {@code delegate} and using {@code metricRegistry} for constructing metrics. Each metric will
@@ -55,7 +72,13 @@ public class MeteredConfigurationSource implements ConfigurationSource {
     this.delegate = requireNonNull(delegate);
 
     getConfigurationTimer = metricRegistry.timer(metricPrefix + "source.getConfiguration");
+    getConfigurationAsyncTimer = metricRegistry.timer(metricPrefix + "source.getConfigurationAsync");
+    getFingerprintTimer = metricRegistry.timer(metricPrefix + "source.getFingerprint");
+    fetchConfigurationTimer = metricRegistry.timer(metricPrefix + "source.fetchConfiguration");
+    fetchConfigurationAsyncTimer = metricRegistry.timer(metricPrefix + "source.fetchConfigurationAsync");
+    getSnapshotTimer = metricRegistry.timer(metricPrefix + "source.getSnapshot");
     initTimer = metricRegistry.timer(metricPrefix + "source.init");
+    initAsyncTimer = metricRegistry.timer(metricPrefix + "source.initAsync");
   }
 
   @Override
@@ -69,6 +92,51 @@ public class MeteredConfigurationSource implements ConfigurationSource {
     }
   }
 
+  @Override
+  public CompletableFuture<Properties> getConfigurationAsync(Environment environment, Executor executor) {
+    return timeAsync(getConfigurationAsyncTimer, () -> delegate.getConfigurationAsync(environment, executor));
+  }
+
+  @Override
+  public String getFingerprint(Environment environment) {
+    Timer.Context context = getFingerprintTimer.time();
+
+    try {
+      return delegate.getFingerprint(environment);
+    } finally {
+      context.stop();
+    }
+  }
+
+  @Override
+  public FetchedConfiguration fetchConfiguration(Environment environment, String cachedFingerprint) {
+    Timer.Context context = fetchConfigurationTimer.time();
+
+    try {
+      return delegate.fetchConfiguration(environment, cachedFingerprint);
+    } finally {
+      context.stop();
+    }
+  }
+
+  @Override
+  public CompletableFuture<FetchedConfiguration> fetchConfigurationAsync(Environment environment, String cachedFingerprint,
+                                                                         Executor executor) {
+    return timeAsync(fetchConfigurationAsyncTimer,
+        () -> delegate.fetchConfigurationAsync(environment, cachedFingerprint, executor));
+  }
+
+  @Override
+  public ConfigurationSnapshot getSnapshot(Environment environment) {
+    Timer.Context context = getSnapshotTimer.time();
+
+    try {
+      return delegate.getSnapshot(environment);
+    } finally {
+      context.stop();
+    }
+  }
+
   @Override
   public void init() {
     Timer.Context context = initTimer.time();
@@ -79,4 +147,23 @@ public class MeteredConfigurationSource implements ConfigurationSource {
       context.stop();
     }
   }
+
+  @Override
+  public CompletableFuture<Void> initAsync(Executor executor) {
+    return timeAsync(initAsyncTimer, () -> delegate.initAsync(executor));
+  }
+
+  /**
+   * Time the asynchronous {@code operation} with {@code timer} until the future it returns completes.
+   */
+  private static <T> CompletableFuture<T> timeAsync(Timer timer, Supplier<CompletableFuture<T>> operation) {
+    Timer.Context context = timer.time();
+
+    try {
+      return operation.get().whenComplete((result, throwable) -> context.stop());
+    } catch (RuntimeException e) {
+      context.stop();
+      throw e;
+    }
+  }
 }
@@ -18,20 +18,31 @@ package org.cfg4j.source.reload;
 import static java.util.Objects.requireNonNull;
 
 import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.FetchedConfiguration;
 import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A {@link ConfigurationSource} that caches configuration between calls to the {@link #reload(Environment)} method.
+ * Cached configuration is kept in immutable {@link ConfigurationSnapshot}s. This class is thread-safe: configuration
+ * can be read by any number of threads while another thread reloads it. Reads don't take any locks.
+ * <p>
+ * When the underlying source supports fingerprints (see {@link ConfigurationSource#getFingerprint(Environment)})
+ * reloads that find an unchanged fingerprint keep the cached snapshot and don't fetch configuration at all. Otherwise
+ * the cached snapshot is kept when the fetched configuration has the same entries.
  */
 public class CachedConfigurationSource implements ConfigurationSource {
 
-  private final Map<String, Properties> cachedConfigurationPerEnvironment;
+  private final Map<String, CacheEntry> cachedConfigurationPerEnvironment;
   private final ConfigurationSource underlyingSource;
+  private final AtomicLong lastVersion;
 
   /**
    * Create a new cached configuration source backed by {@code underlyingSource}.
@@ -41,13 +52,15 @@ public class CachedConfigurationSource implements ConfigurationSource {
   public CachedConfigurationSource(ConfigurationSource underlyingSource) {
     this.underlyingSource = requireNonNull(underlyingSource);
 
-    cachedConfigurationPerEnvironment = new HashMap<>();
+    cachedConfigurationPerEnvironment = new ConcurrentHashMap<>();
+    lastVersion = new AtomicLong();
   }
 
   /**
    * Get configuration set for a given {@code environment} from the cache. For cache to be seeded
    * you have to call the {@link #reload(Environment)} method before calling this method. Otherwise
-   * the method will throw {@link MissingEnvironmentException}.
+   * the method will throw {@link MissingEnvironmentException}. Each call returns a new copy of
+   * the cached configuration set. Use {@link #getSnapshot(Environment)} to avoid copying.
    *
    * @param environment environment to use
    * @return configuration set for {@code environment}
@@ -55,11 +68,55 @@ public class CachedConfigurationSource implements ConfigurationSource {
    */
   @Override
   public Properties getConfiguration(Environment environment) {
-    if (cachedConfigurationPerEnvironment.containsKey(environment.getName())) {
-      return cachedConfigurationPerEnvironment.get(environment.getName());
-    } else {
+    return getSnapshot(environment).toProperties();
+  }
+
+  /**
+   * Get configuration snapshot for a given {@code environment} from the cache. The same snapshot is returned
+   * until the next call to {@link #reload(Environment)}. For cache to be seeded you have to call
+   * the {@link #reload(Environment)} method before calling this method. Otherwise the method will throw
+   * {@link MissingEnvironmentException}.
+   *
+   * @param environment environment to use
+   * @return configuration snapshot for {@code environment}
+   * @throws MissingEnvironmentException when there's no config for the given environment in the cache
+   */
+  @Override
+  public ConfigurationSnapshot getSnapshot(Environment environment) {
+    CacheEntry entry = cachedConfigurationPerEnvironment.get(environment.getName());
+
+    if (entry == null) {
       throw new MissingEnvironmentException(environment.getName());
     }
+
+    return entry.snapshot;
+  }
+
+  /**
+   * Fingerprint of the configuration cached for a given {@code environment}, as reported by the underlying source
+   * before it was fetched.
+   *
+   * @param environment environment to use
+   * @return fingerprint of the cached configuration or {@code null} when unknown or nothing was cached yet
+   */
+  @Override
+  public String getFingerprint(Environment environment) {
+    CacheEntry entry = cachedConfigurationPerEnvironment.get(environment.getName());
+
+    return entry == null ? null : entry.fingerprint;
+  }
+
+  /**
+   * Version of the configuration snapshot cached for a given {@code environment}. It changes only when a reload
+   * publishes a new snapshot.
+   *
+   * @param environment environment to use
+   * @return version of the cached snapshot or -1 when nothing was cached yet
+   */
+  public long getVersion(Environment environment) {
+    CacheEntry entry = cachedConfigurationPerEnvironment.get(environment.getName());
+
+    return entry == null ? -1 : entry.snapshot.getVersion();
   }
 
   @Override
@@ -67,16 +124,67 @@ public class CachedConfigurationSource implements ConfigurationSource {
     underlyingSource.init();
   }
 
+  @Override
+  public CompletableFuture<Void> initAsync(Executor executor) {
+    return underlyingSource.initAsync(executor);
+  }
+
   /**
    * Reload configuration set for a given {@code environment} from this source in a form of {@link Properties}.
    * After reload completes the configuration can be accesses via {@link #getConfiguration(Environment)} method.
+   * Each reload that changes configuration publishes a new {@link ConfigurationSnapshot} with a version higher than
+   * all previously published ones. When the underlying source reports the same non-null fingerprint as the one of
+   * the cached configuration, the cached snapshot is kept and configuration isn't fetched. Both are fetched with
+   * a single call to {@link ConfigurationSource#fetchConfiguration(Environment, String)}. When the underlying source
+   * doesn't report a fingerprint, the cached snapshot is kept if the fetched configuration has the same entries.
    *
    * @param environment environment to reload
    * @throws MissingEnvironmentException when requested environment couldn't be found
    * @throws IllegalStateException       when unable to fetch configuration
    */
   public void reload(Environment environment) {
-    Properties configuration = underlyingSource.getConfiguration(environment);
-    cachedConfigurationPerEnvironment.put(environment.getName(), configuration);
+    store(environment, underlyingSource.fetchConfiguration(environment, getFingerprint(environment)));
+  }
+
+  /**
+   * Asynchronously reload configuration set for a given {@code environment}, see {@link #reload(Environment)}.
+   * Configuration is fetched with {@link ConfigurationSource#fetchConfigurationAsync(Environment, String, Executor)},
+   * so composed sources fetch from their underlying sources concurrently.
+   *
+   * @param environment environment to reload
+   * @param executor    executor running blocking operations
+   * @return future completed when configuration is reloaded
+   */
+  public CompletableFuture<Void> reloadAsync(Environment environment, Executor executor) {
+    return underlyingSource.fetchConfigurationAsync(environment, getFingerprint(environment), executor)
+        .thenAccept(fetched -> store(environment, fetched));
+  }
+
+  private void store(Environment environment, FetchedConfiguration fetched) {
+    if (!fetched.isChanged()) {
+      return;
+    }
+
+    CacheEntry previous = cachedConfigurationPerEnvironment.get(environment.getName());
+
+    // Sources without fingerprints return configuration on each reload, so compare it to keep the version stable
+    ConfigurationSnapshot snapshot;
+    if (fetched.getFingerprint() == null && previous != null && previous.snapshot.hasEntries(fetched.getConfiguration())) {
+      snapshot = previous.snapshot;
+    } else {
+      snapshot = new ConfigurationSnapshot(fetched.getConfiguration(), lastVersion.incrementAndGet());
+    }
+
+    cachedConfigurationPerEnvironment.put(environment.getName(), new CacheEntry(snapshot, fetched.getFingerprint()));
+  }
+
+  private static final class CacheEntry {
+    private final ConfigurationSnapshot snapshot;
+    private final String fingerprint;
+
+    private CacheEntry(ConfigurationSnapshot snapshot, String fingerprint) {
+      this.snapshot = snapshot;
+      this.fingerprint = fingerprint;
+    }
   }
 }
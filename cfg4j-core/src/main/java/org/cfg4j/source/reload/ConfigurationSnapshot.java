@@ -0,0 +1,189 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.reload;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Immutable configuration set. Lookups don't take any locks, so a snapshot can be safely read by any number
+ * of threads. Each snapshot carries a version - snapshots published by the same source have increasing versions.
+ * Objects derived from a snapshot (e.g. converted property values) can be attached to it, so that they live exactly
+ * as long as the snapshot does.
+ */
+public final class ConfigurationSnapshot {
+
+  private final long version;
+  private final int size;
+  private final int mask;
+  private final String[] keys;
+  private final Object[] values;
+  private volatile Map<Class<?>, Object> attachments;
+
+  /**
+   * Create snapshot of the given {@code properties}. Later changes to {@code properties} are not reflected in
+   * the snapshot.
+   *
+   * @param properties configuration set to copy
+   * @param version    version of this snapshot
+   */
+  public ConfigurationSnapshot(Properties properties, long version) {
+    requireNonNull(properties);
+    this.version = version;
+
+    // Keep load factor at or below 0.5 so that probing sequences stay short
+    int capacity = Integer.highestOneBit(Math.max(properties.size(), 1) * 2 - 1) << 1;
+    mask = capacity - 1;
+    keys = new String[capacity];
+    values = new Object[capacity];
+
+    int count = 0;
+    for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+      String key = entry.getKey().toString();
+      int index = indexOf(key);
+
+      if (keys[index] == null) {
+        keys[index] = key;
+        count++;
+      }
+      values[index] = entry.getValue();
+    }
+    size = count;
+  }
+
+  /**
+   * Get value of a given {@code key}.
+   *
+   * @param key configuration key
+   * @return value for {@code key} or null if this snapshot doesn't contain {@code key}
+   */
+  public Object get(String key) {
+    return values[indexOf(key)];
+  }
+
+  /**
+   * Version of this snapshot.
+   *
+   * @return snapshot version
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Number of configuration entries in this snapshot.
+   *
+   * @return number of entries
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Check whether this snapshot holds exactly the configuration entries of {@code properties}.
+   *
+   * @param properties configuration set to compare with
+   * @return true when {@code properties} has the same keys and values as this snapshot, false otherwise
+   */
+  public boolean hasEntries(Properties properties) {
+    if (properties.size() != size) {
+      return false;
+    }
+
+    for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+      if (!entry.getValue().equals(get(entry.getKey().toString()))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Get object of a given {@code type} attached to this snapshot. The object is created using {@code factory} when
+   * this method is first called for {@code type}, and the same object is returned by all later calls. Attached
+   * objects are shared by all threads reading this snapshot, so they should be thread-safe.
+   *
+   * @param <T>     type of the attached object
+   * @param type    {@link Class} for {@code <T>}
+   * @param factory factory creating the attached object
+   * @return object attached to this snapshot
+   */
+  public <T> T getAttachment(Class<T> type, Supplier<? extends T> factory) {
+    Map<Class<?>, Object> currentAttachments = attachments;
+    if (currentAttachments == null) {
+      synchronized (this) {
+        if (attachments == null) {
+          attachments = new ConcurrentHashMap<>();
+        }
+        currentAttachments = attachments;
+      }
+    }
+
+    // Plain lookup first, as computeIfAbsent locks even when the object is already attached
+    Object attachment = currentAttachments.get(type);
+    if (attachment == null) {
+      attachment = currentAttachments.computeIfAbsent(type, key -> requireNonNull(factory.get()));
+    }
+
+    return type.cast(attachment);
+  }
+
+  /**
+   * Create a new {@link Properties} object with all configuration entries from this snapshot. Changes to the returned
+   * object are not reflected in this snapshot.
+   *
+   * @return configuration set in a form of {@link Properties}
+   */
+  public Properties toProperties() {
+    Properties properties = new Properties();
+
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != null) {
+        properties.put(keys[i], values[i]);
+      }
+    }
+
+    return properties;
+  }
+
+  /**
+   * Find slot holding {@code key} or an empty slot where {@code key} should be placed.
+   */
+  private int indexOf(String key) {
+    int hash = key.hashCode();
+    int index = (hash ^ (hash >>> 16)) & mask;
+
+    String candidate;
+    while ((candidate = keys[index]) != null && !candidate.equals(key)) {
+      index = (index + 1) & mask;
+    }
+
+    return index;
+  }
+
+  @Override
+  public String toString() {
+    return "ConfigurationSnapshot{" +
+        "version=" + version +
+        ", size=" + size +
+        '}';
+  }
+}
@@ -60,4 +60,9 @@ public class MeteredReloadable implements Reloadable {
       context.stop();
     }
   }
+
+  @Override
+  public long getVersion() {
+    return delegate.getVersion();
+  }
 }
@@ -27,4 +27,14 @@ public interface Reloadable {
    */
   void reload();
 
+  /**
+   * Version of this resource. It should be different after each reload that changed the resource and the same
+   * otherwise. Reload strategies may use it to detect changes.
+   *
+   * @return version of this resource or -1 when unknown
+   */
+  default long getVersion() {
+    return -1;
+  }
+
 }
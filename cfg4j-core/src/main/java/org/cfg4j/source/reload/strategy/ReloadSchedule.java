@@ -0,0 +1,169 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.reload.strategy;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes delays between reloads of resources scheduled by {@link ScheduledReloadStrategy}. Each delay is randomized
+ * by up to {@code jitter} of its length in both directions. Optionally:
+ * <ul>
+ * <li>after failed reloads the delay grows exponentially up to the maximum backoff</li>
+ * <li>the interval adapts to changes: it drops to the minimum after a reload that changed the resource and doubles,
+ * up to the maximum, after each reload that didn't</li>
+ * </ul>
+ * Instances are immutable. Per-resource state is kept in {@link Timing}s.
+ */
+final class ReloadSchedule {
+
+  enum Result {
+    CHANGED, UNCHANGED, UNKNOWN, FAILED
+  }
+
+  private final long intervalNanos;
+  private final double jitter;
+  private final long maxBackoffNanos;
+  private final long minIntervalNanos;
+  private final long maxIntervalNanos;
+
+  /**
+   * @param intervalNanos    initial interval between reloads
+   * @param jitter           fraction of a delay by which it's randomized, between 0 and 1
+   * @param maxBackoffNanos  maximum delay after failed reloads, not shorter than the interval (0 to retry after the
+   *                         current interval)
+   * @param minIntervalNanos minimum adaptive interval (0 to disable adaptive interval)
+   * @param maxIntervalNanos maximum adaptive interval (0 to disable adaptive interval)
+   */
+  ReloadSchedule(long intervalNanos, double jitter, long maxBackoffNanos, long minIntervalNanos, long maxIntervalNanos) {
+    if (intervalNanos <= 0) {
+      throw new IllegalArgumentException("Interval has to be positive");
+    }
+    if (jitter < 0 || jitter > 1) {
+      throw new IllegalArgumentException("Jitter has to be between 0 and 1: " + jitter);
+    }
+    if (maxBackoffNanos < 0 || (maxBackoffNanos > 0 && maxBackoffNanos < intervalNanos)) {
+      throw new IllegalArgumentException("Maximum backoff can't be shorter than the interval");
+    }
+    if (minIntervalNanos < 0 || minIntervalNanos > intervalNanos || maxIntervalNanos < 0
+        || (maxIntervalNanos > 0 && maxIntervalNanos < intervalNanos)) {
+      throw new IllegalArgumentException("Adaptive interval bounds have to surround the interval");
+    }
+
+    this.intervalNanos = intervalNanos;
+    this.jitter = jitter;
+    this.maxBackoffNanos = maxBackoffNanos;
+    this.minIntervalNanos = minIntervalNanos;
+    this.maxIntervalNanos = maxIntervalNanos;
+  }
+
+  /**
+   * Schedule reloading every {@code duration} (measured in {@code timeUnit}s), without jitter, backoff and adaptive
+   * interval.
+   */
+  static ReloadSchedule fixed(long duration, TimeUnit timeUnit) {
+    return new ReloadSchedule(timeUnit.toNanos(duration), 0, 0, 0, 0);
+  }
+
+  Timing newTiming() {
+    return new Timing();
+  }
+
+  private boolean isAdaptive() {
+    return minIntervalNanos > 0 && maxIntervalNanos > 0;
+  }
+
+  private long randomize(long delayNanos) {
+    if (jitter == 0) {
+      return delayNanos;
+    }
+
+    double factor = 1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+    return Math.max(1, (long) (delayNanos * factor));
+  }
+
+  /**
+   * Reload timing of a single resource. Not thread-safe.
+   */
+  final class Timing {
+
+    private long currentIntervalNanos;
+    private int failures;
+
+    private Timing() {
+      currentIntervalNanos = intervalNanos;
+      failures = 0;
+    }
+
+    /**
+     * Delay before the first scheduled reload. With jitter, it's drawn from the whole interval, so resources
+     * registered at the same moment (e.g. on many hosts after a deployment) don't reload in lockstep.
+     */
+    long firstDelayNanos() {
+      if (jitter == 0) {
+        return intervalNanos;
+      }
+
+      return 1 + (long) (ThreadLocalRandom.current().nextDouble() * intervalNanos);
+    }
+
+    /**
+     * Delay before the next reload, after a reload with the given {@code result}.
+     */
+    long nextDelayNanos(Result result) {
+      if (result == Result.FAILED) {
+        failures++;
+
+        if (maxBackoffNanos == 0) {
+          return randomize(currentIntervalNanos);
+        }
+
+        long delayNanos = currentIntervalNanos;
+        for (int i = 0; i < failures && delayNanos < maxBackoffNanos; i++) {
+          delayNanos *= 2;
+        }
+
+        // Failures never shorten the delay, even when the adaptive interval has grown above the maximum backoff
+        return randomize(Math.max(currentIntervalNanos, Math.min(delayNanos, maxBackoffNanos)));
+      }
+
+      failures = 0;
+
+      if (isAdaptive() && result == Result.CHANGED) {
+        currentIntervalNanos = minIntervalNanos;
+      } else if (isAdaptive() && result == Result.UNCHANGED) {
+        currentIntervalNanos = Math.min(currentIntervalNanos * 2, maxIntervalNanos);
+      }
+
+      return randomize(currentIntervalNanos);
+    }
+
+    int getFailures() {
+      return failures;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ReloadSchedule{" +
+        "intervalNanos=" + intervalNanos +
+        ", jitter=" + jitter +
+        ", maxBackoffNanos=" + maxBackoffNanos +
+        ", minIntervalNanos=" + minIntervalNanos +
+        ", maxIntervalNanos=" + maxIntervalNanos +
+        '}';
+  }
+}
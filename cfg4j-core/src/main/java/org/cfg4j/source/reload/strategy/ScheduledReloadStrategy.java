@@ -0,0 +1,296 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.reload.strategy;
+
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.source.reload.ReloadStrategy;
+import org.cfg4j.source.reload.Reloadable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ReloadStrategy} that reloads resources periodically using a {@link ScheduledExecutorService}. Supports
+ * multiple resources. Each resource is scheduled separately, so a slow reload only delays the next reload of the
+ * same resource. Unless an executor is provided, it spawns a bounded pool of daemon threads that is shut down
+ * on {@link #close()}.
+ * <p>
+ * Use {@link ScheduledReloadStrategyBuilder} to randomize reload times, back off after failures or adapt
+ * the interval to how often resources change.
+ */
+public class ScheduledReloadStrategy implements ReloadStrategy, Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ScheduledReloadStrategy.class);
+
+  private final ReloadSchedule schedule;
+  private final ScheduledExecutorService scheduler;
+  private final ExecutorService reloadExecutor;
+  private final boolean ownsExecutors;
+  private final Map<Reloadable, ReloadTask> tasks;
+  private volatile boolean closed;
+
+  /**
+   * Construct strategy that reloads each resource every {@code duration} (measured in {@code timeUnit}s).
+   * First reload will happen immediately after calling {@link #register(Reloadable)}. Each following
+   * reload will happen {@code duration} (measured in {@code timeUnit}s) after the previous one completed
+   * until the resource is deregistered with a call to {@link #deregister(Reloadable)} method. Reloads run on
+   * a pool of daemon threads, as many as available processors but not more than 4.
+   *
+   * @param duration time (in {@code timeUnit}) between reloads
+   * @param timeUnit time unit to use
+   */
+  public ScheduledReloadStrategy(long duration, TimeUnit timeUnit) {
+    this(duration, timeUnit, Math.min(4, Runtime.getRuntime().availableProcessors()));
+  }
+
+  /**
+   * Construct strategy that reloads each resource every {@code duration} (measured in {@code timeUnit}s),
+   * see {@link #ScheduledReloadStrategy(long, TimeUnit)}. Reloads run on a pool of {@code poolSize} daemon threads.
+   *
+   * @param duration time (in {@code timeUnit}) between reloads
+   * @param timeUnit time unit to use
+   * @param poolSize number of threads running reloads
+   * @throws IllegalArgumentException when {@code poolSize} is lower than 1
+   */
+  public ScheduledReloadStrategy(long duration, TimeUnit timeUnit, int poolSize) {
+    this(ReloadSchedule.fixed(duration, timeUnit), newScheduler(poolSize), null, true);
+  }
+
+  /**
+   * Construct strategy that reloads each resource every {@code duration} (measured in {@code timeUnit}s),
+   * see {@link #ScheduledReloadStrategy(long, TimeUnit)}. Reloads run on the provided {@code executor}, which may
+   * be shared with other strategies. The executor isn't shut down on {@link #close()}.
+   *
+   * @param duration time (in {@code timeUnit}) between reloads
+   * @param timeUnit time unit to use
+   * @param executor executor running reloads
+   */
+  public ScheduledReloadStrategy(long duration, TimeUnit timeUnit, ScheduledExecutorService executor) {
+    this(ReloadSchedule.fixed(duration, timeUnit), requireNonNull(executor), null, false);
+  }
+
+  ScheduledReloadStrategy(ReloadSchedule schedule, ScheduledExecutorService scheduler, ExecutorService reloadExecutor,
+                          boolean ownsExecutors) {
+    this.schedule = requireNonNull(schedule);
+    this.scheduler = scheduler;
+    this.reloadExecutor = reloadExecutor;
+    this.ownsExecutors = ownsExecutors;
+    tasks = new ConcurrentHashMap<>();
+    closed = false;
+  }
+
+  /**
+   * Construct strategy that reloads each resource every {@code duration} (measured in {@code timeUnit}s),
+   * see {@link #ScheduledReloadStrategy(long, TimeUnit)}. A single daemon thread schedules reloads and each reload
+   * runs on a new virtual thread, so blocking reloads don't occupy platform threads.
+   *
+   * @param duration time (in {@code timeUnit}) between reloads
+   * @param timeUnit time unit to use
+   * @return strategy running reloads on virtual threads
+   * @throws UnsupportedOperationException when virtual threads aren't supported by the runtime (prior to Java 21)
+   */
+  public static ScheduledReloadStrategy withVirtualThreads(long duration, TimeUnit timeUnit) {
+    return new ScheduledReloadStrategyBuilder()
+        .withInterval(duration, timeUnit)
+        .withVirtualThreads()
+        .build();
+  }
+
+  /**
+   * @throws IllegalStateException when this strategy is closed
+   */
+  @Override
+  public void register(Reloadable resource) {
+    LOG.debug("Registering resource " + resource + " with " + schedule);
+
+    if (closed) {
+      throw new IllegalStateException("Reload strategy is closed: " + this);
+    }
+
+    try {
+      resource.reload();
+    } catch (Exception e) {
+      LOG.warn("Resource reload failed. Will re-try at the next scheduled time.", e);
+    }
+
+    ReloadTask task = new ReloadTask(resource, schedule.newTiming());
+    ReloadTask previousTask = tasks.put(resource, task);
+    if (previousTask != null) {
+      previousTask.cancel();
+    }
+
+    task.scheduleNext(task.timing.firstDelayNanos());
+  }
+
+  @Override
+  public void deregister(Reloadable resource) {
+    LOG.debug("De-registering resource " + resource);
+
+    ReloadTask task = tasks.remove(resource);
+    if (task != null) {
+      task.cancel();
+    }
+  }
+
+  /**
+   * Stop reloading all registered resources. Reloads in progress are allowed to complete. Threads spawned by this
+   * strategy are shut down.
+   */
+  @Override
+  public void close() {
+    closed = true;
+
+    for (ReloadTask task : tasks.values()) {
+      task.cancel();
+    }
+    tasks.clear();
+
+    if (ownsExecutors) {
+      scheduler.shutdown();
+
+      if (reloadExecutor != null) {
+        reloadExecutor.shutdown();
+      }
+    }
+  }
+
+  static ScheduledExecutorService newScheduler(int poolSize) {
+    if (poolSize < 1) {
+      throw new IllegalArgumentException("Pool size has to be positive: " + poolSize);
+    }
+
+    ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(poolSize, new DaemonThreadFactory());
+    scheduler.setRemoveOnCancelPolicy(true);
+    scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+    return scheduler;
+  }
+
+  static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      throw new UnsupportedOperationException("Virtual threads are not supported by this runtime", e);
+    }
+  }
+
+  private final class ReloadTask implements Runnable {
+
+    private final Reloadable resource;
+    private final ReloadSchedule.Timing timing;
+    private boolean cancelled;
+    private Future<?> scheduledReload;
+
+    private ReloadTask(Reloadable resource, ReloadSchedule.Timing timing) {
+      this.resource = resource;
+      this.timing = timing;
+      cancelled = false;
+    }
+
+    @Override
+    public void run() {
+      synchronized (this) {
+        if (cancelled) {
+          return;
+        }
+      }
+
+      long previousVersion = resource.getVersion();
+      ReloadSchedule.Result result;
+
+      try {
+        resource.reload();
+
+        long version = resource.getVersion();
+        if (version == -1 || previousVersion == -1) {
+          result = ReloadSchedule.Result.UNKNOWN;
+        } else {
+          result = version == previousVersion ? ReloadSchedule.Result.UNCHANGED : ReloadSchedule.Result.CHANGED;
+        }
+      } catch (Exception e) {
+        result = ReloadSchedule.Result.FAILED;
+        LOG.warn("Resource reload failed " + (timing.getFailures() + 1) + " time(s) in a row. Will re-try at the next scheduled time.", e);
+      }
+
+      scheduleNext(timing.nextDelayNanos(result));
+    }
+
+    private synchronized void scheduleNext(long delayNanos) {
+      if (cancelled) {
+        return;
+      }
+
+      try {
+        scheduledReload = reloadExecutor == null
+            ? scheduler.schedule(this, delayNanos, TimeUnit.NANOSECONDS)
+            : scheduler.schedule(this::runOnReloadExecutor, delayNanos, TimeUnit.NANOSECONDS);
+      } catch (RejectedExecutionException e) {
+        LOG.warn("Unable to schedule reload of resource " + resource + ". It won't be reloaded anymore.", e);
+      }
+    }
+
+    private void runOnReloadExecutor() {
+      try {
+        reloadExecutor.execute(this);
+      } catch (RejectedExecutionException e) {
+        LOG.warn("Unable to reload resource " + resource + ". It won't be reloaded anymore.", e);
+      }
+    }
+
+    private synchronized void cancel() {
+      cancelled = true;
+
+      if (scheduledReload != null) {
+        scheduledReload.cancel(false);
+      }
+    }
+  }
+
+  private static final class DaemonThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "cfg4j-reload-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+
+      return thread;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ScheduledReloadStrategy{" +
+        "schedule=" + schedule +
+        ", scheduler=" + scheduler +
+        ", reloadExecutor=" + reloadExecutor +
+        '}';
+  }
+}
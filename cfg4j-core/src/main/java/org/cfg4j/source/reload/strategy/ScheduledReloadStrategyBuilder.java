@@ -0,0 +1,186 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.reload.strategy;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder for {@link ScheduledReloadStrategy}.
+ */
+public class ScheduledReloadStrategyBuilder {
+
+  private long intervalNanos;
+  private double jitter;
+  private long maxBackoffNanos;
+  private long minIntervalNanos;
+  private long maxIntervalNanos;
+  private int poolSize;
+  private ScheduledExecutorService executor;
+  private boolean virtualThreads;
+
+  /**
+   * Construct {@link ScheduledReloadStrategy}s builder
+   * <p>
+   * Default setup (override using with*() methods)
+   * <ul>
+   * <li>interval: 1 minute</li>
+   * <li>jitter: none</li>
+   * <li>backoff: none, failed reloads are re-tried after the interval</li>
+   * <li>adaptive interval: disabled</li>
+   * <li>executor: pool of daemon threads, as many as available processors but not more than 4</li>
+   * </ul>
+   */
+  public ScheduledReloadStrategyBuilder() {
+    intervalNanos = TimeUnit.MINUTES.toNanos(1);
+    jitter = 0;
+    maxBackoffNanos = 0;
+    minIntervalNanos = 0;
+    maxIntervalNanos = 0;
+    poolSize = Math.min(4, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Set time between reloads for {@link ScheduledReloadStrategy}s built by this builder. With adaptive interval
+   * this is the initial interval.
+   *
+   * @param duration time (in {@code timeUnit}) between reloads
+   * @param timeUnit time unit to use
+   * @return this builder with interval set to {@code duration}
+   */
+  public ScheduledReloadStrategyBuilder withInterval(long duration, TimeUnit timeUnit) {
+    this.intervalNanos = timeUnit.toNanos(duration);
+    return this;
+  }
+
+  /**
+   * Randomize reload times of {@link ScheduledReloadStrategy}s built by this builder. Each delay between reloads is
+   * lengthened or shortened by a random fraction of up to {@code jitter} of its length. The first scheduled reload
+   * happens at a random moment within the interval. Use it to spread reloads of many instances started at the same
+   * time, e.g. after a deployment.
+   *
+   * @param jitter fraction of a delay by which it's randomized, between 0 and 1
+   * @return this builder with jitter set to {@code jitter}
+   */
+  public ScheduledReloadStrategyBuilder withJitter(double jitter) {
+    this.jitter = jitter;
+    return this;
+  }
+
+  /**
+   * Back off exponentially after failed reloads in {@link ScheduledReloadStrategy}s built by this builder. The delay
+   * after a failed reload is the interval doubled for each failure in a row, up to {@code maxDelay}. It's reset after
+   * the first successful reload. Failed reloads are never retried sooner than after the current interval, so
+   * {@code maxDelay} can't be shorter than the interval.
+   *
+   * @param maxDelay maximum time (in {@code timeUnit}) between failed reloads
+   * @param timeUnit time unit to use
+   * @return this builder with backoff enabled
+   */
+  public ScheduledReloadStrategyBuilder withBackoff(long maxDelay, TimeUnit timeUnit) {
+    this.maxBackoffNanos = timeUnit.toNanos(maxDelay);
+    return this;
+  }
+
+  /**
+   * Adapt the interval of {@link ScheduledReloadStrategy}s built by this builder to how often resources change.
+   * After a reload that changed the resource the interval drops to {@code minInterval}, as more changes often
+   * follow. After each reload that didn't, the interval doubles, up to {@code maxInterval}. Resources that don't
+   * report versions (see {@link org.cfg4j.source.reload.Reloadable#getVersion()}) keep the current interval.
+   *
+   * @param minInterval minimum time (in {@code timeUnit}) between reloads
+   * @param maxInterval maximum time (in {@code timeUnit}) between reloads
+   * @param timeUnit    time unit to use
+   * @return this builder with adaptive interval enabled
+   */
+  public ScheduledReloadStrategyBuilder withAdaptiveInterval(long minInterval, long maxInterval, TimeUnit timeUnit) {
+    this.minIntervalNanos = timeUnit.toNanos(minInterval);
+    this.maxIntervalNanos = timeUnit.toNanos(maxInterval);
+    return this;
+  }
+
+  /**
+   * Run reloads of {@link ScheduledReloadStrategy}s built by this builder on a pool of {@code poolSize} daemon threads.
+   *
+   * @param poolSize number of threads running reloads
+   * @return this builder with pool size set to {@code poolSize}
+   */
+  public ScheduledReloadStrategyBuilder withPoolSize(int poolSize) {
+    this.poolSize = poolSize;
+    return this;
+  }
+
+  /**
+   * Run reloads of {@link ScheduledReloadStrategy}s built by this builder on the provided {@code executor}. The
+   * executor isn't shut down when the strategy is closed.
+   *
+   * @param executor executor running reloads
+   * @return this builder with executor set to {@code executor}
+   */
+  public ScheduledReloadStrategyBuilder withExecutor(ScheduledExecutorService executor) {
+    this.executor = executor;
+    return this;
+  }
+
+  /**
+   * Run each reload of {@link ScheduledReloadStrategy}s built by this builder on a new virtual thread. A single daemon
+   * thread schedules reloads. Requires Java 21 or newer.
+   *
+   * @return this builder with virtual threads enabled
+   */
+  public ScheduledReloadStrategyBuilder withVirtualThreads() {
+    this.virtualThreads = true;
+    return this;
+  }
+
+  /**
+   * Build a {@link ScheduledReloadStrategy} using this builder's configuration
+   *
+   * @return new {@link ScheduledReloadStrategy}
+   * @throws IllegalArgumentException      when the configuration is invalid
+   * @throws UnsupportedOperationException when virtual threads were requested but aren't supported by the runtime
+   */
+  public ScheduledReloadStrategy build() {
+    ReloadSchedule schedule = new ReloadSchedule(intervalNanos, jitter, maxBackoffNanos, minIntervalNanos,
+        maxIntervalNanos);
+
+    if (executor != null) {
+      return new ScheduledReloadStrategy(schedule, executor, null, false);
+    }
+
+    if (virtualThreads) {
+      ExecutorService reloadExecutor = ScheduledReloadStrategy.newVirtualThreadPerTaskExecutor();
+      return new ScheduledReloadStrategy(schedule, ScheduledReloadStrategy.newScheduler(1), reloadExecutor, true);
+    }
+
+    return new ScheduledReloadStrategy(schedule, ScheduledReloadStrategy.newScheduler(poolSize), null, true);
+  }
+
+  @Override
+  public String toString() {
+    return "ScheduledReloadStrategyBuilder{" +
+        "intervalNanos=" + intervalNanos +
+        ", jitter=" + jitter +
+        ", maxBackoffNanos=" + maxBackoffNanos +
+        ", minIntervalNanos=" + minIntervalNanos +
+        ", maxIntervalNanos=" + maxIntervalNanos +
+        ", poolSize=" + poolSize +
+        ", executor=" + executor +
+        ", virtualThreads=" + virtualThreads +
+        '}';
+  }
+}
@@ -121,6 +121,34 @@ class BindInvocationHandlerTest {
     assertThat(hashCode).isEqualTo(handler.hashCode());
   }
 
+  @Test
+  void reusesResolvedTypeBetweenCalls() throws Exception {
+    BindInvocationHandler handler = new BindInvocationHandler(configurationProvider, "");
+
+    handler.invoke(this, this.getClass().getMethod("mapMethod"), new Object[]{});
+    handler.invoke(this, this.getClass().getMethod("mapMethod"), new Object[]{});
+
+    verify(configurationProvider, times(2)).getProperty(eq("mapMethod"), captor.capture());
+    assertThat(captor.getAllValues().get(1)).isSameAs(captor.getAllValues().get(0));
+  }
+
+  @Test
+  void usesProvidedPrefixForPrecomputedMethods() throws Exception {
+    BindInvocationHandler handler = new BindInvocationHandler(configurationProvider, "abc", BindInvocationHandlerTest.class);
+
+    handler.invoke(this, this.getClass().getMethod("stringMethod"), new Object[]{});
+
+    verify(configurationProvider, times(1)).getProperty(eq("abc.stringMethod"), any(GenericTypeInterface.class));
+  }
+
+  @Test
+  void invokesPrecomputedObjectLevelMethod() throws Exception {
+    BindInvocationHandler handler = new BindInvocationHandler(configurationProvider, "", BindInvocationHandlerTest.class);
+
+    int hashCode = (int) handler.invoke(this, Object.class.getMethod("hashCode"), new Object[]{});
+    assertThat(hashCode).isEqualTo(handler.hashCode());
+  }
+
   // For mocking java.lang.reflect.Method
   @SuppressWarnings("WeakerAccess")
   public String stringMethod() {
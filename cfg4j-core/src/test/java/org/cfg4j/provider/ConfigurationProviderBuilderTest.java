@@ -16,17 +16,32 @@
 
 package org.cfg4j.provider;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import com.codahale.metrics.MetricRegistry;
+import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.compose.MergeConfigurationSource;
 import org.cfg4j.source.context.environment.DefaultEnvironment;
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.context.environment.MissingEnvironmentException;
+import org.cfg4j.source.metered.MeteredConfigurationSource;
 import org.cfg4j.source.reload.ReloadStrategy;
 import org.cfg4j.source.reload.Reloadable;
+import org.cfg4j.source.reload.strategy.ImmediateReloadStrategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 
 class ConfigurationProviderBuilderTest {
 
@@ -47,4 +62,152 @@ class ConfigurationProviderBuilderTest {
 
     verify(reloadStrategy, times(1)).register(any(Reloadable.class));
   }
-}
\ No newline at end of file
+
+  @Test
+  void buildsProviderWithSnapshotBinding() {
+    ConfigurationProvider provider = builder
+        .withSnapshotBinding()
+        .build();
+
+    assertThat(provider.toString()).contains("snapshotBinding=true");
+  }
+
+  @Test
+  void buildsProviderLoadingComposedSourcesInParallel() {
+    CyclicBarrier allSourcesFetching = new CyclicBarrier(3);
+    ConfigurationSource source = new MergeConfigurationSource(
+        new TestConfigurationSource("first", allSourcesFetching),
+        new TestConfigurationSource("second", allSourcesFetching),
+        new TestConfigurationSource("third", allSourcesFetching));
+
+    ConfigurationProvider provider = builder
+        .withConfigurationSource(source)
+        .withParallelInitialLoad(10, TimeUnit.SECONDS)
+        .build();
+
+    assertThat(provider.allConfigurationAsProperties()).containsKeys("first", "second", "third");
+  }
+
+  @Test
+  void buildsProviderLoadingMeteredComposedSourcesInParallel() {
+    CyclicBarrier allSourcesFetching = new CyclicBarrier(2);
+    ConfigurationSource source = new MeteredConfigurationSource(new MetricRegistry(), "", new MergeConfigurationSource(
+        new TestConfigurationSource("first", allSourcesFetching),
+        new TestConfigurationSource("second", allSourcesFetching)));
+
+    ConfigurationProvider provider = builder
+        .withConfigurationSource(source)
+        .withParallelInitialLoad(10, TimeUnit.SECONDS)
+        .build();
+
+    assertThat(provider.allConfigurationAsProperties()).containsKeys("first", "second");
+  }
+
+  @Test
+  void buildSkipsReloadRequestedByStrategyOnRegisterAfterParallelLoad() {
+    TestConfigurationSource source = new TestConfigurationSource("key", null);
+
+    builder
+        .withConfigurationSource(source)
+        .withReloadStrategy(new ImmediateReloadStrategy())
+        .withParallelInitialLoad(10, TimeUnit.SECONDS)
+        .build();
+
+    assertThat(source.fetches.get()).isEqualTo(1);
+  }
+
+  @Test
+  void buildRegistersWithStrategyAfterParallelLoad() {
+    ReloadStrategy reloadStrategy = mock(ReloadStrategy.class);
+
+    builder
+        .withReloadStrategy(reloadStrategy)
+        .withParallelInitialLoad(10, TimeUnit.SECONDS)
+        .build();
+
+    verify(reloadStrategy, times(1)).register(any(Reloadable.class));
+  }
+
+  @Test
+  void buildThrowsWhenParallelLoadExceedsDeadline() {
+    CountDownLatch neverReleased = new CountDownLatch(1);
+    ConfigurationSource source = new TestConfigurationSource("key", null) {
+      @Override
+      public Properties getConfiguration(Environment environment) {
+        try {
+          neverReleased.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return new Properties();
+      }
+    };
+
+    assertThatThrownBy(() -> builder
+        .withConfigurationSource(source)
+        .withParallelInitialLoad(100, TimeUnit.MILLISECONDS)
+        .build())
+        .isExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void buildPropagatesSourceExceptionsFromParallelLoad() {
+    ConfigurationSource source = new TestConfigurationSource("key", null) {
+      @Override
+      public Properties getConfiguration(Environment environment) {
+        throw new MissingEnvironmentException(environment.getName());
+      }
+    };
+
+    assertThatThrownBy(() -> builder
+        .withConfigurationSource(source)
+        .withParallelInitialLoad(10, TimeUnit.SECONDS)
+        .build())
+        .isExactlyInstanceOf(MissingEnvironmentException.class);
+  }
+
+  @Test
+  void withParallelInitialLoadThrowsOnNonPositiveDeadline() {
+    assertThatThrownBy(() -> builder.withParallelInitialLoad(0, TimeUnit.SECONDS))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.withParallelInitialLoad(-1, TimeUnit.SECONDS))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static class TestConfigurationSource implements ConfigurationSource {
+
+    private final String key;
+    private final CyclicBarrier barrier;
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    TestConfigurationSource(String key, CyclicBarrier barrier) {
+      this.key = key;
+      this.barrier = barrier;
+    }
+
+    @Override
+    public Properties getConfiguration(Environment environment) {
+      fetches.incrementAndGet();
+      awaitBarrier();
+
+      Properties properties = new Properties();
+      properties.put(key, "value");
+      return properties;
+    }
+
+    @Override
+    public void init() {
+      awaitBarrier();
+    }
+
+    private void awaitBarrier() {
+      if (barrier != null) {
+        try {
+          barrier.await(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+          throw new IllegalStateException(e);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+
+class MethodBindingTest {
+
+  interface ConfigPojo {
+    List<Integer> someSetting();
+  }
+
+  @Test
+  void prependsPrefixToKey() throws Exception {
+    MethodBinding binding = MethodBinding.of("myContext", ConfigPojo.class.getMethod("someSetting"));
+
+    assertThat(binding.getKey()).isEqualTo("myContext.someSetting");
+  }
+
+  @Test
+  void usesMethodNameAsKeyForEmptyPrefix() throws Exception {
+    MethodBinding binding = MethodBinding.of("", ConfigPojo.class.getMethod("someSetting"));
+
+    assertThat(binding.getKey()).isEqualTo("someSetting");
+  }
+
+  @Test
+  void resolvesGenericReturnType() throws Exception {
+    MethodBinding binding = MethodBinding.of("", ConfigPojo.class.getMethod("someSetting"));
+
+    assertThat(binding.getType().getType()).isEqualTo(ConfigPojo.class.getMethod("someSetting").getGenericReturnType());
+  }
+
+  @Test
+  void marksObjectMethods() throws Exception {
+    assertThat(MethodBinding.of("", Object.class.getMethod("hashCode"))).isSameAs(MethodBinding.OBJECT_METHOD);
+    assertThat(MethodBinding.of("", Object.class.getMethod("equals", Object.class))).isSameAs(MethodBinding.OBJECT_METHOD);
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+class PropertyValueCacheTest {
+
+  private PropertyValueCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = new PropertyValueCache();
+  }
+
+  @Test
+  void getReturnsMissingForUnknownKey() {
+    assertThat(cache.get("some.property", Integer.class)).isSameAs(PropertyValueCache.MISSING);
+  }
+
+  @Test
+  void getReturnsMissingForUnknownType() {
+    cache.put("some.property", Integer.class, 1);
+
+    assertThat(cache.get("some.property", Long.class)).isSameAs(PropertyValueCache.MISSING);
+  }
+
+  @Test
+  void getReturnsStoredValue() {
+    cache.put("some.property", Integer.class, 1);
+
+    assertThat(cache.get("some.property", Integer.class)).isEqualTo(1);
+  }
+
+  @Test
+  void getReturnsStoredNull() {
+    cache.put("some.property", Integer.class, null);
+
+    assertThat(cache.get("some.property", Integer.class)).isNull();
+  }
+
+  @Test
+  void getReturnsCopyOfStoredArray() {
+    String[][] value = {{"a"}, {"b", "c"}};
+    cache.put("some.property", String[][].class, value);
+
+    String[][] cached = (String[][]) cache.get("some.property", String[][].class);
+    cached[1][0] = "d";
+
+    assertThat(cached).isNotSameAs(value);
+    assertThat(cache.get("some.property", String[][].class)).isEqualTo(new String[][]{{"a"}, {"b", "c"}});
+  }
+
+  @Test
+  void putIgnoresMutableValues() {
+    List<String> value = new ArrayList<>(Arrays.asList("a", "b"));
+    cache.put("some.property", List.class, value);
+
+    assertThat(cache.get("some.property", List.class)).isSameAs(PropertyValueCache.MISSING);
+  }
+
+  @Test
+  void putIgnoresArraysOfMutableValues() {
+    cache.put("some.property", List[].class, new List<?>[]{new ArrayList<>()});
+
+    assertThat(cache.get("some.property", List[].class)).isSameAs(PropertyValueCache.MISSING);
+  }
+}
@@ -17,10 +17,12 @@ package org.cfg4j.provider;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
+import org.cfg4j.source.reload.ConfigurationSnapshot;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
@@ -95,6 +97,18 @@ class SimpleConfigurationProviderGetPropertyTest extends SimpleConfigurationProv
     assertThat(property).isFalse();
   }
 
+  @Test
+  void getProperty2ReactsToChangesOfReturnedProperties() {
+    Properties properties = propertiesWith("some.property", "true");
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(properties);
+
+    assertThat(simpleConfigurationProvider.getProperty("some.property", Boolean.class)).isTrue();
+
+    properties.put("some.property", "false");
+
+    assertThat(simpleConfigurationProvider.getProperty("some.property", Boolean.class)).isFalse();
+  }
+
   @Test
   void getProperty2ReturnsArrayPropertyFromSource() {
     when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("some.property", "42.5, 99.9999"));
@@ -152,6 +166,59 @@ class SimpleConfigurationProviderGetPropertyTest extends SimpleConfigurationProv
 
   }
 
+  @Test
+  void getProperty2ReturnsIndependentArrays() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("some.property", "42.5, 99.9999"));
+
+    double[] property = simpleConfigurationProvider.getProperty("some.property", double[].class);
+    property[0] = 0;
+
+    assertThat(simpleConfigurationProvider.getProperty("some.property", double[].class)).containsExactly(42.5, 99.9999);
+  }
+
+  @Test
+  void getProperty2ConvertsSameKeyToDifferentTypes() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("some.property", "1"));
+
+    assertThat(simpleConfigurationProvider.getProperty("some.property", Integer.class)).isEqualTo(1);
+    assertThat(simpleConfigurationProvider.getProperty("some.property", String.class)).isEqualTo("1");
+  }
+
+  @Test
+  void getProperty3ReturnsIndependentCollections() {
+    when(configurationSource.getConfiguration(anyEnvironment())).thenReturn(propertiesWith("some.property", "1,2"));
+
+    List<Integer> properties = simpleConfigurationProvider.getProperty("some.property", new GenericType<List<Integer>>() {
+    });
+    properties.add(3);
+
+    assertThat(simpleConfigurationProvider.<List<Integer>>getProperty("some.property", new GenericType<List<Integer>>() {
+    })).containsExactly(1, 2);
+  }
+
+  @Test
+  void getPropertyReadsSnapshotOfSource() {
+    when(configurationSource.getSnapshot(anyEnvironment())).thenReturn(new ConfigurationSnapshot(propertiesWith("some.property", "1"), 1));
+
+    assertThat(simpleConfigurationProvider.getProperty("some.property", Integer.class)).isEqualTo(1);
+    verify(configurationSource, never()).getConfiguration(anyEnvironment());
+  }
+
+  @Test
+  void getPropertyKeepsConvertedValuesOfEachSnapshot() {
+    ConfigurationSnapshot snapshot = new ConfigurationSnapshot(propertiesWith("some.property", "1"), 1);
+    ConfigurationSnapshot otherSnapshot = new ConfigurationSnapshot(propertiesWith("some.property", "2"), 2);
+    when(configurationSource.getSnapshot(anyEnvironment())).thenReturn(snapshot, otherSnapshot);
+
+    simpleConfigurationProvider.getProperty("some.property", Integer.class);
+    simpleConfigurationProvider.getProperty("some.property", Integer.class);
+
+    assertThat(snapshot.getAttachment(PropertyValueCache.class, PropertyValueCache::new).get("some.property", Integer.class))
+        .isEqualTo(1);
+    assertThat(otherSnapshot.getAttachment(PropertyValueCache.class, PropertyValueCache::new).get("some.property", Integer.class))
+        .isEqualTo(2);
+  }
+
   @Test
   void getPropertyReturnsPropertyForProperEnvironment() {
     when(configurationSource.getConfiguration(environment)).thenReturn(propertiesWith("some.property", "1"));
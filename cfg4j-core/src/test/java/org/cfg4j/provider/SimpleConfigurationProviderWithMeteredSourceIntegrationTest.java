@@ -45,7 +45,13 @@ class SimpleConfigurationProviderWithMeteredSourceIntegrationTest {
         "testService.getPropertyGeneric",
         "testService.bind",
         "testService.source.getConfiguration",
+        "testService.source.getConfigurationAsync",
+        "testService.source.getFingerprint",
+        "testService.source.fetchConfiguration",
+        "testService.source.fetchConfigurationAsync",
+        "testService.source.getSnapshot",
         "testService.source.init",
+        "testService.source.initAsync",
         "testService.reloadable.reload"
     );
   }
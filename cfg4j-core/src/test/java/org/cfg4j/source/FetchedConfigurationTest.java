@@ -0,0 +1,57 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+
+class FetchedConfigurationTest {
+
+  @Test
+  void ofHoldsConfigurationAndFingerprint() {
+    Properties properties = new Properties();
+
+    FetchedConfiguration fetched = FetchedConfiguration.of(properties, "fingerprint");
+
+    assertThat(fetched.isChanged()).isTrue();
+    assertThat(fetched.getConfiguration()).isSameAs(properties);
+    assertThat(fetched.getFingerprint()).isEqualTo("fingerprint");
+  }
+
+  @Test
+  void ofAcceptsUnknownFingerprint() {
+    assertThat(FetchedConfiguration.of(new Properties(), null).getFingerprint()).isNull();
+  }
+
+  @Test
+  void unchangedHoldsNoConfiguration() {
+    FetchedConfiguration fetched = FetchedConfiguration.unchanged("fingerprint");
+
+    assertThat(fetched.isChanged()).isFalse();
+    assertThat(fetched.getConfiguration()).isNull();
+    assertThat(fetched.getFingerprint()).isEqualTo("fingerprint");
+  }
+
+  @Test
+  void unchangedRequiresFingerprint() {
+    assertThatThrownBy(() -> FetchedConfiguration.unchanged(null)).isExactlyInstanceOf(NullPointerException.class);
+  }
+}
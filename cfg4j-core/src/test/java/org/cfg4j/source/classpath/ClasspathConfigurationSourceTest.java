@@ -17,6 +17,10 @@ package org.cfg4j.source.classpath;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import org.assertj.core.data.MapEntry;
 import org.cfg4j.source.context.environment.DefaultEnvironment;
@@ -24,12 +28,18 @@ import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.ImmutableEnvironment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
 import org.cfg4j.source.context.filesprovider.ConfigFilesProvider;
+import org.cfg4j.source.context.propertiesprovider.JsonBasedPropertiesProvider;
+import org.cfg4j.source.context.propertiesprovider.PropertiesProvider;
+import org.cfg4j.source.context.propertiesprovider.PropertiesProviderSelector;
+import org.cfg4j.source.context.propertiesprovider.PropertyBasedPropertiesProvider;
+import org.cfg4j.source.context.propertiesprovider.YamlBasedPropertiesProvider;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.InputStream;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
@@ -107,4 +117,80 @@ class ClasspathConfigurationSourceTest {
     assertThatThrownBy(() -> source.getConfiguration(new DefaultEnvironment())).isExactlyInstanceOf(IllegalStateException.class);
   }
 
-}
\ No newline at end of file
+  @Test
+  void getConfigurationParsesEachResourceOnce() {
+    PropertiesProvider propertiesProvider = spy(new PropertyBasedPropertiesProvider());
+    source = new ClasspathConfigurationSource(() -> Collections.singletonList(Paths.get("application.properties")),
+        new PropertiesProviderSelector(propertiesProvider, new YamlBasedPropertiesProvider(), new JsonBasedPropertiesProvider()));
+
+    source.getConfiguration(new DefaultEnvironment());
+    source.getConfiguration(new DefaultEnvironment());
+
+    verify(propertiesProvider, times(1)).getProperties(any(InputStream.class));
+  }
+
+  @Test
+  void getConfigurationParsesResourcesOfEachEnvironment() {
+    source.getConfiguration(new DefaultEnvironment());
+
+    assertThat(source.getConfiguration(new ImmutableEnvironment("otherApplicationConfigs")))
+        .containsOnly(MapEntry.entry("some.setting", "otherAppSetting"));
+  }
+
+  @Test
+  void getConfigurationReturnsIndependentCopies() {
+    Environment environment = new ImmutableEnvironment("otherApplicationConfigs");
+
+    source.getConfiguration(environment).put("some.setting", "modified");
+
+    assertThat(source.getConfiguration(environment)).containsOnly(MapEntry.entry("some.setting", "otherAppSetting"));
+  }
+
+  @Test
+  void getConfigurationServesCachedResourcesAfterChange() throws Exception {
+    source.getConfiguration(new DefaultEnvironment());
+
+    classpathRepo.changeProperty("application.properties", "some.setting", "changedValue");
+
+    assertThat(source.getConfiguration(new DefaultEnvironment())).doesNotContainEntry("some.setting", "changedValue");
+  }
+
+  @Test
+  void getConfigurationReadsChangedResourcesWhenCachingDisabled() throws Exception {
+    source = uncachedSource();
+    source.getConfiguration(new DefaultEnvironment());
+
+    classpathRepo.changeProperty("application.properties", "some.setting", "changedValue");
+
+    assertThat(source.getConfiguration(new DefaultEnvironment())).containsEntry("some.setting", "changedValue");
+  }
+
+  @Test
+  void getFingerprintIsStableWhenResourcesAreCached() {
+    Environment environment = new ImmutableEnvironment("otherApplicationConfigs");
+
+    assertThat(source.getFingerprint(environment)).isNotNull().isEqualTo(source.getFingerprint(environment));
+  }
+
+  @Test
+  void getFingerprintDiffersBetweenEnvironments() {
+    assertThat(source.getFingerprint(new ImmutableEnvironment("otherApplicationConfigs")))
+        .isNotEqualTo(source.getFingerprint(new DefaultEnvironment()));
+  }
+
+  @Test
+  void getFingerprintReturnsNullOnMissingEnvironment() {
+    assertThat(source.getFingerprint(new ImmutableEnvironment("awlerijawoetinawwerlkjn"))).isNull();
+  }
+
+  @Test
+  void getFingerprintReturnsNullWhenCachingDisabled() {
+    assertThat(uncachedSource().getFingerprint(new DefaultEnvironment())).isNull();
+  }
+
+  private ClasspathConfigurationSource uncachedSource() {
+    return new ClasspathConfigurationSource(() -> Collections.singletonList(Paths.get("application.properties")),
+        new PropertiesProviderSelector(new PropertyBasedPropertiesProvider(), new YamlBasedPropertiesProvider(),
+            new JsonBasedPropertiesProvider()), false);
+  }
+}
@@ -18,22 +18,34 @@ package org.cfg4j.source.compose;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.assertj.core.data.MapEntry;
 import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.FetchedConfiguration;
 import org.cfg4j.source.SourceCommunicationException;
 import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 
 class FallbackConfigurationSourceTest {
@@ -44,6 +56,7 @@ class FallbackConfigurationSourceTest {
 
   private ConfigurationSource[] underlyingSources;
   private FallbackConfigurationSource fallbackConfigurationSource;
+  private ExecutorService executor;
 
   @BeforeEach
   void setUp() {
@@ -54,6 +67,12 @@ class FallbackConfigurationSourceTest {
 
     fallbackConfigurationSource = new FallbackConfigurationSource(underlyingSources);
     fallbackConfigurationSource.init();
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
   }
 
   @Test
@@ -80,6 +99,213 @@ class FallbackConfigurationSourceTest {
         .containsOnly(MapEntry.entry("prop1", "value1"));
   }
 
+  @Test
+  void getConfigurationAsyncFailsWhenAllSourcesThrowOnMissingEnvironment() {
+    makeAllSourcesThrow(new MissingEnvironmentException(""));
+    callRealAsyncMethods();
+
+    assertThatThrownBy(() -> fallbackConfigurationSource.getConfigurationAsync(mock(Environment.class), executor).join())
+        .hasCauseExactlyInstanceOf(MissingEnvironmentException.class);
+  }
+
+  @Test
+  void getConfigurationAsyncFailsWhenAllSourcesThrow() {
+    makeAllSourcesThrow(new IllegalStateException());
+    callRealAsyncMethods();
+
+    assertThatThrownBy(() -> fallbackConfigurationSource.getConfigurationAsync(mock(Environment.class), executor).join())
+        .hasCauseExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void getConfigurationAsyncSelectsFirstAvailableConfiguration() {
+    makeAllSourcesThrow(new IllegalStateException());
+    underlyingSources[LAST_SOURCE_INDEX] = mock(ConfigurationSource.class);
+    when(underlyingSources[LAST_SOURCE_INDEX].getConfiguration(any(Environment.class))).thenReturn(getProps("prop1", "value1")[0]);
+    callRealAsyncMethods();
+
+    assertThat(fallbackConfigurationSource.getConfigurationAsync(mock(Environment.class), executor).join())
+        .containsOnly(MapEntry.entry("prop1", "value1"));
+  }
+
+  @Test
+  void getConfigurationAsyncDoesNotCallSourcesAfterFirstAvailable() {
+    when(underlyingSources[0].getConfiguration(any(Environment.class))).thenReturn(getProps("prop1", "value1")[0]);
+    callRealAsyncMethods();
+
+    fallbackConfigurationSource.getConfigurationAsync(mock(Environment.class), executor).join();
+
+    verify(underlyingSources[1], never()).getConfiguration(any(Environment.class));
+  }
+
+  @Test
+  void initAsyncFailsWhenAllSourcesThrow() {
+    makeAllSourcesThrow(new IllegalStateException());
+    callRealAsyncMethods();
+
+    assertThatThrownBy(() -> fallbackConfigurationSource.initAsync(executor).join())
+        .hasCauseExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void initAsyncIgnoresExceptionsIfAtLeastOneSourceSucceeds() {
+    makeAllSourcesThrow(new SourceCommunicationException("", null));
+    doNothing().when(underlyingSources[LAST_SOURCE_INDEX]).init();
+    callRealAsyncMethods();
+
+    fallbackConfigurationSource.initAsync(executor).join();
+  }
+
+  @Test
+  void hedgedGetConfigurationUsesSecondSourceWhenFirstIsSlow() {
+    CountDownLatch released = new CountDownLatch(1);
+    when(underlyingSources[0].getConfiguration(any(Environment.class))).then(invocation -> {
+      released.await(5, TimeUnit.SECONDS);
+      return getProps("prop", "first")[0];
+    });
+    when(underlyingSources[1].getConfiguration(any(Environment.class))).thenReturn(getProps("prop", "second")[0]);
+
+    try {
+      assertThat(getHedgedSource(10, TimeUnit.MILLISECONDS).getConfiguration(mock(Environment.class)))
+          .containsOnly(MapEntry.entry("prop", "second"));
+    } finally {
+      released.countDown();
+    }
+  }
+
+  @Test
+  void hedgedGetConfigurationDoesNotCallSecondSourceWhenFirstResponds() {
+    when(underlyingSources[0].getConfiguration(any(Environment.class))).thenReturn(getProps("prop", "first")[0]);
+
+    assertThat(getHedgedSource(10, TimeUnit.SECONDS).getConfiguration(mock(Environment.class)))
+        .containsOnly(MapEntry.entry("prop", "first"));
+    verify(underlyingSources[1], never()).getConfiguration(any(Environment.class));
+  }
+
+  @Test
+  void hedgedGetConfigurationCallsSecondSourceWhenFirstFails() {
+    when(underlyingSources[0].getConfiguration(any(Environment.class))).thenThrow(new IllegalStateException());
+    when(underlyingSources[1].getConfiguration(any(Environment.class))).thenReturn(getProps("prop", "second")[0]);
+
+    assertThat(getHedgedSource(10, TimeUnit.MINUTES).getConfiguration(mock(Environment.class)))
+        .containsOnly(MapEntry.entry("prop", "second"));
+  }
+
+  @Test
+  void hedgedGetConfigurationFallsBackToRemainingSourcesWhenRacedSourcesFail() {
+    makeAllSourcesThrow(new IllegalStateException());
+    underlyingSources[LAST_SOURCE_INDEX] = mock(ConfigurationSource.class);
+    when(underlyingSources[LAST_SOURCE_INDEX].getConfiguration(any(Environment.class))).thenReturn(getProps("prop", "last")[0]);
+
+    assertThat(getHedgedSource(10, TimeUnit.MILLISECONDS).getConfiguration(mock(Environment.class)))
+        .containsOnly(MapEntry.entry("prop", "last"));
+  }
+
+  @Test
+  void hedgedGetConfigurationThrowsWhenAllSourcesThrowOnMissingEnvironment() {
+    makeAllSourcesThrow(new MissingEnvironmentException(""));
+    FallbackConfigurationSource source = getHedgedSource(10, TimeUnit.MILLISECONDS);
+
+    assertThatThrownBy(() -> source.getConfiguration(mock(Environment.class)))
+        .isExactlyInstanceOf(MissingEnvironmentException.class);
+  }
+
+  @Test
+  void hedgedGetConfigurationThrowsWhenAllSourcesThrow() {
+    makeAllSourcesThrow(new IllegalStateException());
+    FallbackConfigurationSource source = getHedgedSource(10, TimeUnit.MILLISECONDS);
+
+    assertThatThrownBy(() -> source.getConfiguration(mock(Environment.class)))
+        .isExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void hedgedGetConfigurationAsyncDoesNotBlockSharedExecutor() throws Exception {
+    ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+    when(underlyingSources[0].getConfiguration(any(Environment.class))).thenReturn(getProps("prop", "first")[0]);
+    callRealAsyncMethods();
+
+    try {
+      FallbackConfigurationSource source = new FallbackConfigurationSource(singleThreadExecutor, 10, TimeUnit.SECONDS,
+          underlyingSources);
+
+      assertThat(source.getConfigurationAsync(mock(Environment.class), singleThreadExecutor).get(5, TimeUnit.SECONDS))
+          .containsOnly(MapEntry.entry("prop", "first"));
+    } finally {
+      singleThreadExecutor.shutdownNow();
+    }
+  }
+
+  @Test
+  void getFingerprintIdentifiesFirstSource() {
+    when(underlyingSources[0].getFingerprint(any(Environment.class))).thenReturn("fingerprint");
+
+    assertThat(fallbackConfigurationSource.getFingerprint(mock(Environment.class))).isEqualTo("0:fingerprint");
+  }
+
+  @Test
+  void hedgedGetFingerprintIsUnknown() {
+    when(underlyingSources[0].getFingerprint(any(Environment.class))).thenReturn("fingerprint");
+
+    assertThat(getHedgedSource(10, TimeUnit.MILLISECONDS).getFingerprint(mock(Environment.class))).isNull();
+  }
+
+  @Test
+  void fetchConfigurationPassesFingerprintToSourceThatProvidedIt() {
+    when(underlyingSources[0].fetchConfiguration(any(Environment.class), eq("fingerprint")))
+        .thenReturn(FetchedConfiguration.unchanged("fingerprint"));
+
+    FetchedConfiguration fetched = fallbackConfigurationSource.fetchConfiguration(mock(Environment.class), "0:fingerprint");
+
+    assertThat(fetched.isChanged()).isFalse();
+    assertThat(fetched.getFingerprint()).isEqualTo("0:fingerprint");
+  }
+
+  @Test
+  void fetchConfigurationDoesNotPassFingerprintToOtherSources() {
+    when(underlyingSources[0].fetchConfiguration(any(Environment.class), any())).thenThrow(new IllegalStateException());
+    when(underlyingSources[1].fetchConfiguration(any(Environment.class), isNull()))
+        .thenReturn(FetchedConfiguration.of(getProps("prop", "second")[0], "fingerprint"));
+
+    FetchedConfiguration fetched = fallbackConfigurationSource.fetchConfiguration(mock(Environment.class), "0:fingerprint");
+
+    assertThat(fetched.getConfiguration()).containsOnly(MapEntry.entry("prop", "second"));
+    assertThat(fetched.getFingerprint()).isEqualTo("1:fingerprint");
+  }
+
+  @Test
+  void hedgedFetchConfigurationAsyncKeepsFingerprintOfSourceThatProvidedIt() {
+    when(underlyingSources[0].getFingerprint(any(Environment.class))).thenThrow(new IllegalStateException());
+    when(underlyingSources[1].getFingerprint(any(Environment.class))).thenReturn("fingerprint");
+    callRealAsyncMethods();
+
+    FetchedConfiguration fetched = getHedgedSource(10, TimeUnit.MINUTES)
+        .fetchConfigurationAsync(mock(Environment.class), "1:fingerprint", executor).join();
+
+    assertThat(fetched.isChanged()).isFalse();
+    assertThat(fetched.getFingerprint()).isEqualTo("1:fingerprint");
+  }
+
+  @Test
+  void parallelInitInitializesAllSourcesConcurrently() {
+    CyclicBarrier allSourcesInitializing = new CyclicBarrier(underlyingSources.length);
+    for (ConfigurationSource underlyingSource : underlyingSources) {
+      doAnswer(invocation -> allSourcesInitializing.await(5, TimeUnit.SECONDS)).when(underlyingSource).init();
+    }
+    callRealAsyncMethods();
+
+    new FallbackConfigurationSource(executor, underlyingSources).init();
+  }
+
+  @Test
+  void parallelInitThrowsWhenAllSourcesThrow() {
+    makeAllSourcesThrow(new IllegalStateException());
+    callRealAsyncMethods();
+    FallbackConfigurationSource source = new FallbackConfigurationSource(executor, underlyingSources);
+
+    assertThatThrownBy(source::init).isExactlyInstanceOf(IllegalStateException.class);
+  }
+
   @Test
   void initInitializesAllSources() {
     for (ConfigurationSource underlyingSource : underlyingSources) {
@@ -110,6 +336,18 @@ class FallbackConfigurationSourceTest {
     fallbackConfigurationSource.init();
   }
 
+  private FallbackConfigurationSource getHedgedSource(long hedgeDelay, TimeUnit timeUnit) {
+    return new FallbackConfigurationSource(executor, hedgeDelay, timeUnit, underlyingSources);
+  }
+
+  private void callRealAsyncMethods() {
+    for (ConfigurationSource underlyingSource : underlyingSources) {
+      doCallRealMethod().when(underlyingSource).getConfigurationAsync(any(), any());
+      doCallRealMethod().when(underlyingSource).fetchConfigurationAsync(any(), any(), any());
+      doCallRealMethod().when(underlyingSource).initAsync(any());
+    }
+  }
+
   private void makeAllSourcesThrow(Throwable exception) {
     for (ConfigurationSource underlyingSource : underlyingSources) {
       when(underlyingSource.getConfiguration(any(Environment.class))).thenThrow(exception);
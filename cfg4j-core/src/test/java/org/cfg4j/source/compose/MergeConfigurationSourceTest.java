@@ -19,20 +19,30 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.assertj.core.data.MapEntry;
 import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.FetchedConfiguration;
 import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.ImmutableEnvironment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.mockito.ArgumentMatchers;
 
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 
 class MergeConfigurationSourceTest {
@@ -42,17 +52,24 @@ class MergeConfigurationSourceTest {
 
   private ConfigurationSource[] underlyingSources;
   private MergeConfigurationSource mergeConfigurationSource;
+  private ExecutorService executor;
 
   @BeforeEach
   void setUp() {
     underlyingSources = new ConfigurationSource[5];
     for (int i = 0; i < underlyingSources.length; i++) {
-      underlyingSources[i] = mock(ConfigurationSource.class);
+      underlyingSources[i] = mock(ConfigurationSource.class, Answers.CALLS_REAL_METHODS);
       when(underlyingSources[i].getConfiguration(any(Environment.class))).thenReturn(new Properties());
     }
 
     mergeConfigurationSource = new MergeConfigurationSource(underlyingSources);
     mergeConfigurationSource.init();
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
   }
 
   @Test
@@ -88,6 +105,366 @@ class MergeConfigurationSourceTest {
     assertThat(mergeConfigurationSource.getConfiguration(environment)).containsOnly(MapEntry.entry("prop", "value2"));
   }
 
+  @Test
+  void getConfigurationUpdatesKeysChangedInOneSource() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithProps(environment, "prop1", "value1", "prop2", "value2");
+    mergeConfigurationSource.getConfiguration(environment);
+
+    when(underlyingSources[1].getConfiguration(environment)).thenReturn(getProps("prop2", "changed")[0]);
+
+    assertThat(mergeConfigurationSource.getConfiguration(environment)).containsOnly(MapEntry.entry("prop1", "value1"),
+        MapEntry.entry("prop2", "changed"));
+  }
+
+  @Test
+  void getConfigurationRestoresLowerPrecedenceValueOfKeyRemovedFromSource() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithProps(environment, "prop", "value1", "prop", "value2");
+    mergeConfigurationSource.getConfiguration(environment);
+
+    when(underlyingSources[1].getConfiguration(environment)).thenReturn(new Properties());
+
+    assertThat(mergeConfigurationSource.getConfiguration(environment)).containsOnly(MapEntry.entry("prop", "value1"));
+  }
+
+  @Test
+  void getConfigurationRemovesKeyRemovedFromAllSources() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithProps(environment, "prop1", "value1", "prop2", "value2");
+    mergeConfigurationSource.getConfiguration(environment);
+
+    when(underlyingSources[0].getConfiguration(environment)).thenReturn(new Properties());
+
+    assertThat(mergeConfigurationSource.getConfiguration(environment)).containsOnly(MapEntry.entry("prop2", "value2"));
+  }
+
+  @Test
+  void getConfigurationKeepsHigherPrecedenceValueWhenLowerPrecedenceSourceChanges() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithProps(environment, "prop", "value1", "prop", "value2");
+    mergeConfigurationSource.getConfiguration(environment);
+
+    when(underlyingSources[0].getConfiguration(environment)).thenReturn(getProps("prop", "changed")[0]);
+
+    assertThat(mergeConfigurationSource.getConfiguration(environment)).containsOnly(MapEntry.entry("prop", "value2"));
+  }
+
+  @Test
+  void getConfigurationReturnsIndependentCopies() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithProps(environment, "prop", "value");
+
+    mergeConfigurationSource.getConfiguration(environment).put("prop", "modified");
+
+    assertThat(mergeConfigurationSource.getConfiguration(environment)).containsOnly(MapEntry.entry("prop", "value"));
+  }
+
+  @Test
+  void getConfigurationMergesEnvironmentsIndependently() {
+    Environment environment = new ImmutableEnvironment("test");
+    Environment otherEnvironment = new ImmutableEnvironment("other");
+    sourcesWithProps(environment, "prop", "value");
+    sourcesWithProps(otherEnvironment, "otherProp", "otherValue");
+    mergeConfigurationSource.getConfiguration(environment);
+
+    assertThat(mergeConfigurationSource.getConfiguration(otherEnvironment))
+        .containsOnly(MapEntry.entry("otherProp", "otherValue"));
+  }
+
+  @Test
+  void getConfigurationSkipsSourcesWithUnchangedFingerprint() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithProps(environment, "prop1", "value1", "prop2", "value2");
+    sourcesWithFingerprints(environment);
+    mergeConfigurationSource.getConfiguration(environment);
+
+    assertThat(mergeConfigurationSource.getConfiguration(environment)).containsOnly(MapEntry.entry("prop1", "value1"),
+        MapEntry.entry("prop2", "value2"));
+    for (ConfigurationSource underlyingSource : underlyingSources) {
+      verify(underlyingSource, times(1)).getConfiguration(environment);
+    }
+  }
+
+  @Test
+  void getConfigurationFetchesSourceWithChangedFingerprint() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithProps(environment, "prop1", "value1", "prop2", "value2");
+    sourcesWithFingerprints(environment);
+    mergeConfigurationSource.getConfiguration(environment);
+
+    when(underlyingSources[1].getFingerprint(environment)).thenReturn("changed");
+    when(underlyingSources[1].getConfiguration(environment)).thenReturn(getProps("prop2", "changed")[0]);
+
+    assertThat(mergeConfigurationSource.getConfiguration(environment)).containsOnly(MapEntry.entry("prop1", "value1"),
+        MapEntry.entry("prop2", "changed"));
+    verify(underlyingSources[0], times(1)).getConfiguration(environment);
+    verify(underlyingSources[1], times(2)).getConfiguration(environment);
+  }
+
+  @Test
+  void getConfigurationFetchesSourcesWithoutFingerprintEachTime() {
+    Environment environment = new ImmutableEnvironment("test");
+    mergeConfigurationSource.getConfiguration(environment);
+
+    mergeConfigurationSource.getConfiguration(environment);
+
+    for (ConfigurationSource underlyingSource : underlyingSources) {
+      verify(underlyingSource, times(2)).getConfiguration(environment);
+    }
+  }
+
+  @Test
+  void getConfigurationIgnoresFingerprintsRequestedEarlier() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithProps(environment, "prop1", "value1", "prop2", "value2");
+    sourcesWithFingerprints(environment);
+    mergeConfigurationSource.getConfiguration(environment);
+    mergeConfigurationSource.getFingerprint(environment);
+
+    when(underlyingSources[1].getFingerprint(environment)).thenReturn("changed");
+    when(underlyingSources[1].getConfiguration(environment)).thenReturn(getProps("prop2", "changed")[0]);
+
+    assertThat(mergeConfigurationSource.getConfiguration(environment)).containsOnly(MapEntry.entry("prop1", "value1"),
+        MapEntry.entry("prop2", "changed"));
+  }
+
+  @Test
+  void fetchConfigurationReturnsFingerprintOfMergedConfiguration() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithFingerprints(environment);
+
+    assertThat(mergeConfigurationSource.fetchConfiguration(environment, null).getFingerprint())
+        .isNotNull()
+        .isEqualTo(mergeConfigurationSource.getFingerprint(environment));
+  }
+
+  @Test
+  void fetchConfigurationReturnsUnchangedWhenFingerprintEqualsCachedOne() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithFingerprints(environment);
+    String fingerprint = mergeConfigurationSource.fetchConfiguration(environment, null).getFingerprint();
+
+    FetchedConfiguration fetched = mergeConfigurationSource.fetchConfiguration(environment, fingerprint);
+
+    assertThat(fetched.isChanged()).isFalse();
+    assertThat(fetched.getFingerprint()).isEqualTo(fingerprint);
+  }
+
+  @Test
+  void fetchConfigurationReturnsChangedConfigurationWithNewFingerprint() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithProps(environment, "prop1", "value1", "prop2", "value2");
+    sourcesWithFingerprints(environment);
+    String fingerprint = mergeConfigurationSource.fetchConfiguration(environment, null).getFingerprint();
+
+    when(underlyingSources[1].getFingerprint(environment)).thenReturn("changed");
+    when(underlyingSources[1].getConfiguration(environment)).thenReturn(getProps("prop2", "changed")[0]);
+    FetchedConfiguration fetched = mergeConfigurationSource.fetchConfiguration(environment, fingerprint);
+
+    assertThat(fetched.getConfiguration()).containsOnly(MapEntry.entry("prop1", "value1"),
+        MapEntry.entry("prop2", "changed"));
+    assertThat(fetched.getFingerprint()).isEqualTo(mergeConfigurationSource.getFingerprint(environment));
+  }
+
+  @Test
+  void fetchConfigurationReusesMergedConfigurationWhenSourcesUnchanged() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithProps(environment, "prop1", "value1", "prop2", "value2");
+
+    assertThat(mergeConfigurationSource.fetchConfiguration(environment, null).getConfiguration())
+        .isSameAs(mergeConfigurationSource.fetchConfiguration(environment, null).getConfiguration());
+  }
+
+  @Test
+  void fetchConfigurationReusesMergedConfigurationWhenSourceReturnsEqualConfiguration() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithProps(environment, "prop1", "value1", "prop2", "value2");
+    Properties previous = mergeConfigurationSource.fetchConfiguration(environment, null).getConfiguration();
+
+    when(underlyingSources[1].getConfiguration(environment)).thenReturn(getProps("prop2", "value2")[0]);
+
+    assertThat(mergeConfigurationSource.fetchConfiguration(environment, null).getConfiguration()).isSameAs(previous);
+  }
+
+  @Test
+  void fetchConfigurationReusesMergedConfigurationWhenOnlyOverriddenKeyChanges() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithProps(environment, "prop", "value1", "prop", "value2");
+    Properties previous = mergeConfigurationSource.fetchConfiguration(environment, null).getConfiguration();
+
+    when(underlyingSources[0].getConfiguration(environment)).thenReturn(getProps("prop", "changed")[0]);
+
+    assertThat(mergeConfigurationSource.fetchConfiguration(environment, null).getConfiguration()).isSameAs(previous);
+  }
+
+  @Test
+  void fetchConfigurationDoesNotModifyPreviouslyReturnedConfiguration() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithProps(environment, "prop1", "value1", "prop2", "value2");
+    Properties previous = mergeConfigurationSource.fetchConfiguration(environment, null).getConfiguration();
+
+    when(underlyingSources[1].getConfiguration(environment)).thenReturn(getProps("prop2", "changed")[0]);
+    mergeConfigurationSource.fetchConfiguration(environment, null);
+
+    assertThat(previous).containsOnly(MapEntry.entry("prop1", "value1"), MapEntry.entry("prop2", "value2"));
+  }
+
+  @Test
+  void getFingerprintCombinesFingerprintsOfAllSources() {
+    Environment environment = new ImmutableEnvironment("test");
+    for (int i = 0; i < underlyingSources.length; i++) {
+      when(underlyingSources[i].getFingerprint(environment)).thenReturn("fingerprint" + i);
+    }
+
+    String fingerprint = mergeConfigurationSource.getFingerprint(environment);
+    when(underlyingSources[2].getFingerprint(environment)).thenReturn("changed");
+
+    assertThat(fingerprint).isNotNull().isNotEqualTo(mergeConfigurationSource.getFingerprint(environment));
+  }
+
+  @Test
+  void getFingerprintReturnsNullWhenOneOfSourcesHasNoFingerprint() {
+    Environment environment = new ImmutableEnvironment("test");
+    for (int i = 0; i < underlyingSources.length - 1; i++) {
+      when(underlyingSources[i].getFingerprint(environment)).thenReturn("fingerprint" + i);
+    }
+
+    assertThat(mergeConfigurationSource.getFingerprint(environment)).isNull();
+  }
+
+  @Test
+  void getConfigurationAsyncFetchesFromAllSourcesConcurrently() throws Exception {
+    CyclicBarrier allSourcesFetching = new CyclicBarrier(underlyingSources.length);
+    for (ConfigurationSource underlyingSource : underlyingSources) {
+      when(underlyingSource.getConfiguration(any(Environment.class))).then(invocation -> {
+        allSourcesFetching.await(5, TimeUnit.SECONDS);
+        return new Properties();
+      });
+    }
+
+    assertThat(mergeConfigurationSource.getConfigurationAsync(new ImmutableEnvironment("test"), executor)
+        .get(10, TimeUnit.SECONDS)).isEmpty();
+  }
+
+  @Test
+  void getConfigurationAsyncMergesConfigurationsWithCollidingKeys() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithProps(environment, "prop", "value1", "prop", "value2");
+
+    assertThat(mergeConfigurationSource.getConfigurationAsync(environment, executor).join())
+        .containsOnly(MapEntry.entry("prop", "value2"));
+  }
+
+  @Test
+  void getConfigurationAsyncFailsWhenOneOfSourcesThrows() {
+    when(underlyingSources[3].getConfiguration(ArgumentMatchers.any())).thenThrow(new IllegalStateException());
+
+    assertThatThrownBy(() -> mergeConfigurationSource.getConfigurationAsync(new ImmutableEnvironment("test"), executor).join())
+        .hasCauseExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void getConfigurationAsyncSkipsSourcesWithUnchangedFingerprint() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithProps(environment, "prop1", "value1", "prop2", "value2");
+    sourcesWithFingerprints(environment);
+    mergeConfigurationSource.getConfigurationAsync(environment, executor).join();
+
+    assertThat(mergeConfigurationSource.getConfigurationAsync(environment, executor).join())
+        .containsOnly(MapEntry.entry("prop1", "value1"), MapEntry.entry("prop2", "value2"));
+    for (ConfigurationSource underlyingSource : underlyingSources) {
+      verify(underlyingSource, times(1)).getConfiguration(environment);
+    }
+  }
+
+  @Test
+  void fetchConfigurationAsyncReturnsUnchangedWhenFingerprintEqualsCachedOne() {
+    Environment environment = new ImmutableEnvironment("test");
+    sourcesWithFingerprints(environment);
+    String fingerprint = mergeConfigurationSource.fetchConfigurationAsync(environment, null, executor).join()
+        .getFingerprint();
+
+    assertThat(mergeConfigurationSource.fetchConfigurationAsync(environment, fingerprint, executor).join().isChanged())
+        .isFalse();
+  }
+
+  @Test
+  void initAsyncInitializesAllSources() {
+
+    mergeConfigurationSource.initAsync(executor).join();
+
+    for (ConfigurationSource underlyingSource : underlyingSources) {
+      verify(underlyingSource, times(2)).init();
+    }
+  }
+
+  @Test
+  void parallelGetConfigurationFetchesFromAllSourcesConcurrently() {
+    CyclicBarrier allSourcesFetching = new CyclicBarrier(underlyingSources.length);
+    for (ConfigurationSource underlyingSource : underlyingSources) {
+      when(underlyingSource.getConfiguration(any(Environment.class))).then(invocation -> {
+        allSourcesFetching.await(5, TimeUnit.SECONDS);
+        return new Properties();
+      });
+    }
+
+    assertThat(new MergeConfigurationSource(executor, underlyingSources).getConfiguration(new ImmutableEnvironment("test")))
+        .isEmpty();
+  }
+
+  @Test
+  void parallelGetConfigurationKeepsMergeOrderRegardlessOfResponseOrder() {
+    Environment environment = new ImmutableEnvironment("test");
+    Properties[] properties = getProps("prop", "value1", "prop", "value2");
+    CountDownLatch lastSourceResponded = new CountDownLatch(1);
+    when(underlyingSources[0].getConfiguration(environment)).then(invocation -> {
+      lastSourceResponded.await(5, TimeUnit.SECONDS);
+      return properties[0];
+    });
+    when(underlyingSources[4].getConfiguration(environment)).then(invocation -> {
+      lastSourceResponded.countDown();
+      return properties[1];
+    });
+
+    assertThat(new MergeConfigurationSource(executor, underlyingSources).getConfiguration(environment))
+        .containsOnly(MapEntry.entry("prop", "value2"));
+  }
+
+  @Test
+  void parallelGetConfigurationThrowsWhenOneOfSourcesThrows() {
+    when(underlyingSources[3].getConfiguration(ArgumentMatchers.any())).thenThrow(new IllegalStateException());
+    MergeConfigurationSource source = new MergeConfigurationSource(executor, underlyingSources);
+
+    assertThatThrownBy(() -> source.getConfiguration(new ImmutableEnvironment("test")))
+        .isExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void parallelGetFingerprintCombinesFingerprintsOfAllSources() {
+    Environment environment = new ImmutableEnvironment("test");
+    for (int i = 0; i < underlyingSources.length; i++) {
+      when(underlyingSources[i].getFingerprint(environment)).thenReturn("fingerprint" + i);
+    }
+
+    assertThat(new MergeConfigurationSource(executor, underlyingSources).getFingerprint(environment))
+        .isEqualTo(mergeConfigurationSource.getFingerprint(environment));
+  }
+
+  @Test
+  void parallelInitInitializesAllSourcesConcurrently() {
+    CyclicBarrier allSourcesInitializing = new CyclicBarrier(underlyingSources.length);
+    for (ConfigurationSource underlyingSource : underlyingSources) {
+      doAnswer(invocation -> allSourcesInitializing.await(5, TimeUnit.SECONDS)).when(underlyingSource).init();
+    }
+
+    new MergeConfigurationSource(executor, underlyingSources).init();
+
+    for (ConfigurationSource underlyingSource : underlyingSources) {
+      verify(underlyingSource, times(2)).init();
+    }
+  }
+
   @Test
   void initInitializesAllSources() {
     for (ConfigurationSource underlyingSource : underlyingSources) {
@@ -95,6 +472,12 @@ class MergeConfigurationSourceTest {
     }
   }
 
+  private void sourcesWithFingerprints(Environment environment) {
+    for (int i = 0; i < underlyingSources.length; i++) {
+      when(underlyingSources[i].getFingerprint(environment)).thenReturn("fingerprint" + i);
+    }
+  }
+
   private void sourcesWithProps(Environment environment, String... props) {
     Properties[] properties = getProps(props);
 
@@ -68,6 +68,16 @@ class JsonBasedPropertiesProviderTest {
     }
   }
 
+  @Test
+  void readsNestedLists() throws Exception {
+    String path = "org/cfg4j/source/propertiesprovider/JsonBasedPropertiesProviderTest_readsNestedLists.json";
+
+    try (InputStream input = getClass().getClassLoader().getResourceAsStream(path)) {
+      assertThat(provider.getProperties(input)).containsOnly(MapEntry.entry("objects", "1,3,4"),
+          MapEntry.entry("arrays", "[1,2],[3]"), MapEntry.entry("missing", "1,null,2"));
+    }
+  }
+
   @Test
   void readsTextBlock() throws Exception {
     String path = "org/cfg4j/source/propertiesprovider/JsonBasedPropertiesProviderTest_readsTextBlock.json";
@@ -86,6 +96,15 @@ class JsonBasedPropertiesProviderTest {
     }
   }
 
+  @Test
+  void throwsForDuplicateKeys() throws Exception {
+    String path = "org/cfg4j/source/propertiesprovider/JsonBasedPropertiesProviderTest_throwsForDuplicateKeys.json";
+
+    try (InputStream input = getClass().getClassLoader().getResourceAsStream(path)) {
+      assertThatThrownBy(() -> provider.getProperties(input)).isExactlyInstanceOf(IllegalStateException.class);
+    }
+  }
+
   @Test
   void throwsOnNullInput() throws Exception {
     String path = "org/cfg4j/source/propertiesprovider/nonexistent.json";
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.context.propertiesprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+
+class KeyCacheTest {
+
+  private KeyCache keyCache;
+
+  @BeforeEach
+  void setUp() {
+    keyCache = new KeyCache();
+  }
+
+  @Test
+  void getReturnsKeyWithSameContent() {
+    assertThat(keyCache.get(new StringBuilder("some.setting"))).isEqualTo("some.setting");
+  }
+
+  @Test
+  void getReusesCachedKey() {
+    String key = keyCache.get(new StringBuilder("some.setting"));
+
+    assertThat(keyCache.get(new StringBuilder("some.setting"))).isSameAs(key);
+  }
+
+  @Test
+  void getDistinguishesKeysWithDifferentContent() {
+    keyCache.get(new StringBuilder("some.setting"));
+
+    assertThat(keyCache.get(new StringBuilder("some.otherSetting"))).isEqualTo("some.otherSetting");
+  }
+
+  @Test
+  void getReturnsCorrectKeysWhenKeysAreEvicted() {
+    for (int i = 0; i < 100_000; i++) {
+      assertThat(keyCache.get(new StringBuilder("setting").append(i))).isEqualTo("setting" + i);
+    }
+  }
+
+  @Test
+  void ensureCapacityKeepsCachedKeys() {
+    String key = keyCache.get(new StringBuilder("some.setting"));
+
+    keyCache.ensureCapacity(100_000);
+
+    assertThat(keyCache.get(new StringBuilder("some.setting"))).isSameAs(key);
+  }
+}
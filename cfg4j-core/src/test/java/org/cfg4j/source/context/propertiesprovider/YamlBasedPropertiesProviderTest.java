@@ -65,6 +65,30 @@ class YamlBasedPropertiesProviderTest {
     }
   }
 
+  @Test
+  void readsNestedLists() throws Exception {
+    String path = "org/cfg4j/source/propertiesprovider/YamlBasedPropertiesProviderTest_readsNestedLists.yaml";
+
+    try (InputStream input = getClass().getClassLoader().getResourceAsStream(path)) {
+      assertThat(provider.getProperties(input)).containsOnly(MapEntry.entry("maps", "1,3"),
+          MapEntry.entry("lists", "1,2,3"));
+    }
+  }
+
+  @Test
+  void reusesKeysOfPreviouslyReadDocuments() throws Exception {
+    String path = "org/cfg4j/source/propertiesprovider/YamlBasedPropertiesProviderTest_readsNestedValues.yaml";
+    String key;
+
+    try (InputStream input = getClass().getClassLoader().getResourceAsStream(path)) {
+      key = provider.getProperties(input).stringPropertyNames().iterator().next();
+    }
+
+    try (InputStream input = getClass().getClassLoader().getResourceAsStream(path)) {
+      assertThat(provider.getProperties(input).keySet()).anySatisfy(otherKey -> assertThat(otherKey).isSameAs(key));
+    }
+  }
+
   @Test
   void readsTextBlock() throws Exception {
     String path = "org/cfg4j/source/propertiesprovider/YamlBasedPropertiesProviderTest_readsTextBlock.yaml";
@@ -86,6 +110,40 @@ class YamlBasedPropertiesProviderTest {
     }
   }
 
+  @Test
+  void supportsAliasesInLists() throws Exception {
+    String path = "org/cfg4j/source/propertiesprovider/YamlBasedPropertiesProviderTest_supportsAliasesInLists.yaml";
+
+    try (InputStream input = getClass().getClassLoader().getResourceAsStream(path)) {
+      assertThat(provider.getProperties(input)).containsOnly(MapEntry.entry("setting", "masterValue"),
+          MapEntry.entry("list", "a,b"), MapEntry.entry("aliases", "masterValue,a,b"));
+    }
+  }
+
+  @Test
+  void supportsMergeKeys() throws Exception {
+    String path = "org/cfg4j/source/propertiesprovider/YamlBasedPropertiesProviderTest_supportsMergeKeys.yaml";
+
+    try (InputStream input = getClass().getClassLoader().getResourceAsStream(path)) {
+      assertThat(provider.getProperties(input)).containsOnly(
+          MapEntry.entry("base.x", 1), MapEntry.entry("base.y.p", 2),
+          MapEntry.entry("mergedFirst.x", 1), MapEntry.entry("mergedFirst.y", 3),
+          MapEntry.entry("mergedLast.x", 9), MapEntry.entry("mergedLast.y.p", 2),
+          MapEntry.entry("mergedList.x", 4), MapEntry.entry("mergedList.y.p", 2)
+      );
+    }
+  }
+
+  @Test
+  void keepsLastOfDuplicateKeys() throws Exception {
+    String path = "org/cfg4j/source/propertiesprovider/YamlBasedPropertiesProviderTest_keepsLastOfDuplicateKeys.yaml";
+
+    try (InputStream input = getClass().getClassLoader().getResourceAsStream(path)) {
+      assertThat(provider.getProperties(input)).containsOnly(MapEntry.entry("a.y", 2), MapEntry.entry("b.c.d", 2),
+          MapEntry.entry("e", 3));
+    }
+  }
+
   @Test
   void throwsForNonYamlFile() throws Exception {
     String path = "org/cfg4j/source/propertiesprovider/YamlBasedPropertiesProviderTest_throwsForNonYamlFile.yaml";
@@ -95,6 +153,24 @@ class YamlBasedPropertiesProviderTest {
     }
   }
 
+  @Test
+  void throwsForMultipleDocuments() throws Exception {
+    String path = "org/cfg4j/source/propertiesprovider/YamlBasedPropertiesProviderTest_throwsForMultipleDocuments.yaml";
+
+    try (InputStream input = getClass().getClassLoader().getResourceAsStream(path)) {
+      assertThatThrownBy(() -> provider.getProperties(input)).isExactlyInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  void throwsForEmptyMappingInList() throws Exception {
+    String path = "org/cfg4j/source/propertiesprovider/YamlBasedPropertiesProviderTest_throwsForEmptyMappingInList.yaml";
+
+    try (InputStream input = getClass().getClassLoader().getResourceAsStream(path)) {
+      assertThatThrownBy(() -> provider.getProperties(input)).isExactlyInstanceOf(IllegalStateException.class);
+    }
+  }
+
   @Test
   void supportsEmptyDocument() throws Exception {
     String path = "org/cfg4j/source/propertiesprovider/YamlBasedPropertiesProviderTest_supportsEmptyDocument.yaml";
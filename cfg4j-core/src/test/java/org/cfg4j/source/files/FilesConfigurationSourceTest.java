@@ -17,6 +17,10 @@ package org.cfg4j.source.files;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import org.assertj.core.data.MapEntry;
 import org.cfg4j.source.context.environment.DefaultEnvironment;
@@ -24,13 +28,27 @@ import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.ImmutableEnvironment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
 import org.cfg4j.source.context.filesprovider.ConfigFilesProvider;
+import org.cfg4j.source.context.propertiesprovider.JsonBasedPropertiesProvider;
+import org.cfg4j.source.context.propertiesprovider.PropertiesProvider;
+import org.cfg4j.source.context.propertiesprovider.PropertiesProviderSelector;
+import org.cfg4j.source.context.propertiesprovider.PropertyBasedPropertiesProvider;
+import org.cfg4j.source.context.propertiesprovider.YamlBasedPropertiesProvider;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
 
 
 class FilesConfigurationSourceTest {
@@ -88,6 +106,90 @@ class FilesConfigurationSourceTest {
     assertThat(source.getConfiguration(environment)).containsOnlyKeys("some.setting", "otherConfig.setting");
   }
 
+  @Test
+  void getConfigurationComposesFilesInProviderOrder() throws Exception {
+    fileRepo.changeProperty(Paths.get("otherConfig.properties"), "some.setting", "otherValue");
+    configFilesProvider = () -> Arrays.asList(
+        Paths.get("otherConfig.properties"),
+        Paths.get("application.properties")
+    );
+
+    source = new FilesConfigurationSource(configFilesProvider);
+    source.getConfiguration(environment);
+    fileRepo.changeProperty(Paths.get("otherConfig.properties"), "some.setting", "changedValue");
+
+    assertThat(source.getConfiguration(environment)).containsOnly(MapEntry.entry("some.setting", "masterValue"));
+  }
+
+  @Test
+  void getConfigurationParsesOnlyChangedFiles() throws Exception {
+    PropertiesProvider propertiesProvider = spy(new PropertyBasedPropertiesProvider());
+    source = new FilesConfigurationSource(() -> Arrays.asList(
+        Paths.get("application.properties"),
+        Paths.get("otherConfig.properties")
+    ), new PropertiesProviderSelector(propertiesProvider, new YamlBasedPropertiesProvider(), new JsonBasedPropertiesProvider()));
+
+    source.getConfiguration(environment);
+    source.getConfiguration(environment);
+    fileRepo.changeProperty(Paths.get("application.properties"), "some.setting", "changedValue");
+
+    assertThat(source.getConfiguration(environment)).containsOnly(
+        MapEntry.entry("some.setting", "changedValue"),
+        MapEntry.entry("otherConfig.setting", "masterValue"));
+    verify(propertiesProvider, times(3)).getProperties(any(InputStream.class));
+  }
+
+  @Test
+  void getConfigurationParsesFileChangedWithoutSizeChange() throws Exception {
+    source.getConfiguration(environment);
+
+    fileRepo.changeProperty(Paths.get("application.properties"), "some.setting", "changeValue");
+
+    assertThat(source.getConfiguration(environment)).containsOnly(MapEntry.entry("some.setting", "changeValue"));
+  }
+
+  @Test
+  void getConfigurationDoesNotReadFileWithTrustedModificationTimeAndSize() throws Exception {
+    FileTime modified = FileTime.from(Instant.now().minus(1, ChronoUnit.MINUTES).truncatedTo(ChronoUnit.SECONDS));
+    setLastModifiedTime("application.properties", modified);
+    source.getConfiguration(environment);
+
+    fileRepo.changeProperty(Paths.get("application.properties"), "some.setting", "changeValue");
+    setLastModifiedTime("application.properties", modified);
+
+    assertThat(source.getConfiguration(environment)).containsOnly(MapEntry.entry("some.setting", "masterValue"));
+  }
+
+  @Test
+  void getConfigurationReadsFileModifiedWithinTimestampGranularity() throws Exception {
+    FileTime modified = FileTime.from(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    setLastModifiedTime("application.properties", modified);
+    source.getConfiguration(environment);
+
+    fileRepo.changeProperty(Paths.get("application.properties"), "some.setting", "changeValue");
+    setLastModifiedTime("application.properties", modified);
+
+    assertThat(source.getConfiguration(environment)).containsOnly(MapEntry.entry("some.setting", "changeValue"));
+  }
+
+  @Test
+  void getConfigurationDropsFilesNoLongerSupplied() throws Exception {
+    PropertiesProvider propertiesProvider = spy(new PropertyBasedPropertiesProvider());
+    List<Path> paths = new ArrayList<>(Arrays.asList(Paths.get("application.properties"), Paths.get("otherConfig.properties")));
+    source = new FilesConfigurationSource(() -> new ArrayList<>(paths),
+        new PropertiesProviderSelector(propertiesProvider, new YamlBasedPropertiesProvider(), new JsonBasedPropertiesProvider()));
+    setLastModifiedTime("application.properties", FileTime.fromMillis(0));
+    setLastModifiedTime("otherConfig.properties", FileTime.fromMillis(0));
+
+    source.getConfiguration(environment);
+    paths.remove(1);
+    source.getConfiguration(environment);
+    paths.add(Paths.get("otherConfig.properties"));
+    source.getConfiguration(environment);
+
+    verify(propertiesProvider, times(3)).getProperties(any(InputStream.class));
+  }
+
   @Test
   void getConfigurationThrowsOnMissingEnvironment() {
     assertThatThrownBy(() -> source.getConfiguration(new ImmutableEnvironment("awlerijawoetinawwerlkjn"))).isExactlyInstanceOf(MissingEnvironmentException.class);
@@ -111,4 +213,105 @@ class FilesConfigurationSourceTest {
     assertThatThrownBy(() -> source.getConfiguration(environment)).isExactlyInstanceOf(IllegalStateException.class);
   }
 
-}
\ No newline at end of file
+  @Test
+  void getFingerprintDoesNotChangeWithoutFileChanges() {
+    assertThat(source.getFingerprint(environment))
+        .isNotNull()
+        .isEqualTo(source.getFingerprint(environment));
+  }
+
+  @Test
+  void getFingerprintChangesOnFileChange() throws Exception {
+    String fingerprint = source.getFingerprint(environment);
+
+    fileRepo.changeProperty(Paths.get("application.properties"), "some.setting", "changedValue");
+
+    assertThat(source.getFingerprint(environment)).isNotEqualTo(fingerprint);
+  }
+
+  @Test
+  void getFingerprintDoesNotReadFileWithTrustedModificationTimeAndSize() throws Exception {
+    FileTime modified = FileTime.from(Instant.now().minus(1, ChronoUnit.MINUTES).truncatedTo(ChronoUnit.SECONDS));
+    setLastModifiedTime("application.properties", modified);
+    String fingerprint = source.getFingerprint(environment);
+
+    fileRepo.changeProperty(Paths.get("application.properties"), "some.setting", "changeValue");
+    setLastModifiedTime("application.properties", modified);
+
+    assertThat(source.getFingerprint(environment)).isEqualTo(fingerprint);
+  }
+
+  @Test
+  void getFingerprintReturnsNullOnMissingConfigFile() throws Exception {
+    fileRepo.deleteFile(Paths.get("application.properties"));
+
+    assertThat(source.getFingerprint(environment)).isNull();
+  }
+
+  @Test
+  void getFingerprintReturnsNullOnMissingEnvironment() {
+    assertThat(source.getFingerprint(new ImmutableEnvironment("awlerijawoetinawwerlkjn"))).isNull();
+  }
+
+  @Test
+  void getConfigurationServesWatchedFilesInProviderOrder() {
+    configFilesProvider = () -> Arrays.asList(
+        Paths.get("application.properties"),
+        Paths.get("otherConfig.properties")
+    );
+    source = new FilesConfigurationSource(configFilesProvider);
+
+    source.updateWatchedFiles(fileRepo.dirPath, Collections.singletonMap(
+        fileRepo.dirPath.resolve("otherConfig.properties"), properties("some.setting", "otherValue")));
+    source.updateWatchedFiles(fileRepo.dirPath, Collections.singletonMap(
+        fileRepo.dirPath.resolve("application.properties"), properties("some.setting", "watchedValue")));
+
+    assertThat(source.getConfiguration(environment)).containsOnly(MapEntry.entry("some.setting", "otherValue"));
+  }
+
+  @Test
+  void getConfigurationReadsFilesAfterStopWatching() {
+    source.updateWatchedFiles(fileRepo.dirPath, Collections.singletonMap(
+        fileRepo.dirPath.resolve("application.properties"), properties("some.setting", "watchedValue")));
+
+    source.stopWatching(fileRepo.dirPath);
+
+    assertThat(source.getConfiguration(environment)).containsOnly(MapEntry.entry("some.setting", "masterValue"));
+  }
+
+  @Test
+  void getFingerprintChangesOnWatchedFilesUpdate() {
+    source.updateWatchedFiles(fileRepo.dirPath, Collections.singletonMap(
+        fileRepo.dirPath.resolve("application.properties"), properties("some.setting", "watchedValue")));
+    String fingerprint = source.getFingerprint(environment);
+
+    source.updateWatchedFiles(fileRepo.dirPath, Collections.emptyMap());
+
+    assertThat(source.getFingerprint(environment)).isNotNull().isNotEqualTo(fingerprint);
+  }
+
+  @Test
+  void getFingerprintChangesWhenWatchingStartsAgain() {
+    source.updateWatchedFiles(fileRepo.dirPath, Collections.singletonMap(
+        fileRepo.dirPath.resolve("application.properties"), properties("some.setting", "watchedValue")));
+    String fingerprint = source.getFingerprint(environment);
+
+    source.stopWatching(fileRepo.dirPath);
+    source.updateWatchedFiles(fileRepo.dirPath, Collections.singletonMap(
+        fileRepo.dirPath.resolve("application.properties"), properties("some.setting", "otherValue")));
+
+    assertThat(source.getFingerprint(environment)).isNotNull().isNotEqualTo(fingerprint);
+  }
+
+  private void setLastModifiedTime(String fileName, FileTime modified) throws Exception {
+    Files.setLastModifiedTime(fileRepo.dirPath.resolve(fileName), modified);
+  }
+
+  private static Properties properties(String key, String value) {
+    Properties properties = new Properties();
+    properties.put(key, value);
+
+    return properties;
+  }
+
+}
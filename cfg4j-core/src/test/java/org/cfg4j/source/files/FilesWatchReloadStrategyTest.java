@@ -0,0 +1,206 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.assertj.core.data.MapEntry;
+import org.cfg4j.source.context.environment.Environment;
+import org.cfg4j.source.context.environment.ImmutableEnvironment;
+import org.cfg4j.source.context.propertiesprovider.JsonBasedPropertiesProvider;
+import org.cfg4j.source.context.propertiesprovider.PropertiesProvider;
+import org.cfg4j.source.context.propertiesprovider.PropertiesProviderSelector;
+import org.cfg4j.source.context.propertiesprovider.PropertyBasedPropertiesProvider;
+import org.cfg4j.source.context.propertiesprovider.YamlBasedPropertiesProvider;
+import org.cfg4j.source.reload.Reloadable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+class FilesWatchReloadStrategyTest {
+
+  private static final long TIMEOUT_MILLIS = 30000;
+
+  @Mock
+  private Reloadable resource;
+
+  private TempConfigurationFileRepo fileRepo;
+  private PropertiesProvider propertiesProvider;
+  private FilesConfigurationSource source;
+  private Environment environment;
+  private FilesWatchReloadStrategy strategy;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    fileRepo = new TempConfigurationFileRepo("org.cfg4j-test-repo");
+    fileRepo.changeProperty(Paths.get("application.properties"), "some.setting", "masterValue");
+    fileRepo.changeProperty(Paths.get("otherConfig.properties"), "otherConfig.setting", "masterValue");
+
+    propertiesProvider = spy(new PropertyBasedPropertiesProvider());
+    source = spy(new FilesConfigurationSource(() -> Arrays.asList(
+        Paths.get("application.properties"),
+        Paths.get("otherConfig.properties")
+    ), new PropertiesProviderSelector(propertiesProvider, new YamlBasedPropertiesProvider(), new JsonBasedPropertiesProvider())));
+
+    environment = new ImmutableEnvironment(fileRepo.dirPath.toString());
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    if (strategy != null) {
+      strategy.deregister(resource);
+    }
+
+    fileRepo.remove();
+  }
+
+  @Test
+  void reloadsAfterRegistered() {
+    strategy = new FilesWatchReloadStrategy(source, environment, 60, TimeUnit.SECONDS);
+    strategy.register(resource);
+
+    verify(resource, timeout(TIMEOUT_MILLIS).times(1)).reload();
+    assertThat(source.getConfiguration(environment)).containsOnly(
+        MapEntry.entry("some.setting", "masterValue"),
+        MapEntry.entry("otherConfig.setting", "masterValue"));
+  }
+
+  @Test
+  void reloadsWhenFileChanges() throws Exception {
+    strategy = new FilesWatchReloadStrategy(source, environment, 60, TimeUnit.SECONDS);
+    strategy.register(resource);
+    verify(resource, timeout(TIMEOUT_MILLIS).times(1)).reload();
+
+    replaceFile("application.properties", "some.setting=changedValue");
+
+    verify(resource, timeout(TIMEOUT_MILLIS).times(2)).reload();
+    assertThat(source.getConfiguration(environment)).contains(MapEntry.entry("some.setting", "changedValue"));
+  }
+
+  @Test
+  void parsesOnlyModifiedFiles() throws Exception {
+    strategy = new FilesWatchReloadStrategy(source, environment, 60, TimeUnit.SECONDS);
+    strategy.register(resource);
+    verify(resource, timeout(TIMEOUT_MILLIS).times(1)).reload();
+
+    replaceFile("application.properties", "some.setting=changedValue");
+    verify(resource, timeout(TIMEOUT_MILLIS).times(2)).reload();
+
+    verify(propertiesProvider, times(3)).getProperties(any(InputStream.class));
+  }
+
+  @Test
+  void pollsFilesWithoutWatchService() throws Exception {
+    strategy = new FilesWatchReloadStrategy(source, environment, 10, TimeUnit.MILLISECONDS, false);
+    strategy.register(resource);
+    verify(resource, timeout(TIMEOUT_MILLIS).times(1)).reload();
+
+    replaceFile("application.properties", "some.setting=changedValue");
+
+    verify(resource, timeout(TIMEOUT_MILLIS).times(2)).reload();
+    assertThat(source.getConfiguration(environment)).contains(MapEntry.entry("some.setting", "changedValue"));
+  }
+
+  @Test
+  void servesLastValuesWhenFileCannotBeRead() throws Exception {
+    strategy = new FilesWatchReloadStrategy(source, environment, 10, TimeUnit.MILLISECONDS);
+    strategy.register(resource);
+    verify(resource, timeout(TIMEOUT_MILLIS).times(1)).reload();
+
+    fileRepo.deleteFile(Paths.get("application.properties"));
+    awaitFilesChecked();
+
+    assertThat(source.getConfiguration(environment)).contains(MapEntry.entry("some.setting", "masterValue"));
+  }
+
+  @Test
+  void reloadsWhenDataDirectorySymlinkIsSwapped() throws Exception {
+    // Layout of a Kubernetes ConfigMap volume: files link to "..data", which links to a timestamped directory
+    Path applicationProperties = fileRepo.dirPath.resolve("application.properties");
+    Files.delete(applicationProperties);
+    writeDataDirectory("..2018_01_01_00_00_00.1", "some.setting=firstValue");
+    Files.createSymbolicLink(fileRepo.dirPath.resolve("..data"), Paths.get("..2018_01_01_00_00_00.1"));
+    Files.createSymbolicLink(applicationProperties, Paths.get("..data", "application.properties"));
+
+    strategy = new FilesWatchReloadStrategy(source, environment, 60, TimeUnit.SECONDS);
+    strategy.register(resource);
+    verify(resource, timeout(TIMEOUT_MILLIS).times(1)).reload();
+
+    writeDataDirectory("..2018_01_01_00_00_00.2", "some.setting=secondValue");
+    Files.createSymbolicLink(fileRepo.dirPath.resolve("..data_tmp"), Paths.get("..2018_01_01_00_00_00.2"));
+    Files.move(fileRepo.dirPath.resolve("..data_tmp"), fileRepo.dirPath.resolve("..data"), StandardCopyOption.ATOMIC_MOVE);
+
+    verify(resource, timeout(TIMEOUT_MILLIS).times(2)).reload();
+    assertThat(source.getConfiguration(environment)).contains(MapEntry.entry("some.setting", "secondValue"));
+  }
+
+  @Test
+  void readsFilesAfterDeregistered() throws Exception {
+    strategy = new FilesWatchReloadStrategy(source, environment, 60, TimeUnit.SECONDS);
+    strategy.register(resource);
+    verify(resource, timeout(TIMEOUT_MILLIS).times(1)).reload();
+
+    strategy.deregister(resource);
+    fileRepo.deleteFile(Paths.get("application.properties"));
+
+    assertThatThrownBy(() -> source.getConfiguration(environment)).isExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  /**
+   * Wait until the watcher checked all files at least once since this method was called.
+   */
+  private void awaitFilesChecked() {
+    // Paths are listed once for watching directories and once for checking files, so after three more listings
+    // a complete check of files has started and finished
+    long listings = mockingDetails(source).getInvocations().stream()
+        .filter(invocation -> invocation.getMethod().getName().equals("getConfigFilePaths"))
+        .count();
+
+    verify(source, timeout(TIMEOUT_MILLIS).atLeast((int) listings + 3)).getConfigFilePaths(eq(fileRepo.dirPath));
+  }
+
+  private void writeDataDirectory(String directoryName, String content) throws Exception {
+    Path directory = Files.createDirectory(fileRepo.dirPath.resolve(directoryName));
+    Files.write(directory.resolve("application.properties"), content.getBytes());
+  }
+
+  private void replaceFile(String fileName, String content) throws Exception {
+    Path tempFile = Files.createTempFile(fileRepo.dirPath, ".", ".tmp");
+    Files.write(tempFile, content.getBytes());
+    Files.move(tempFile, fileRepo.dirPath.resolve(fileName), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  }
+}
@@ -20,8 +20,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -29,10 +31,12 @@ import static org.mockito.Mockito.when;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.FetchedConfiguration;
 import org.cfg4j.source.SourceCommunicationException;
 import org.cfg4j.source.context.environment.DefaultEnvironment;
 import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
+import org.cfg4j.source.reload.ConfigurationSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -40,6 +44,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -51,16 +57,20 @@ class MeteredConfigurationSourceTest {
   @Mock
   private MetricRegistry metricRegistry;
 
+  @Mock
+  private Timer.Context timerContext;
+
   private MeteredConfigurationSource source;
 
   @BeforeEach
   void setUp() {
     Timer timer = mock(Timer.class);
-    when(timer.time()).thenReturn(mock(Timer.Context.class));
+    when(timer.time()).thenReturn(timerContext);
     when(metricRegistry.timer(anyString())).thenReturn(timer);
 
     source = new MeteredConfigurationSource(metricRegistry, "configSource", delegate);
     source.init();
+    clearInvocations(timerContext);
   }
 
   @Test
@@ -85,11 +95,68 @@ class MeteredConfigurationSourceTest {
     assertThatThrownBy(() -> source.getConfiguration(new DefaultEnvironment())).isExactlyInstanceOf(IllegalStateException.class);
   }
 
+  @Test
+  void getConfigurationAsyncCallsDelegate() {
+    Properties properties = new Properties();
+    when(delegate.getConfigurationAsync(any(Environment.class), any(Executor.class)))
+        .thenReturn(CompletableFuture.completedFuture(properties));
+
+    assertThat(source.getConfigurationAsync(new DefaultEnvironment(), Runnable::run).join()).isSameAs(properties);
+  }
+
+  @Test
+  void getConfigurationAsyncStopsTimerWhenCompleted() {
+    CompletableFuture<Properties> future = new CompletableFuture<>();
+    when(delegate.getConfigurationAsync(any(Environment.class), any(Executor.class))).thenReturn(future);
+
+    source.getConfigurationAsync(new DefaultEnvironment(), Runnable::run);
+    verify(timerContext, never()).stop();
+
+    future.complete(new Properties());
+    verify(timerContext).stop();
+  }
+
+  @Test
+  void getFingerprintCallsDelegate() {
+    when(delegate.getFingerprint(any(Environment.class))).thenReturn("fingerprint");
+
+    assertThat(source.getFingerprint(new DefaultEnvironment())).isEqualTo("fingerprint");
+  }
+
+  @Test
+  void fetchConfigurationCallsDelegate() {
+    FetchedConfiguration fetched = FetchedConfiguration.unchanged("fingerprint");
+    when(delegate.fetchConfiguration(any(Environment.class), anyString())).thenReturn(fetched);
+
+    assertThat(source.fetchConfiguration(new DefaultEnvironment(), "fingerprint")).isSameAs(fetched);
+  }
+
+  @Test
+  void getSnapshotCallsDelegate() {
+    ConfigurationSnapshot snapshot = new ConfigurationSnapshot(new Properties(), 1);
+    when(delegate.getSnapshot(any(Environment.class))).thenReturn(snapshot);
+
+    assertThat(source.getSnapshot(new DefaultEnvironment())).isSameAs(snapshot);
+  }
+
   @Test
   void initCallsDelegate() {
     verify(delegate, times(1)).init();
   }
 
+  @Test
+  void initAsyncCallsDelegate() {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    when(delegate.initAsync(any(Executor.class))).thenReturn(future);
+
+    CompletableFuture<Void> initialized = source.initAsync(Runnable::run);
+    verify(timerContext, never()).stop();
+
+    future.completeExceptionally(new SourceCommunicationException("", null));
+    assertThat(initialized).isCompletedExceptionally();
+    verify(timerContext).stop();
+  }
+
   @Test
   void initPropagatesIllegalStateExceptions() {
     doThrow(new IllegalStateException("")).when(delegate).init();
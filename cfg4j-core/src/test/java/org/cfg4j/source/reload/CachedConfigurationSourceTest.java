@@ -4,27 +4,35 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.FetchedConfiguration;
 import org.cfg4j.source.context.environment.DefaultEnvironment;
 import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 @ExtendWith(MockitoExtension.class)
 class CachedConfigurationSourceTest {
 
-  @Mock
+  @Mock(answer = Answers.CALLS_REAL_METHODS)
   private ConfigurationSource delegateSource;
   private CachedConfigurationSource cachedConfigurationSource;
 
@@ -63,7 +71,6 @@ class CachedConfigurationSourceTest {
   }
 
   @Test
-  @Disabled("FIXME: implementation should be caching results")
   void getConfigurationDoesNotChangeValueBetweenReloads() {
     Properties properties = new Properties();
     properties.put("testConfig", "testValue");
@@ -76,6 +83,216 @@ class CachedConfigurationSourceTest {
     assertThat(cachedConfigurationSource.getConfiguration(new DefaultEnvironment())).contains(entry("testConfig", "testValue"));
   }
 
+  @Test
+  void getConfigurationReturnsCopyOfCachedConfiguration() {
+    Properties properties = new Properties();
+    properties.put("testConfig", "testValue");
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(properties);
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    cachedConfigurationSource.getConfiguration(new DefaultEnvironment()).put("testConfig", "testValueChanged");
+
+    assertThat(cachedConfigurationSource.getConfiguration(new DefaultEnvironment())).contains(entry("testConfig", "testValue"));
+  }
+
+  @Test
+  void getSnapshotThrowsOnMissingEnvironment() {
+    assertThatThrownBy(() -> cachedConfigurationSource.getSnapshot(new DefaultEnvironment())).isExactlyInstanceOf(MissingEnvironmentException.class);
+  }
+
+  @Test
+  void getSnapshotReturnsReloadResult() {
+    Properties properties = new Properties();
+    properties.put("testConfig", "testValue");
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(properties);
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    assertThat(cachedConfigurationSource.getSnapshot(new DefaultEnvironment()).get("testConfig")).isEqualTo("testValue");
+  }
+
+  @Test
+  void getSnapshotReturnsSameInstanceBetweenReloads() {
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(new Properties());
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    ConfigurationSnapshot snapshot = cachedConfigurationSource.getSnapshot(new DefaultEnvironment());
+
+    assertThat(cachedConfigurationSource.getSnapshot(new DefaultEnvironment())).isSameAs(snapshot);
+  }
+
+  @Test
+  void reloadPublishesSnapshotWithHigherVersion() {
+    Properties changedProperties = new Properties();
+    changedProperties.put("testConfig", "changedValue");
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(new Properties(), changedProperties);
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigurationSnapshot snapshot = cachedConfigurationSource.getSnapshot(new DefaultEnvironment());
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    assertThat(cachedConfigurationSource.getSnapshot(new DefaultEnvironment()).getVersion()).isGreaterThan(snapshot.getVersion());
+  }
+
+  @Test
+  void reloadKeepsSnapshotWhenConfigurationWithoutFingerprintUnchanged() {
+    when(delegateSource.getConfiguration(any(Environment.class))).thenAnswer(invocation -> {
+      Properties properties = new Properties();
+      properties.put("testConfig", "testValue");
+      return properties;
+    });
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigurationSnapshot snapshot = cachedConfigurationSource.getSnapshot(new DefaultEnvironment());
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    assertThat(cachedConfigurationSource.getSnapshot(new DefaultEnvironment())).isSameAs(snapshot);
+    assertThat(cachedConfigurationSource.getVersion(new DefaultEnvironment())).isEqualTo(snapshot.getVersion());
+  }
+
+  @Test
+  void getVersionReturnsMinusOneBeforeReload() {
+    assertThat(cachedConfigurationSource.getVersion(new DefaultEnvironment())).isEqualTo(-1);
+  }
+
+  @Test
+  void getVersionReturnsVersionOfCachedSnapshot() {
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(new Properties());
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    assertThat(cachedConfigurationSource.getVersion(new DefaultEnvironment()))
+        .isEqualTo(cachedConfigurationSource.getSnapshot(new DefaultEnvironment()).getVersion());
+  }
+
+  @Test
+  void getVersionDoesNotChangeWhenFingerprintUnchanged() {
+    when(delegateSource.getFingerprint(any(Environment.class))).thenReturn("fingerprint");
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(new Properties());
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    long version = cachedConfigurationSource.getVersion(new DefaultEnvironment());
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    assertThat(cachedConfigurationSource.getVersion(new DefaultEnvironment())).isEqualTo(version);
+  }
+
+  @Test
+  void reloadAsyncPublishesFetchedConfiguration() {
+    Properties properties = new Properties();
+    properties.put("key", "value");
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(properties);
+
+    cachedConfigurationSource.reloadAsync(new DefaultEnvironment(), Runnable::run).join();
+
+    assertThat(cachedConfigurationSource.getConfiguration(new DefaultEnvironment())).isEqualTo(properties);
+  }
+
+  @Test
+  void reloadAsyncKeepsSnapshotWhenFingerprintUnchanged() {
+    when(delegateSource.getFingerprint(any(Environment.class))).thenReturn("fingerprint");
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(new Properties());
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigurationSnapshot snapshot = cachedConfigurationSource.getSnapshot(new DefaultEnvironment());
+
+    cachedConfigurationSource.reloadAsync(new DefaultEnvironment(), Runnable::run).join();
+
+    assertThat(cachedConfigurationSource.getSnapshot(new DefaultEnvironment())).isSameAs(snapshot);
+  }
+
+  @Test
+  void reloadAsyncFailsWhenUnderlyingSourceThrows() {
+    when(delegateSource.getConfiguration(any(Environment.class))).thenThrow(new IllegalStateException());
+
+    assertThatThrownBy(() -> cachedConfigurationSource.reloadAsync(new DefaultEnvironment(), Runnable::run).join())
+        .hasCauseExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void getSnapshotObservesIncreasingVersionsDuringConcurrentReloads() throws Exception {
+    AtomicInteger reloads = new AtomicInteger();
+    when(delegateSource.getConfiguration(any(Environment.class))).thenAnswer(invocation -> {
+      Properties properties = new Properties();
+      properties.put("testConfig", "value" + reloads.incrementAndGet());
+      return properties;
+    });
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    AtomicBoolean versionsIncreasing = new AtomicBoolean(true);
+    Thread reader = new Thread(() -> {
+      long lastVersion = 0;
+      for (int i = 0; i < 10_000; i++) {
+        long version = cachedConfigurationSource.getSnapshot(new DefaultEnvironment()).getVersion();
+        if (version < lastVersion) {
+          versionsIncreasing.set(false);
+        }
+        lastVersion = version;
+      }
+    });
+    reader.start();
+
+    for (int i = 0; i < 1000; i++) {
+      cachedConfigurationSource.reload(new DefaultEnvironment());
+    }
+    reader.join();
+
+    assertThat(versionsIncreasing).isTrue();
+  }
+
+  @Test
+  void reloadKeepsSnapshotWhenFingerprintUnchanged() {
+    when(delegateSource.getFingerprint(any(Environment.class))).thenReturn("fingerprint");
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(new Properties());
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigurationSnapshot snapshot = cachedConfigurationSource.getSnapshot(new DefaultEnvironment());
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    assertThat(cachedConfigurationSource.getSnapshot(new DefaultEnvironment())).isSameAs(snapshot);
+    verify(delegateSource, times(1)).getConfiguration(any(Environment.class));
+  }
+
+  @Test
+  void reloadPassesCachedFingerprintToSource() {
+    Properties properties = new Properties();
+    properties.put("testConfig", "testValue");
+    doReturn(FetchedConfiguration.of(properties, "fingerprint"), FetchedConfiguration.unchanged("fingerprint"))
+        .when(delegateSource).fetchConfiguration(any(Environment.class), any());
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    verify(delegateSource).fetchConfiguration(any(Environment.class), isNull());
+    verify(delegateSource).fetchConfiguration(any(Environment.class), eq("fingerprint"));
+    assertThat(cachedConfigurationSource.getConfiguration(new DefaultEnvironment())).containsOnly(entry("testConfig", "testValue"));
+  }
+
+  @Test
+  void reloadFetchesConfigurationWhenFingerprintChanged() {
+    when(delegateSource.getFingerprint(any(Environment.class))).thenReturn("fingerprint", "changedFingerprint");
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(new Properties());
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    ConfigurationSnapshot snapshot = cachedConfigurationSource.getSnapshot(new DefaultEnvironment());
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    assertThat(cachedConfigurationSource.getSnapshot(new DefaultEnvironment())).isNotSameAs(snapshot);
+    assertThat(cachedConfigurationSource.getFingerprint(new DefaultEnvironment())).isEqualTo("changedFingerprint");
+  }
+
+  @Test
+  void reloadFetchesConfigurationWhenFingerprintUnknown() {
+    when(delegateSource.getConfiguration(any(Environment.class))).thenReturn(new Properties());
+
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+    cachedConfigurationSource.reload(new DefaultEnvironment());
+
+    verify(delegateSource, times(2)).getConfiguration(any(Environment.class));
+  }
+
+  @Test
+  void getFingerprintReturnsNullBeforeReload() {
+    assertThat(cachedConfigurationSource.getFingerprint(new DefaultEnvironment())).isNull();
+  }
+
   @Test
   void reloadPropagatesMissingEnvExceptions() {
     when(delegateSource.getConfiguration(any(Environment.class))).thenThrow(new MissingEnvironmentException(""));
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.reload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+
+class ConfigurationSnapshotTest {
+
+  @Test
+  void getReturnsValueForKey() {
+    ConfigurationSnapshot snapshot = new ConfigurationSnapshot(propertiesWith("some.property", "abc"), 1);
+
+    assertThat(snapshot.get("some.property")).isEqualTo("abc");
+  }
+
+  @Test
+  void getReturnsNullForMissingKey() {
+    ConfigurationSnapshot snapshot = new ConfigurationSnapshot(propertiesWith("some.property", "abc"), 1);
+
+    assertThat(snapshot.get("other.property")).isNull();
+  }
+
+  @Test
+  void getReturnsNullForEmptySnapshot() {
+    ConfigurationSnapshot snapshot = new ConfigurationSnapshot(new Properties(), 1);
+
+    assertThat(snapshot.get("some.property")).isNull();
+  }
+
+  @Test
+  void getReturnsAllValuesOfLargeSnapshot() {
+    Properties properties = new Properties();
+    for (int i = 0; i < 1000; i++) {
+      properties.put("property" + i, "value" + i);
+    }
+
+    ConfigurationSnapshot snapshot = new ConfigurationSnapshot(properties, 1);
+
+    for (int i = 0; i < 1000; i++) {
+      assertThat(snapshot.get("property" + i)).isEqualTo("value" + i);
+    }
+    assertThat(snapshot.get("property1000")).isNull();
+  }
+
+  @Test
+  void keepsNonStringValues() {
+    Properties properties = new Properties();
+    properties.put("some.property", 42);
+
+    ConfigurationSnapshot snapshot = new ConfigurationSnapshot(properties, 1);
+
+    assertThat(snapshot.get("some.property")).isEqualTo(42);
+  }
+
+  @Test
+  void doesNotChangeWhenSourcePropertiesChange() {
+    Properties properties = propertiesWith("some.property", "abc");
+    ConfigurationSnapshot snapshot = new ConfigurationSnapshot(properties, 1);
+
+    properties.put("some.property", "def");
+
+    assertThat(snapshot.get("some.property")).isEqualTo("abc");
+  }
+
+  @Test
+  void sizeCountsEntries() {
+    ConfigurationSnapshot snapshot = new ConfigurationSnapshot(propertiesWith("a", "1", "b", "2", "c", "3"), 1);
+
+    assertThat(snapshot.size()).isEqualTo(3);
+  }
+
+  @Test
+  void getVersionReturnsVersion() {
+    ConfigurationSnapshot snapshot = new ConfigurationSnapshot(new Properties(), 42);
+
+    assertThat(snapshot.getVersion()).isEqualTo(42);
+  }
+
+  @Test
+  void toPropertiesReturnsAllEntries() {
+    ConfigurationSnapshot snapshot = new ConfigurationSnapshot(propertiesWith("a", "1", "b", "2"), 1);
+
+    assertThat(snapshot.toProperties()).containsOnly(entry("a", "1"), entry("b", "2"));
+  }
+
+  @Test
+  void toPropertiesReturnsNewInstanceEachTime() {
+    ConfigurationSnapshot snapshot = new ConfigurationSnapshot(propertiesWith("a", "1"), 1);
+
+    assertThat(snapshot.toProperties()).isNotSameAs(snapshot.toProperties());
+  }
+
+  @Test
+  void hasEntriesOfPropertiesWithSameEntries() {
+    ConfigurationSnapshot snapshot = new ConfigurationSnapshot(propertiesWith("a", "1", "b", "2"), 1);
+
+    assertThat(snapshot.hasEntries(propertiesWith("b", "2", "a", "1"))).isTrue();
+  }
+
+  @Test
+  void doesNotHaveEntriesOfPropertiesWithDifferentValue() {
+    ConfigurationSnapshot snapshot = new ConfigurationSnapshot(propertiesWith("a", "1", "b", "2"), 1);
+
+    assertThat(snapshot.hasEntries(propertiesWith("a", "1", "b", "3"))).isFalse();
+  }
+
+  @Test
+  void doesNotHaveEntriesOfPropertiesWithDifferentKeys() {
+    ConfigurationSnapshot snapshot = new ConfigurationSnapshot(propertiesWith("a", "1", "b", "2"), 1);
+
+    assertThat(snapshot.hasEntries(propertiesWith("a", "1"))).isFalse();
+    assertThat(snapshot.hasEntries(propertiesWith("a", "1", "c", "2"))).isFalse();
+  }
+
+  @Test
+  void getAttachmentCreatesAttachmentOnce() {
+    ConfigurationSnapshot snapshot = new ConfigurationSnapshot(new Properties(), 1);
+
+    StringBuilder attachment = snapshot.getAttachment(StringBuilder.class, StringBuilder::new);
+
+    assertThat(snapshot.getAttachment(StringBuilder.class, StringBuilder::new)).isSameAs(attachment);
+  }
+
+  @Test
+  void getAttachmentKeepsAttachmentsPerSnapshot() {
+    ConfigurationSnapshot snapshot = new ConfigurationSnapshot(new Properties(), 1);
+    ConfigurationSnapshot otherSnapshot = new ConfigurationSnapshot(new Properties(), 1);
+
+    assertThat(snapshot.getAttachment(StringBuilder.class, StringBuilder::new))
+        .isNotSameAs(otherSnapshot.getAttachment(StringBuilder.class, StringBuilder::new));
+  }
+
+  private Properties propertiesWith(String... args) {
+    Properties properties = new Properties();
+    for (int i = 1; i < args.length; i += 2) {
+      properties.put(args[i - 1], args[i]);
+    }
+
+    return properties;
+  }
+}
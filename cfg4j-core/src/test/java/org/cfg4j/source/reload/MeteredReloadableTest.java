@@ -1,8 +1,10 @@
 package org.cfg4j.source.reload;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -32,7 +34,7 @@ class MeteredReloadableTest {
   @BeforeEach
   void setUp() {
     Timer timer = mock(Timer.class);
-    when(timer.time()).thenReturn(mock(Timer.Context.class));
+    lenient().when(timer.time()).thenReturn(mock(Timer.Context.class));
     when(metricRegistry.timer(anyString())).thenReturn(timer);
 
     reloadable = new MeteredReloadable(metricRegistry, "configSource", delegate);
@@ -51,4 +53,11 @@ class MeteredReloadableTest {
 
     assertThatThrownBy(() -> reloadable.reload()).isExactlyInstanceOf(IllegalStateException.class);
   }
-}
\ No newline at end of file
+
+  @Test
+  void getVersionCallsDelegate() {
+    when(delegate.getVersion()).thenReturn(42L);
+
+    assertThat(reloadable.getVersion()).isEqualTo(42L);
+  }
+}
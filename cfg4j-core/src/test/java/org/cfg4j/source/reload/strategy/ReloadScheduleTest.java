@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.reload.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class ReloadScheduleTest {
+
+  @Test
+  void fixedScheduleUsesInterval() {
+    ReloadSchedule.Timing timing = ReloadSchedule.fixed(10, TimeUnit.SECONDS).newTiming();
+
+    assertThat(timing.firstDelayNanos()).isEqualTo(10_000_000_000L);
+    assertThat(timing.nextDelayNanos(ReloadSchedule.Result.CHANGED)).isEqualTo(10_000_000_000L);
+    assertThat(timing.nextDelayNanos(ReloadSchedule.Result.UNCHANGED)).isEqualTo(10_000_000_000L);
+    assertThat(timing.nextDelayNanos(ReloadSchedule.Result.FAILED)).isEqualTo(10_000_000_000L);
+  }
+
+  @Test
+  void firstDelayWithJitterIsWithinInterval() {
+    ReloadSchedule schedule = new ReloadSchedule(1000, 0.1, 0, 0, 0);
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(schedule.newTiming().firstDelayNanos()).isBetween(1L, 1000L);
+    }
+  }
+
+  @Test
+  void jitterRandomizesDelay() {
+    ReloadSchedule.Timing timing = new ReloadSchedule(1000, 0.1, 0, 0, 0).newTiming();
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(timing.nextDelayNanos(ReloadSchedule.Result.UNKNOWN)).isBetween(900L, 1100L);
+    }
+  }
+
+  @Test
+  void backsOffExponentiallyOnFailures() {
+    ReloadSchedule.Timing timing = new ReloadSchedule(1000, 0, 5000, 0, 0).newTiming();
+
+    assertThat(timing.nextDelayNanos(ReloadSchedule.Result.FAILED)).isEqualTo(2000);
+    assertThat(timing.nextDelayNanos(ReloadSchedule.Result.FAILED)).isEqualTo(4000);
+    assertThat(timing.nextDelayNanos(ReloadSchedule.Result.FAILED)).isEqualTo(5000);
+    assertThat(timing.nextDelayNanos(ReloadSchedule.Result.FAILED)).isEqualTo(5000);
+  }
+
+  @Test
+  void resetsBackoffAfterSuccess() {
+    ReloadSchedule.Timing timing = new ReloadSchedule(1000, 0, 5000, 0, 0).newTiming();
+    timing.nextDelayNanos(ReloadSchedule.Result.FAILED);
+    timing.nextDelayNanos(ReloadSchedule.Result.FAILED);
+
+    assertThat(timing.nextDelayNanos(ReloadSchedule.Result.UNKNOWN)).isEqualTo(1000);
+    assertThat(timing.nextDelayNanos(ReloadSchedule.Result.FAILED)).isEqualTo(2000);
+  }
+
+  @Test
+  void backoffDoesNotShortenAdaptiveInterval() {
+    ReloadSchedule.Timing timing = new ReloadSchedule(1000, 0, 2000, 500, 8000).newTiming();
+    timing.nextDelayNanos(ReloadSchedule.Result.UNCHANGED);
+    timing.nextDelayNanos(ReloadSchedule.Result.UNCHANGED);
+
+    assertThat(timing.nextDelayNanos(ReloadSchedule.Result.FAILED)).isEqualTo(4000);
+  }
+
+  @Test
+  void adaptiveIntervalGrowsWhileUnchanged() {
+    ReloadSchedule.Timing timing = new ReloadSchedule(1000, 0, 0, 500, 3000).newTiming();
+
+    assertThat(timing.nextDelayNanos(ReloadSchedule.Result.UNCHANGED)).isEqualTo(2000);
+    assertThat(timing.nextDelayNanos(ReloadSchedule.Result.UNCHANGED)).isEqualTo(3000);
+    assertThat(timing.nextDelayNanos(ReloadSchedule.Result.UNCHANGED)).isEqualTo(3000);
+  }
+
+  @Test
+  void adaptiveIntervalDropsToMinimumAfterChange() {
+    ReloadSchedule.Timing timing = new ReloadSchedule(1000, 0, 0, 500, 3000).newTiming();
+    timing.nextDelayNanos(ReloadSchedule.Result.UNCHANGED);
+
+    assertThat(timing.nextDelayNanos(ReloadSchedule.Result.CHANGED)).isEqualTo(500);
+    assertThat(timing.nextDelayNanos(ReloadSchedule.Result.UNCHANGED)).isEqualTo(1000);
+  }
+
+  @Test
+  void adaptiveIntervalKeepsIntervalWhenChangesUnknown() {
+    ReloadSchedule.Timing timing = new ReloadSchedule(1000, 0, 0, 500, 3000).newTiming();
+
+    assertThat(timing.nextDelayNanos(ReloadSchedule.Result.UNKNOWN)).isEqualTo(1000);
+  }
+
+  @Test
+  void throwsOnNonPositiveInterval() {
+    assertThatThrownBy(() -> new ReloadSchedule(0, 0, 0, 0, 0)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void throwsOnJitterOutOfRange() {
+    assertThatThrownBy(() -> new ReloadSchedule(1000, 1.5, 0, 0, 0)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void throwsWhenMaxBackoffShorterThanInterval() {
+    assertThatThrownBy(() -> new ReloadSchedule(1000, 0, 500, 0, 0)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void throwsOnNegativeMaxBackoff() {
+    assertThatThrownBy(() -> new ReloadSchedule(1000, 0, -1, 0, 0)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void throwsWhenAdaptiveBoundsDoNotSurroundInterval() {
+    assertThatThrownBy(() -> new ReloadSchedule(1000, 0, 0, 2000, 3000)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.reload.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.cfg4j.source.reload.Reloadable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledReloadStrategyBuilderTest {
+
+  @Mock
+  private Reloadable reloadable;
+
+  @Test
+  void buildsStrategyReloadingWithJitter() {
+    try (ScheduledReloadStrategy strategy = new ScheduledReloadStrategyBuilder()
+        .withInterval(10, TimeUnit.MILLISECONDS)
+        .withJitter(0.5)
+        .build()) {
+      strategy.register(reloadable);
+
+      verify(reloadable, timeout(5000).atLeast(3)).reload();
+    }
+  }
+
+  @Test
+  void buildsStrategyBackingOffAfterFailures() throws Exception {
+    doThrow(new IllegalStateException()).when(reloadable).reload();
+
+    try (ScheduledReloadStrategy strategy = new ScheduledReloadStrategyBuilder()
+        .withInterval(10, TimeUnit.MILLISECONDS)
+        .withBackoff(1, TimeUnit.MINUTES)
+        .build()) {
+      strategy.register(reloadable);
+      verify(reloadable, timeout(5000).atLeast(3)).reload();
+
+      Thread.sleep(300);
+
+      // delays double: 10, 20, 40, 80, 160, 320 ms...
+      verify(reloadable, atMost(8)).reload();
+    }
+  }
+
+  @Test
+  void buildsStrategyReadingVersionsForAdaptiveInterval() {
+    when(reloadable.getVersion()).thenReturn(1L);
+
+    try (ScheduledReloadStrategy strategy = new ScheduledReloadStrategyBuilder()
+        .withInterval(10, TimeUnit.MILLISECONDS)
+        .withAdaptiveInterval(5, 100, TimeUnit.MILLISECONDS)
+        .build()) {
+      strategy.register(reloadable);
+
+      verify(reloadable, timeout(5000).atLeast(3)).reload();
+      verify(reloadable, atLeast(4)).getVersion();
+    }
+  }
+
+  @Test
+  void buildsStrategyUsingProvidedExecutor() {
+    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    try {
+      try (ScheduledReloadStrategy strategy = new ScheduledReloadStrategyBuilder()
+          .withInterval(10, TimeUnit.MILLISECONDS)
+          .withExecutor(executor)
+          .build()) {
+        strategy.register(reloadable);
+
+        verify(reloadable, timeout(5000).atLeast(3)).reload();
+      }
+
+      assertThat(executor.isShutdown()).isFalse();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void buildThrowsOnInvalidJitter() {
+    assertThatThrownBy(() -> new ScheduledReloadStrategyBuilder().withJitter(-0.1).build())
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void buildThrowsOnBackoffShorterThanInterval() {
+    assertThatThrownBy(() -> new ScheduledReloadStrategyBuilder()
+        .withInterval(1, TimeUnit.MINUTES)
+        .withBackoff(10, TimeUnit.SECONDS)
+        .build())
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void buildThrowsOnInvalidAdaptiveInterval() {
+    assertThatThrownBy(() -> new ScheduledReloadStrategyBuilder()
+        .withInterval(1, TimeUnit.SECONDS)
+        .withAdaptiveInterval(2, 3, TimeUnit.SECONDS)
+        .build())
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+}
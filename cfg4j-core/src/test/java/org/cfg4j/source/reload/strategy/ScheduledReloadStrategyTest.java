@@ -0,0 +1,207 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.reload.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import org.cfg4j.source.reload.Reloadable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledReloadStrategyTest {
+
+  @Mock
+  private Reloadable reloadable;
+
+  @Mock
+  private Reloadable reloadable2;
+
+  @Test
+  void reloadsImmediatelyAfterRegistered() {
+    try (ScheduledReloadStrategy strategy = new ScheduledReloadStrategy(60, TimeUnit.SECONDS)) {
+      strategy.register(reloadable);
+
+      verify(reloadable, times(1)).reload();
+    }
+  }
+
+  @Test
+  void reloadsPeriodically() {
+    try (ScheduledReloadStrategy strategy = new ScheduledReloadStrategy(10, TimeUnit.MILLISECONDS)) {
+      strategy.register(reloadable);
+
+      verify(reloadable, timeout(5000).atLeast(3)).reload();
+    }
+  }
+
+  @Test
+  void suppressesException() {
+    doThrow(new IllegalStateException()).when(reloadable).reload();
+
+    try (ScheduledReloadStrategy strategy = new ScheduledReloadStrategy(10, TimeUnit.MILLISECONDS)) {
+      strategy.register(reloadable);
+
+      verify(reloadable, timeout(5000).atLeast(3)).reload();
+    }
+  }
+
+  @Test
+  void stopsReloadingAfterDeregistered() throws Exception {
+    try (ScheduledReloadStrategy strategy = new ScheduledReloadStrategy(10, TimeUnit.MILLISECONDS)) {
+      strategy.register(reloadable);
+      verify(reloadable, timeout(5000).atLeast(2)).reload();
+
+      strategy.deregister(reloadable);
+      Thread.sleep(50);
+      clearInvocations(reloadable);
+      Thread.sleep(100);
+
+      verifyNoMoreInteractions(reloadable);
+    }
+  }
+
+  @Test
+  void slowReloadDoesNotDelayOtherResources() {
+    CountDownLatch slowReloadReleased = new CountDownLatch(1);
+    AtomicReference<Thread> firstReloadThread = new AtomicReference<>();
+    doAnswer(invocation -> {
+      if (!firstReloadThread.compareAndSet(null, Thread.currentThread())) {
+        slowReloadReleased.await();
+      }
+      return null;
+    }).when(reloadable).reload();
+
+    try (ScheduledReloadStrategy strategy = new ScheduledReloadStrategy(10, TimeUnit.MILLISECONDS, 2)) {
+      strategy.register(reloadable);
+      strategy.register(reloadable2);
+
+      verify(reloadable2, timeout(5000).atLeast(5)).reload();
+      verify(reloadable, times(2)).reload();
+    } finally {
+      slowReloadReleased.countDown();
+    }
+  }
+
+  @Test
+  void reloadsOnDaemonThreads() throws Exception {
+    CountDownLatch reloadedOnDaemonThread = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      if (Thread.currentThread().isDaemon()) {
+        reloadedOnDaemonThread.countDown();
+      }
+      return null;
+    }).when(reloadable).reload();
+
+    try (ScheduledReloadStrategy strategy = new ScheduledReloadStrategy(10, TimeUnit.MILLISECONDS)) {
+      strategy.register(reloadable);
+
+      assertThat(reloadedOnDaemonThread.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+  }
+
+  @Test
+  void closeStopsReloading() throws Exception {
+    ScheduledReloadStrategy strategy = new ScheduledReloadStrategy(10, TimeUnit.MILLISECONDS);
+    strategy.register(reloadable);
+    verify(reloadable, timeout(5000).atLeast(2)).reload();
+
+    strategy.close();
+    Thread.sleep(50);
+    clearInvocations(reloadable);
+    Thread.sleep(100);
+
+    verifyNoMoreInteractions(reloadable);
+  }
+
+  @Test
+  void registerThrowsAfterClose() {
+    ScheduledReloadStrategy strategy = new ScheduledReloadStrategy(60, TimeUnit.SECONDS);
+    strategy.close();
+
+    assertThatThrownBy(() -> strategy.register(reloadable)).isExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void reloadsUsingProvidedExecutor() {
+    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    try {
+      try (ScheduledReloadStrategy strategy = new ScheduledReloadStrategy(10, TimeUnit.MILLISECONDS, executor)) {
+        strategy.register(reloadable);
+
+        verify(reloadable, timeout(5000).atLeast(3)).reload();
+      }
+
+      assertThat(executor.isShutdown()).isFalse();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void constructorThrowsOnNonPositivePoolSize() {
+    assertThatThrownBy(() -> new ScheduledReloadStrategy(10, TimeUnit.MILLISECONDS, 0))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void withVirtualThreadsReloadsPeriodically() {
+    assumeTrue(virtualThreadsSupported());
+
+    try (ScheduledReloadStrategy strategy = ScheduledReloadStrategy.withVirtualThreads(10, TimeUnit.MILLISECONDS)) {
+      strategy.register(reloadable);
+
+      verify(reloadable, timeout(5000).atLeast(3)).reload();
+    }
+  }
+
+  @Test
+  void withVirtualThreadsThrowsWhenUnsupported() {
+    assumeFalse(virtualThreadsSupported());
+
+    assertThatThrownBy(() -> ScheduledReloadStrategy.withVirtualThreads(10, TimeUnit.MILLISECONDS))
+        .isExactlyInstanceOf(UnsupportedOperationException.class);
+  }
+
+  private boolean virtualThreadsSupported() {
+    try {
+      Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+}
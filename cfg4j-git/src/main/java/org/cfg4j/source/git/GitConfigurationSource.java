@@ -18,6 +18,7 @@ package org.cfg4j.source.git;
 import static java.util.Objects.requireNonNull;
 
 import org.cfg4j.source.ConfigurationSource;
+import org.cfg4j.source.FetchedConfiguration;
 import org.cfg4j.source.SourceCommunicationException;
 import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
@@ -28,12 +29,24 @@ import org.cfg4j.utils.FileUtils;
 import org.eclipse.jgit.api.CheckoutCommand;
 import org.eclipse.jgit.api.CloneCommand;
 import org.eclipse.jgit.api.CreateBranchCommand;
+import org.eclipse.jgit.api.FetchCommand;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.LsRemoteCommand;
 import org.eclipse.jgit.api.PullCommand;
 import org.eclipse.jgit.api.TransportConfigCallback;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ConfigConstants;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.RemoteConfig;
+import org.eclipse.jgit.treewalk.TreeWalk;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,17 +54,35 @@ import java.io.Closeable;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
  * Note: use {@link GitConfigurationSourceBuilder} for building instances of this class.
  * <p>
- * Read configuration from the remote GIT repository. Keeps a local clone of the repository.
+ * Read configuration from the remote GIT repository. Keeps a local clone of the repository. By default each
+ * request pulls changes, checks out the environment's branch and reads configuration files from the working tree.
+ * Without checkout only new objects are fetched and configuration files are read straight from the object
+ * database, leaving the working tree untouched.
+ * <p>
+ * The local clone lives in a temporary directory removed on {@link #close()}, unless a persistent clone path is
+ * provided. A persistent clone is reused across restarts: when it's valid only changes are fetched on
+ * {@link #init()}, otherwise the repository is cloned again. Access to a persistent clone is guarded with a file
+ * lock, so it can be shared by many sources, also across JVMs on the same host.
+ * <p>
+ * This class is thread-safe. Without checkout, configuration of many environments is read in parallel: only fetches
+ * are serialized and a fetch is skipped when a concurrent one already brought the remote commit. With checkout,
+ * all environments share a single working tree, so reloads are serialized.
  */
 class GitConfigurationSource implements ConfigurationSource, Closeable {
 
@@ -66,9 +97,15 @@ class GitConfigurationSource implements ConfigurationSource, Closeable {
   private final String tmpRepoPrefix;
   private Git clonedRepo;
   private Path clonedRepoPath;
-  private boolean initialized;
+  private volatile boolean initialized;
   private CredentialsProvider credentialsProvider;
   private TransportConfigCallback transportConfigCallback;
+  private final boolean checkoutBranches;
+  private final Map<String, ParsedConfiguration> parsedConfigurations;
+  private final ParsedBlobCache parsedBlobCache;
+  private final List<String> branchesToClone;
+  private final Path localClonePath;
+  private final Object localCloneLock;
 
   /**
    * Note: use {@link GitConfigurationSourceBuilder} for building instances of this class.
@@ -92,6 +129,11 @@ class GitConfigurationSource implements ConfigurationSource, Closeable {
    * @param credentialsProvider {@link CredentialsProvider} used to customize credentials provider
    * @param transportConfigCallback {@link TransportConfigCallback} used for using ssh private key
    * at .ssh/id_rsa
+   * @param checkoutBranches whether to check out branches and read configuration files from the working tree
+   * (when {@code false} configuration files are read from the object database)
+   * @param parsedBlobCacheSize maximum number of parsed configuration files cached by their git blob id
+   * @param branchesToClone branches to clone and fetch (all branches when empty)
+   * @param localClonePath path of the persistent local clone ({@code null} to clone to a temporary directory)
    */
   GitConfigurationSource(String repositoryURI,
     Path tmpPath,
@@ -101,7 +143,11 @@ class GitConfigurationSource implements ConfigurationSource, Closeable {
     ConfigFilesProvider configFilesProvider,
     PropertiesProviderSelector propertiesProviderSelector,
     CredentialsProvider credentialsProvider,
-    TransportConfigCallback transportConfigCallback) {
+    TransportConfigCallback transportConfigCallback,
+    boolean checkoutBranches,
+    int parsedBlobCacheSize,
+    List<String> branchesToClone,
+    Path localClonePath) {
 
     this.branchResolver = requireNonNull(branchResolver);
     this.pathResolver = requireNonNull(pathResolver);
@@ -112,84 +158,326 @@ class GitConfigurationSource implements ConfigurationSource, Closeable {
     this.tmpRepoPrefix = requireNonNull(tmpRepoPrefix);
     this.credentialsProvider = credentialsProvider;
     this.transportConfigCallback = transportConfigCallback;
+    this.checkoutBranches = checkoutBranches;
 
+    parsedConfigurations = new ConcurrentHashMap<>();
+    parsedBlobCache = new ParsedBlobCache(parsedBlobCacheSize);
+    this.branchesToClone = new ArrayList<>(requireNonNull(branchesToClone));
+    this.localClonePath = localClonePath;
+    localCloneLock = new Object();
     initialized = false;
   }
 
+  /**
+   * Get configuration set for a given {@code environment} from this source in a form of {@link Properties}.
+   * Changes are fetched and the commit they brought is compared with the commit the configuration was last
+   * read from. If it didn't change, the previously read configuration is returned without checking out or
+   * parsing anything.
+   *
+   * @param environment environment to use
+   * @return configuration set for {@code environment}
+   * @throws MissingEnvironmentException when requested environment couldn't be found
+   * @throws IllegalStateException       when unable to fetch configuration
+   */
   @Override
   public Properties getConfiguration(Environment environment) {
+    checkInitialized();
+
+    return copyOf(load(environment, null));
+  }
+
+  /**
+   * Fetch configuration set for a given {@code environment} along with the id of the commit it was read from.
+   * The remote branch is resolved with a single ls-remote call. When it points to {@code cachedFingerprint}
+   * nothing is fetched, otherwise configuration is read from the resolved commit, so the returned fingerprint
+   * always matches the returned configuration.
+   *
+   * @param environment       environment to use
+   * @param cachedFingerprint id of the commit configuration held by the caller was read from or {@code null} when none
+   * @return fetched configuration or {@link FetchedConfiguration#unchanged(String)} when the remote branch didn't change
+   * @throws MissingEnvironmentException when requested environment couldn't be found
+   * @throws IllegalStateException       when unable to fetch configuration
+   */
+  @Override
+  public FetchedConfiguration fetchConfiguration(Environment environment, String cachedFingerprint) {
+    checkInitialized();
+
+    String remoteCommitId = getFingerprint(environment);
+    if (remoteCommitId != null && remoteCommitId.equals(cachedFingerprint)) {
+      return FetchedConfiguration.unchanged(remoteCommitId);
+    }
+
+    ParsedConfiguration parsedConfiguration = load(environment, remoteCommitId);
+    return FetchedConfiguration.of(copyOf(parsedConfiguration), parsedConfiguration.commitId);
+  }
+
+  @Override
+  public CompletableFuture<FetchedConfiguration> fetchConfigurationAsync(Environment environment, String cachedFingerprint,
+                                                                         Executor executor) {
+    return CompletableFuture.supplyAsync(() -> fetchConfiguration(environment, cachedFingerprint), executor);
+  }
+
+  private void checkInitialized() {
     if (!initialized) {
       throw new IllegalStateException(
         "Configuration source has to be successfully initialized before you request configuration.");
     }
+  }
+
+  /**
+   * Read configuration of {@code environment}, reusing the previously read one when the remote branch still
+   * points to the same commit.
+   *
+   * @param remoteCommitId commit the remote branch points to or {@code null} when it has to be fetched to find out
+   */
+  private ParsedConfiguration load(Environment environment, String remoteCommitId) {
+    ParsedConfiguration parsedConfiguration = parsedConfigurations.get(environment.getName());
+
+    if (isReadFrom(parsedConfiguration, remoteCommitId)) {
+      LOG.debug("Remote branch for environment " + environment.getName() + " didn't change. Skipping reload.");
+      return parsedConfiguration;
+    }
 
-    reload();
+    if (checkoutBranches) {
+      synchronized (localCloneLock) {
+        ParsedConfiguration previousConfiguration = parsedConfiguration;
 
-    try {
-      checkoutToBranch(branchResolver.getBranchNameFor(environment));
-    } catch (GitAPIException e) {
-      throw new MissingEnvironmentException(environment.getName(), e);
+        parsedConfiguration = withPersistentCloneLocked(() -> {
+          pull();
+
+          if (isReadFrom(previousConfiguration, resolveRemoteBranch(environment))) {
+            LOG.debug("Remote branch for environment " + environment.getName() + " didn't change. Skipping reload.");
+            return previousConfiguration;
+          }
+
+          return readFromWorkingTree(environment);
+        });
+      }
+    } else {
+      String fetchedCommitId = fetchUnlessPresent(environment, remoteCommitId);
+
+      if (isReadFrom(parsedConfiguration, fetchedCommitId)) {
+        LOG.debug("Remote branch for environment " + environment.getName() + " didn't change. Skipping reload.");
+        return parsedConfiguration;
+      }
+
+      parsedConfiguration = readFromObjectDatabase(environment, fetchedCommitId);
     }
 
+    parsedConfigurations.put(environment.getName(), parsedConfiguration);
+
+    return parsedConfiguration;
+  }
+
+  private static boolean isReadFrom(ParsedConfiguration parsedConfiguration, String commitId) {
+    return commitId != null && parsedConfiguration != null && commitId.equals(parsedConfiguration.commitId);
+  }
+
+  private static Properties copyOf(ParsedConfiguration parsedConfiguration) {
     Properties properties = new Properties();
+    properties.putAll(parsedConfiguration.properties);
 
-    List<Path> paths = new ArrayList<>();
-    for (Path path : configFilesProvider.getConfigFiles()) {
-      paths.add(clonedRepoPath.resolve(pathResolver.getPathFor(environment)).resolve(path));
+    return properties;
+  }
+
+  /**
+   * Get a fingerprint of the configuration set for a given {@code environment}. The fingerprint is the id
+   * of the commit the environment's branch points to in the remote repository. It's obtained with
+   * a single ls-remote call, without pulling any objects.
+   *
+   * @param environment environment to use
+   * @return fingerprint of the configuration set for {@code environment} or {@code null} when the remote
+   * branch can't be resolved
+   */
+  @Override
+  public String getFingerprint(Environment environment) {
+    if (!initialized) {
+      return null;
     }
 
-    for (Path path : paths) {
-      try (InputStream input = new FileInputStream(path.toFile())) {
+    String branchRefName = Constants.R_HEADS + branchResolver.getBranchNameFor(environment);
 
-        PropertiesProvider provider = propertiesProviderSelector
-          .getProvider(path.getFileName().toString());
-        properties.putAll(provider.getProperties(input));
+    try {
+      LsRemoteCommand lsRemoteCommand = clonedRepo.lsRemote()
+        .setHeads(true);
 
-      } catch (IOException e) {
-        throw new IllegalStateException(
-          "Unable to load configuration from " + path.toString() + " file", e);
+      if (transportConfigCallback != null) {
+        lsRemoteCommand.setTransportConfigCallback(transportConfigCallback);
+      }
+
+      for (Ref ref : lsRemoteCommand.call()) {
+        if (ref.getName().equals(branchRefName) && ref.getObjectId() != null) {
+          return ref.getObjectId().name();
+        }
       }
+    } catch (GitAPIException e) {
+      LOG.debug("Unable to list remote references of " + repositoryURI, e);
     }
 
-    return properties;
+    return null;
   }
 
   /**
    * @throws IllegalStateException when unable to create directories for local repo clone
-   * @throws SourceCommunicationException when unable to clone repository
+   * @throws SourceCommunicationException when unable to clone repository or fetch changes to the persistent clone
    */
   @Override
   public void init() {
     LOG.info("Initializing " + GitConfigurationSource.class + " pointing to " + repositoryURI);
 
-    try {
-      clonedRepoPath = Files.createTempDirectory(tmpPath, tmpRepoPrefix);
-      // This folder can't exist or JGit will throw NPE on clone
-      Files.delete(clonedRepoPath);
-    } catch (IOException e) {
-      throw new IllegalStateException("Unable to create local clone directory: " + tmpRepoPrefix,
-        e);
+    if (localClonePath == null) {
+      try {
+        clonedRepoPath = Files.createTempDirectory(tmpPath, tmpRepoPrefix);
+        // This folder can't exist or JGit will throw NPE on clone
+        Files.delete(clonedRepoPath);
+      } catch (IOException e) {
+        throw new IllegalStateException("Unable to create local clone directory: " + tmpRepoPrefix,
+          e);
+      }
+
+      clonedRepo = cloneRepository();
+    } else {
+      clonedRepoPath = localClonePath;
+
+      clonedRepo = withPersistentCloneLocked(this::openPersistentClone);
     }
 
+    initialized = true;
+  }
+
+  private Git cloneRepository() {
+    Git git;
+
     try {
       CloneCommand cloneCommand = Git.cloneRepository()
         .setURI(repositoryURI)
-        .setDirectory(clonedRepoPath.toFile());
+        .setDirectory(clonedRepoPath.toFile())
+        .setNoCheckout(!checkoutBranches);
 
       if (transportConfigCallback != null) {
         cloneCommand.setTransportConfigCallback(transportConfigCallback);
       }
 
-      clonedRepo = cloneCommand.call();
+      if (!branchesToClone.isEmpty()) {
+        List<String> branchRefNames = new ArrayList<>();
+        for (String branch : branchesToClone) {
+          branchRefNames.add(Constants.R_HEADS + branch);
+        }
+
+        cloneCommand
+          .setCloneAllBranches(false)
+          .setBranchesToClone(branchRefNames)
+          .setBranch(branchRefNames.get(0));
+      }
 
+      git = cloneCommand.call();
     } catch (GitAPIException e) {
       throw new SourceCommunicationException("Unable to clone repository: " + repositoryURI, e);
     }
 
-    initialized = true;
+    configureClone(git);
+
+    return git;
+  }
+
+  private void configureClone(Git git) {
+    try {
+      // Run automatic garbage collection within fetches so it can't race with removing the clone on close
+      StoredConfig config = git.getRepository().getConfig();
+      config.setBoolean(ConfigConstants.CONFIG_GC_SECTION, null, ConfigConstants.CONFIG_KEY_AUTODETACH, false);
+
+      if (!branchesToClone.isEmpty()) {
+        restrictFetchToClonedBranches(config);
+      }
+
+      config.save();
+    } catch (IOException | URISyntaxException e) {
+      git.close();
+      throw new IllegalStateException("Unable to configure local clone: " + clonedRepoPath, e);
+    }
+  }
+
+  /**
+   * Open the persistent clone and fetch changes. The repository is cloned again when the clone doesn't exist,
+   * is corrupted or points to a different remote repository. Has to be called while holding the clone's lock.
+   */
+  private Git openPersistentClone() {
+    Git git = openValidClone();
+
+    if (git == null) {
+      try {
+        if (Files.exists(clonedRepoPath)) {
+          new FileUtils().deleteDir(clonedRepoPath);
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException("Unable to remove invalid local clone: " + clonedRepoPath, e);
+      }
+
+      LOG.info("Cloning " + repositoryURI + " to " + clonedRepoPath);
+      return cloneRepository();
+    }
+
+    LOG.info("Reusing local clone at " + clonedRepoPath);
+    configureClone(git);
+    clonedRepo = git;
+
+    try {
+      fetch();
+    } catch (IllegalStateException e) {
+      git.close();
+      throw new SourceCommunicationException("Unable to fetch changes from repository: " + repositoryURI, e);
+    }
+
+    return git;
+  }
+
+  private Git openValidClone() {
+    if (!Files.isDirectory(clonedRepoPath)) {
+      return null;
+    }
+
+    Git git;
+    try {
+      git = Git.open(clonedRepoPath.toFile());
+    } catch (IOException e) {
+      LOG.warn("Unable to open local clone at " + clonedRepoPath + ". Cloning again.", e);
+      return null;
+    }
+
+    Repository repository = git.getRepository();
+    String remoteURI = repository.getConfig()
+      .getString(ConfigConstants.CONFIG_REMOTE_SECTION, Constants.DEFAULT_REMOTE_NAME, ConfigConstants.CONFIG_KEY_URL);
+
+    if (!repositoryURI.equals(remoteURI) || !repository.getObjectDatabase().exists()) {
+      LOG.warn("Local clone at " + clonedRepoPath + " doesn't match " + repositoryURI + ". Cloning again.");
+      git.close();
+      return null;
+    }
+
+    return git;
+  }
+
+  private LocalCloneLock lockPersistentClone() {
+    return localClonePath == null ? null : LocalCloneLock.acquire(clonedRepoPath);
+  }
+
+  /**
+   * Run {@code action} holding the lock of the persistent clone. Without a persistent clone the action is run
+   * right away.
+   */
+  private <T> T withPersistentCloneLocked(Supplier<T> action) {
+    LocalCloneLock lock = lockPersistentClone();
+
+    try {
+      return action.get();
+    } finally {
+      if (lock != null) {
+        lock.close();
+      }
+    }
   }
 
-  private void reload() {
+  private void pull() {
     try {
       LOG.debug("Reloading configuration by pulling changes");
       PullCommand pullCommand = clonedRepo.pull();
@@ -203,12 +491,184 @@ class GitConfigurationSource implements ConfigurationSource, Closeable {
     }
   }
 
+  private void restrictFetchToClonedBranches(StoredConfig config) throws URISyntaxException {
+    List<RefSpec> refSpecs = new ArrayList<>();
+    for (String branch : branchesToClone) {
+      refSpecs.add(new RefSpec()
+        .setForceUpdate(true)
+        .setSourceDestination(Constants.R_HEADS + branch,
+          Constants.R_REMOTES + Constants.DEFAULT_REMOTE_NAME + "/" + branch));
+    }
+
+    RemoteConfig remoteConfig = new RemoteConfig(config, Constants.DEFAULT_REMOTE_NAME);
+    remoteConfig.setFetchRefSpecs(refSpecs);
+    remoteConfig.update(config);
+  }
+
+  /**
+   * Fetch changes unless the remote branch of {@code environment} already points to {@code remoteCommitId}, e.g.
+   * because a concurrent fetch brought it. Reads from the object database don't need to wait for fetches.
+   *
+   * @return commit the remote branch points to after fetching or {@code null} when it doesn't exist
+   */
+  private String fetchUnlessPresent(Environment environment, String remoteCommitId) {
+    synchronized (localCloneLock) {
+      String fetchedCommitId = resolveRemoteBranch(environment);
+      if (remoteCommitId != null && remoteCommitId.equals(fetchedCommitId)) {
+        LOG.debug("Remote branch for environment " + environment.getName() + " already fetched. Skipping fetch.");
+        return fetchedCommitId;
+      }
+
+      return withPersistentCloneLocked(() -> {
+        fetch();
+        return resolveRemoteBranch(environment);
+      });
+    }
+  }
+
+  private String resolveRemoteBranch(Environment environment) {
+    try {
+      ObjectId commitId = clonedRepo.getRepository().resolve(getRemoteBranchRefName(environment));
+      return commitId == null ? null : commitId.name();
+    } catch (IOException e) {
+      LOG.debug("Unable to resolve remote branch for environment " + environment.getName(), e);
+      return null;
+    }
+  }
+
+  private String getRemoteBranchRefName(Environment environment) {
+    return Constants.R_REMOTES + Constants.DEFAULT_REMOTE_NAME + "/" + branchResolver.getBranchNameFor(environment);
+  }
+
+  private void fetch() {
+    try {
+      LOG.debug("Reloading configuration by fetching changes");
+      FetchCommand fetchCommand = clonedRepo.fetch();
+      if (transportConfigCallback != null) {
+        fetchCommand.setTransportConfigCallback(transportConfigCallback);
+      }
+      fetchCommand.call();
+    } catch (GitAPIException e) {
+      throw new IllegalStateException("Unable to fetch from remote repository", e);
+    }
+  }
+
+  private ParsedConfiguration readFromWorkingTree(Environment environment) {
+    Repository repository = clonedRepo.getRepository();
+    ObjectId commitId;
+
+    try {
+      checkoutToBranch(branchResolver.getBranchNameFor(environment));
+      commitId = repository.resolve(Constants.HEAD);
+    } catch (GitAPIException | IOException e) {
+      throw new MissingEnvironmentException(environment.getName(), e);
+    }
+
+    Properties properties = new Properties();
+
+    try (RevWalk revWalk = new RevWalk(repository)) {
+      RevTree tree = revWalk.parseCommit(commitId).getTree();
+
+      for (Path path : configFilesProvider.getConfigFiles()) {
+        Path relativePath = pathResolver.getPathFor(environment).resolve(path);
+        String filePath = toRepositoryPath(relativePath);
+        PropertiesProvider provider = propertiesProviderSelector.getProvider(path.getFileName().toString());
+
+        ObjectId blobId = findBlob(repository, tree, filePath);
+        Properties fileProperties = blobId == null ? null : parsedBlobCache.get(blobId, filePath, provider);
+
+        if (fileProperties == null) {
+          Path file = clonedRepoPath.resolve(relativePath);
+          try (InputStream input = new FileInputStream(file.toFile())) {
+            fileProperties = provider.getProperties(input);
+          } catch (IOException e) {
+            throw new IllegalStateException("Unable to load configuration from " + file.toString() + " file", e);
+          }
+
+          if (blobId != null) {
+            parsedBlobCache.put(blobId, filePath, provider, fileProperties);
+          }
+        }
+
+        properties.putAll(fileProperties);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to load configuration for environment " + environment.getName(), e);
+    }
+
+    return new ParsedConfiguration(commitId.name(), properties);
+  }
+
+  /**
+   * Read configuration of {@code environment} from the given commit of its remote branch.
+   *
+   * @param commitId commit to read from or {@code null} when the remote branch doesn't exist
+   */
+  private ParsedConfiguration readFromObjectDatabase(Environment environment, String commitId) {
+    if (commitId == null) {
+      throw new MissingEnvironmentException(environment.getName());
+    }
+
+    Repository repository = clonedRepo.getRepository();
+    Properties properties = new Properties();
+
+    try (RevWalk revWalk = new RevWalk(repository)) {
+      RevTree tree = revWalk.parseCommit(ObjectId.fromString(commitId)).getTree();
+
+      for (Path path : configFilesProvider.getConfigFiles()) {
+        String filePath = toRepositoryPath(pathResolver.getPathFor(environment).resolve(path));
+        PropertiesProvider provider = propertiesProviderSelector.getProvider(path.getFileName().toString());
+
+        ObjectId blobId = findBlob(repository, tree, filePath);
+        if (blobId == null) {
+          throw new IllegalStateException("Unable to load configuration from " + filePath + " file");
+        }
+
+        Properties fileProperties = parsedBlobCache.get(blobId, filePath, provider);
+
+        if (fileProperties == null) {
+          try (InputStream input = repository.open(blobId, Constants.OBJ_BLOB).openStream()) {
+            fileProperties = provider.getProperties(input);
+          }
+
+          parsedBlobCache.put(blobId, filePath, provider, fileProperties);
+        }
+
+        properties.putAll(fileProperties);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to load configuration from commit " + commitId, e);
+    }
+
+    return new ParsedConfiguration(commitId, properties);
+  }
+
+  private ObjectId findBlob(Repository repository, RevTree tree, String filePath) throws IOException {
+    try (TreeWalk treeWalk = TreeWalk.forPath(repository, filePath, tree)) {
+      return treeWalk == null ? null : treeWalk.getObjectId(0);
+    }
+  }
+
+  private String toRepositoryPath(Path path) {
+    StringJoiner repositoryPath = new StringJoiner("/");
+    for (Path name : path.normalize()) {
+      if (!name.toString().isEmpty()) {
+        repositoryPath.add(name.toString());
+      }
+    }
+
+    return repositoryPath.toString();
+  }
+
   @Override
   public void close() throws IOException {
     if (clonedRepo != null) {
       LOG.debug("Closing local repository: " + clonedRepoPath);
       clonedRepo.close();
-      new FileUtils().deleteDir(clonedRepoPath);
+
+      if (localClonePath == null) {
+        new FileUtils().deleteDir(clonedRepoPath);
+      }
     }
   }
 
@@ -238,6 +698,16 @@ class GitConfigurationSource implements ConfigurationSource, Closeable {
     return false;
   }
 
+  private static final class ParsedConfiguration {
+    private final String commitId;
+    private final Properties properties;
+
+    private ParsedConfiguration(String commitId, Properties properties) {
+      this.commitId = commitId;
+      this.properties = properties;
+    }
+  }
+
   @Override
   public String toString() {
     return new StringJoiner(", ", GitConfigurationSource.class.getSimpleName() + "[", "]")
@@ -253,6 +723,10 @@ class GitConfigurationSource implements ConfigurationSource, Closeable {
       .add("initialized=" + initialized)
       .add("credentialsProvider=" + credentialsProvider)
       .add("transportConfigCallback=" + transportConfigCallback)
+      .add("checkoutBranches=" + checkoutBranches)
+      .add("parsedBlobCache=" + parsedBlobCache)
+      .add("branchesToClone=" + branchesToClone)
+      .add("localClonePath=" + localClonePath)
       .toString();
   }
 }
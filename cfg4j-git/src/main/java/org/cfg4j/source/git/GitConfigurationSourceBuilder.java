@@ -36,6 +36,9 @@ import org.eclipse.jgit.util.FS;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.StringJoiner;
 
 /**
@@ -52,6 +55,10 @@ public class GitConfigurationSourceBuilder {
   private PropertiesProviderSelector propertiesProviderSelector;
   private CredentialsProvider credentialsProvider;
   private TransportConfigCallback transportConfigCallback;
+  private boolean checkoutBranches;
+  private int parsedBlobCacheSize;
+  private List<String> branchesToClone;
+  private Path localClonePath;
 
   /**
    * Construct {@link GitConfigurationSource}s builder
@@ -65,6 +72,10 @@ public class GitConfigurationSourceBuilder {
    * <li>tmpRepoPrefix: "cfg4j-config-git-config-repository"</li>
    * <li>propertiesProviderSelector: {@link PropertiesProviderSelector} with {@link PropertyBasedPropertiesProvider}
    * and {@link YamlBasedPropertiesProvider} providers</li>
+   * <li>checkout: branches are checked out and configuration files are read from the working tree</li>
+   * <li>parsedBlobCacheSize: 64</li>
+   * <li>branchesToClone: all branches</li>
+   * <li>localClonePath: none, repository is cloned to a temporary directory</li>
    * </ul>
    */
   public GitConfigurationSourceBuilder() {
@@ -78,6 +89,9 @@ public class GitConfigurationSourceBuilder {
       new YamlBasedPropertiesProvider(),
       new JsonBasedPropertiesProvider()
     );
+    checkoutBranches = true;
+    parsedBlobCacheSize = 64;
+    branchesToClone = Collections.emptyList();
   }
 
   /**
@@ -157,6 +171,62 @@ public class GitConfigurationSourceBuilder {
     return this;
   }
 
+  /**
+   * Don't check out branches in {@link GitConfigurationSource}s built by this builder. Sources will only fetch
+   * changes and read configuration files straight from the git object database, so the local clone
+   * won't have a working tree.
+   *
+   * @return this builder with checkout disabled
+   */
+  public GitConfigurationSourceBuilder withoutCheckout() {
+    this.checkoutBranches = false;
+    return this;
+  }
+
+  /**
+   * Set the maximum number of parsed configuration files cached by {@link GitConfigurationSource}s built by this
+   * builder. Files are cached by their git blob id, so identical files are parsed once regardless of how many
+   * environments or commits reference them. Use 0 to disable caching.
+   *
+   * @param parsedBlobCacheSize maximum number of cached parsed files
+   * @return this builder with parsed files cache size set to {@code parsedBlobCacheSize}
+   */
+  public GitConfigurationSourceBuilder withParsedBlobCacheSize(int parsedBlobCacheSize) {
+    this.parsedBlobCacheSize = parsedBlobCacheSize;
+    return this;
+  }
+
+  /**
+   * Clone and fetch only given branches in {@link GitConfigurationSource}s built by this builder. Use it to limit
+   * the clone to branches your {@link BranchResolver} can resolve to. Requests for environments resolving to other
+   * branches will fail with {@link org.cfg4j.source.context.environment.MissingEnvironmentException}.
+   * <p>
+   * Tip: combine with {@link #withoutCheckout()} to skip checking out files too. Only configuration files
+   * will be read then, straight from the git object database.
+   *
+   * @param branches branches to clone
+   * @return this builder with branches to clone set to {@code branches}
+   */
+  public GitConfigurationSourceBuilder withBranches(String... branches) {
+    this.branchesToClone = Arrays.asList(branches);
+    return this;
+  }
+
+  /**
+   * Keep the local clone of {@link GitConfigurationSource}s built by this builder at {@code localClonePath} instead
+   * of a temporary directory. The clone isn't removed on close and is reused on the next initialization, fetching
+   * only changes made since. It's cloned again when it's corrupted or points to a different repository.
+   * Sources sharing the same {@code localClonePath}, also in different JVMs, lock the clone while using it.
+   * When set, temporary dir path and prefix are ignored.
+   *
+   * @param localClonePath path of the persistent local clone
+   * @return this builder with local clone path set to {@code localClonePath}
+   */
+  public GitConfigurationSourceBuilder withLocalClonePath(Path localClonePath) {
+    this.localClonePath = localClonePath;
+    return this;
+  }
+
   /**
    * When using with ssh transport, use {@code ~/.ssh/id_rsa} for auth.
    *
@@ -232,7 +302,11 @@ public class GitConfigurationSourceBuilder {
       configFilesProvider,
       propertiesProviderSelector,
       credentialsProvider,
-      transportConfigCallback);
+      transportConfigCallback,
+      checkoutBranches,
+      parsedBlobCacheSize,
+      branchesToClone,
+      localClonePath);
   }
 
   @Override
@@ -248,6 +322,10 @@ public class GitConfigurationSourceBuilder {
       .add("propertiesProviderSelector=" + propertiesProviderSelector)
       .add("credentialsProvider=" + credentialsProvider)
       .add("transportConfigCallback=" + transportConfigCallback)
+      .add("checkoutBranches=" + checkoutBranches)
+      .add("parsedBlobCacheSize=" + parsedBlobCacheSize)
+      .add("branchesToClone=" + branchesToClone)
+      .add("localClonePath=" + localClonePath)
       .toString();
   }
 }
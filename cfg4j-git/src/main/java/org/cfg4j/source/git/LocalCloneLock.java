@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.git;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Exclusive lock on a local git clone shared by many {@link GitConfigurationSource}s, possibly running in different
+ * JVMs. Threads of a single JVM are serialized with an in-memory lock, JVMs with a lock on the {@code <clone>.lock}
+ * file placed next to the clone directory. Not reentrant.
+ */
+final class LocalCloneLock implements Closeable {
+
+  private static final ConcurrentMap<Path, ReentrantLock> JVM_LOCKS = new ConcurrentHashMap<>();
+
+  private final ReentrantLock jvmLock;
+  private final FileChannel channel;
+
+  private LocalCloneLock(ReentrantLock jvmLock, FileChannel channel) {
+    this.jvmLock = jvmLock;
+    this.channel = channel;
+  }
+
+  /**
+   * Block until the exclusive lock on the clone residing at {@code clonePath} is acquired.
+   *
+   * @param clonePath path to the local clone
+   * @return acquired lock, release it by calling {@link #close()}
+   * @throws IllegalStateException when unable to lock the clone
+   */
+  static LocalCloneLock acquire(Path clonePath) {
+    Path absoluteClonePath = clonePath.toAbsolutePath().normalize();
+    Path lockPath = absoluteClonePath.resolveSibling(absoluteClonePath.getFileName() + ".lock");
+
+    ReentrantLock jvmLock = JVM_LOCKS.computeIfAbsent(lockPath, path -> new ReentrantLock());
+    jvmLock.lock();
+
+    try {
+      Files.createDirectories(lockPath.getParent());
+      FileChannel channel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+      try {
+        channel.lock();
+        return new LocalCloneLock(jvmLock, channel);
+      } catch (IOException | RuntimeException e) {
+        channel.close();
+        throw e;
+      }
+    } catch (IOException e) {
+      jvmLock.unlock();
+      throw new IllegalStateException("Unable to lock local clone: " + clonePath, e);
+    } catch (RuntimeException e) {
+      jvmLock.unlock();
+      throw e;
+    }
+  }
+
+  /**
+   * Release this lock.
+   *
+   * @throws IllegalStateException when unable to release the file lock
+   */
+  @Override
+  public void close() {
+    try {
+      // Closing the channel releases the file lock
+      channel.close();
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to unlock local clone", e);
+    } finally {
+      jvmLock.unlock();
+    }
+  }
+}
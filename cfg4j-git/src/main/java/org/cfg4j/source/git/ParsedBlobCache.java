@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.git;
+
+import static java.util.Objects.requireNonNull;
+
+import org.cfg4j.source.context.propertiesprovider.PropertiesProvider;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Bounded cache of configuration files parsed from git blobs. Entries are keyed by blob id, file path and the
+ * {@link PropertiesProvider} used for parsing, so a blob is parsed once no matter how many environments or commits
+ * reference it. When full, the least recently used entry is evicted. Cached {@link Properties} must not be modified.
+ * This class is thread-safe.
+ */
+class ParsedBlobCache {
+
+  private final int maxSize;
+  private final LruMap cache;
+
+  /**
+   * Create a cache holding up to {@code maxSize} parsed files. Cache of size 0 doesn't hold anything.
+   *
+   * @param maxSize maximum number of cached files
+   */
+  ParsedBlobCache(int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("Cache size can't be negative: " + maxSize);
+    }
+
+    this.maxSize = maxSize;
+    cache = new LruMap(maxSize);
+  }
+
+  /**
+   * Get configuration parsed from a given blob.
+   *
+   * @param blobId   id of the parsed blob
+   * @param path     path of the file in repository
+   * @param provider provider used for parsing
+   * @return parsed configuration or {@code null} when not cached
+   */
+  synchronized Properties get(AnyObjectId blobId, String path, PropertiesProvider provider) {
+    return cache.get(new Key(blobId, path, provider));
+  }
+
+  /**
+   * Cache configuration parsed from a given blob.
+   *
+   * @param blobId     id of the parsed blob
+   * @param path       path of the file in repository
+   * @param provider   provider used for parsing
+   * @param properties parsed configuration
+   */
+  synchronized void put(AnyObjectId blobId, String path, PropertiesProvider provider, Properties properties) {
+    if (maxSize > 0) {
+      cache.put(new Key(blobId, path, provider), requireNonNull(properties));
+    }
+  }
+
+  synchronized int size() {
+    return cache.size();
+  }
+
+  /**
+   * Map kept in access order, evicting the least recently used entry when it grows above {@code maxSize}.
+   */
+  private static final class LruMap extends LinkedHashMap<Key, Properties> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int maxSize;
+
+    private LruMap(int maxSize) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key, Properties> eldest) {
+      return size() > maxSize;
+    }
+  }
+
+  private static final class Key {
+    private final ObjectId blobId;
+    private final String path;
+    private final PropertiesProvider provider;
+
+    private Key(AnyObjectId blobId, String path, PropertiesProvider provider) {
+      this.blobId = blobId.copy();
+      this.path = requireNonNull(path);
+      this.provider = requireNonNull(provider);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+
+      Key key = (Key) o;
+      return blobId.equals(key.blobId) && path.equals(key.path) && provider == key.provider;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(blobId, path, System.identityHashCode(provider));
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ParsedBlobCache{" +
+      "maxSize=" + maxSize +
+      '}';
+  }
+}
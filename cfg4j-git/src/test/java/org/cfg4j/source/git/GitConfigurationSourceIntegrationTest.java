@@ -19,20 +19,35 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.assertj.core.data.MapEntry;
+import org.cfg4j.source.FetchedConfiguration;
 import org.cfg4j.source.SourceCommunicationException;
 import org.cfg4j.source.context.environment.DefaultEnvironment;
 import org.cfg4j.source.context.environment.Environment;
 import org.cfg4j.source.context.environment.ImmutableEnvironment;
 import org.cfg4j.source.context.environment.MissingEnvironmentException;
 import org.cfg4j.source.context.filesprovider.ConfigFilesProvider;
+import org.cfg4j.utils.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.StoredConfig;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 class GitConfigurationSourceIntegrationTest {
 
@@ -175,12 +190,474 @@ class GitConfigurationSourceIntegrationTest {
     }
   }
 
+  @Test
+  void getFingerprintDoesNotChangeWithoutRemoteChanges() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceForRemoteRepoWithDefaults()) {
+      Environment environment = new DefaultEnvironment();
+
+      assertThat(gitConfigurationSource.getFingerprint(environment))
+          .isNotNull()
+          .isEqualTo(gitConfigurationSource.getFingerprint(environment));
+    }
+  }
+
+  @Test
+  void getFingerprintChangesOnRemoteCommit() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceForRemoteRepoWithDefaults()) {
+      Environment environment = new DefaultEnvironment();
+      String fingerprint = gitConfigurationSource.getFingerprint(environment);
+
+      remoteRepo.changeProperty(Paths.get("application.properties"), "some.setting", "changedValue");
+
+      assertThat(gitConfigurationSource.getFingerprint(environment)).isNotEqualTo(fingerprint);
+    }
+  }
+
+  @Test
+  void getFingerprintDiffersBetweenBranches() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceForRemoteRepoWithDefaults()) {
+      assertThat(gitConfigurationSource.getFingerprint(new DefaultEnvironment()))
+          .isNotEqualTo(gitConfigurationSource.getFingerprint(new ImmutableEnvironment(TEST_ENV_BRANCH)));
+    }
+  }
+
+  @Test
+  void getFingerprintReturnsNullOnMissingBranch() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceForRemoteRepoWithDefaults()) {
+      assertThat(gitConfigurationSource.getFingerprint(new ImmutableEnvironment("nonExistentBranch"))).isNull();
+    }
+  }
+
+  @Test
+  void getFingerprintReturnsNullBeforeInitCalled() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceBuilderForRemoteRepoWithDefaults().build()) {
+      assertThat(gitConfigurationSource.getFingerprint(new DefaultEnvironment())).isNull();
+    }
+  }
+
+  @Test
+  void getConfigurationSkipsReloadWhenRemoteBranchUnchanged() throws Exception {
+    AtomicInteger reads = new AtomicInteger();
+    ConfigFilesProvider configFilesProvider = () -> {
+      reads.incrementAndGet();
+      return Collections.singletonList(Paths.get("application.properties"));
+    };
+
+    try (GitConfigurationSource gitConfigurationSource = getSourceForRemoteRepoWithFilesProvider(configFilesProvider)) {
+      gitConfigurationSource.getConfiguration(new DefaultEnvironment());
+      gitConfigurationSource.getConfiguration(new DefaultEnvironment());
+
+      assertThat(reads.get()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void fetchConfigurationReturnsConfigurationWithCommitFingerprint() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceWithoutCheckout()) {
+      FetchedConfiguration fetched = gitConfigurationSource.fetchConfiguration(new DefaultEnvironment(), null);
+
+      assertThat(fetched.getConfiguration()).containsOnly(MapEntry.entry("some.setting", "masterValue"));
+      assertThat(fetched.getFingerprint()).isEqualTo(gitConfigurationSource.getFingerprint(new DefaultEnvironment()));
+    }
+  }
+
+  @Test
+  void fetchConfigurationSkipsReadWhenFingerprintUnchanged() throws Exception {
+    AtomicInteger reads = new AtomicInteger();
+    ConfigFilesProvider configFilesProvider = () -> {
+      reads.incrementAndGet();
+      return Collections.singletonList(Paths.get("application.properties"));
+    };
+
+    try (GitConfigurationSource gitConfigurationSource = getSourceForRemoteRepoWithFilesProvider(configFilesProvider)) {
+      String fingerprint = gitConfigurationSource.getFingerprint(new DefaultEnvironment());
+
+      FetchedConfiguration fetched = gitConfigurationSource.fetchConfiguration(new DefaultEnvironment(), fingerprint);
+
+      assertThat(fetched.isChanged()).isFalse();
+      assertThat(fetched.getFingerprint()).isEqualTo(fingerprint);
+      assertThat(reads.get()).isZero();
+    }
+  }
+
+  @Test
+  void fetchConfigurationReadsChangedConfiguration() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceWithoutCheckout()) {
+      String fingerprint = gitConfigurationSource.fetchConfiguration(new DefaultEnvironment(), null).getFingerprint();
+
+      remoteRepo.changeProperty(Paths.get("application.properties"), "some.setting", "changedValue");
+      FetchedConfiguration fetched = gitConfigurationSource.fetchConfiguration(new DefaultEnvironment(), fingerprint);
+
+      assertThat(fetched.getConfiguration()).containsOnly(MapEntry.entry("some.setting", "changedValue"));
+      assertThat(fetched.getFingerprint())
+          .isNotEqualTo(fingerprint)
+          .isEqualTo(gitConfigurationSource.getFingerprint(new DefaultEnvironment()));
+    }
+  }
+
+  @Test
+  void fetchConfigurationThrowsBeforeInitCalled() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceBuilderForRemoteRepoWithDefaults().build()) {
+      assertThatThrownBy(() -> gitConfigurationSource.fetchConfiguration(new DefaultEnvironment(), null))
+          .isExactlyInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  void getConfigurationReloadsWhenRemoteBranchChanged() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceForRemoteRepoWithDefaults()) {
+      gitConfigurationSource.getConfiguration(new DefaultEnvironment());
+
+      remoteRepo.changeProperty(Paths.get("application.properties"), "some.setting", "changedValue");
+
+      assertThat(gitConfigurationSource.getConfiguration(new DefaultEnvironment()))
+          .contains(MapEntry.entry("some.setting", "changedValue"));
+    }
+  }
+
+  @Test
+  void getConfigurationReturnsCopyOfConfigurationWhenSkippingReload() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceForRemoteRepoWithDefaults()) {
+      gitConfigurationSource.getConfiguration(new DefaultEnvironment()).put("some.setting", "modifiedValue");
+
+      assertThat(gitConfigurationSource.getConfiguration(new DefaultEnvironment()))
+          .contains(MapEntry.entry("some.setting", "masterValue"));
+    }
+  }
+
+  @Test
+  void getConfigurationReadsRevertedConfiguration() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceWithoutCheckout()) {
+      gitConfigurationSource.getConfiguration(new DefaultEnvironment());
+      remoteRepo.changeProperty(Paths.get("application.properties"), "some.setting", "changedValue");
+      gitConfigurationSource.getConfiguration(new DefaultEnvironment());
+
+      remoteRepo.changeProperty(Paths.get("application.properties"), "some.setting", "masterValue");
+
+      assertThat(gitConfigurationSource.getConfiguration(new DefaultEnvironment()))
+          .containsOnly(MapEntry.entry("some.setting", "masterValue"));
+    }
+  }
+
+  @Test
+  void getConfigurationReadsSameFilesForEnvironmentsSharingBranch() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceForRemoteRepoWithDefaults()) {
+      assertThat(gitConfigurationSource.getConfiguration(new ImmutableEnvironment(DEFAULT_BRANCH)))
+          .isEqualTo(gitConfigurationSource.getConfiguration(new DefaultEnvironment()));
+    }
+  }
+
+  @Test
+  void getConfigurationWithoutCheckoutReadsConfigFromGivenBranch() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceWithoutCheckout()) {
+      assertThat(gitConfigurationSource.getConfiguration(new ImmutableEnvironment(TEST_ENV_BRANCH)))
+          .containsOnly(MapEntry.entry("some.setting", "testValue"));
+      assertThat(gitConfigurationSource.getConfiguration(new DefaultEnvironment()))
+          .containsOnly(MapEntry.entry("some.setting", "masterValue"));
+    }
+  }
+
+  @Test
+  void getConfigurationWithoutCheckoutReadsFromGivenPath() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceWithoutCheckout()) {
+      Environment environment = new ImmutableEnvironment("/otherApplicationConfigs/");
+
+      assertThat(gitConfigurationSource.getConfiguration(environment)).containsOnly(MapEntry.entry("some.setting", "otherAppSetting"));
+    }
+  }
+
+  @Test
+  void getConfigurationWithoutCheckoutReadsFromGivenFiles() throws Exception {
+    ConfigFilesProvider configFilesProvider = () -> Arrays.asList(Paths.get("application.properties"), Paths.get("otherConfig.properties"));
+    GitConfigurationSource source = getSourceBuilderForRemoteRepoWithDefaults()
+        .withConfigFilesProvider(configFilesProvider)
+        .withoutCheckout()
+        .build();
+    source.init();
+
+    try (GitConfigurationSource gitConfigurationSource = source) {
+      assertThat(gitConfigurationSource.getConfiguration(new DefaultEnvironment())).containsOnlyKeys("some.setting", "otherConfig.setting");
+    }
+  }
+
+  @Test
+  void getConfigurationWithoutCheckoutReadsFetchedChanges() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceWithoutCheckout()) {
+      gitConfigurationSource.getConfiguration(new DefaultEnvironment());
+
+      remoteRepo.changeProperty(Paths.get("application.properties"), "some.setting", "changedValue");
+
+      assertThat(gitConfigurationSource.getConfiguration(new DefaultEnvironment()))
+          .containsOnly(MapEntry.entry("some.setting", "changedValue"));
+    }
+  }
+
+  @Test
+  void getConfigurationWithoutCheckoutDoesNotCreateWorkingTree() throws Exception {
+    Path tmpPath = Files.createTempDirectory("cfg4j-git-test");
+    GitConfigurationSource source = getSourceBuilderForRemoteRepoWithDefaults()
+        .withTmpPath(tmpPath)
+        .withoutCheckout()
+        .build();
+    source.init();
+
+    try (GitConfigurationSource gitConfigurationSource = source) {
+      gitConfigurationSource.getConfiguration(new ImmutableEnvironment(TEST_ENV_BRANCH));
+
+      try (Stream<Path> clones = Files.list(tmpPath)) {
+        Path clonePath = clones.findFirst().orElseThrow(IllegalStateException::new);
+
+        try (Stream<Path> files = Files.list(clonePath)) {
+          assertThat(files.map(path -> path.getFileName().toString())).containsOnly(".git");
+        }
+      }
+    } finally {
+      Files.delete(tmpPath);
+    }
+  }
+
+  @Test
+  void getConfigurationWithoutCheckoutThrowsOnMissingBranch() throws Exception {
+    try (GitConfigurationSource gitConfigurationSource = getSourceWithoutCheckout()) {
+      assertThatThrownBy(() -> gitConfigurationSource.getConfiguration(new ImmutableEnvironment("nonExistentBranch")))
+          .isExactlyInstanceOf(MissingEnvironmentException.class);
+    }
+  }
+
+  @Test
+  void getConfigurationWithoutCheckoutThrowsOnMissingConfigFile() throws Exception {
+    remoteRepo.deleteFile(Paths.get("application.properties"));
+
+    try (GitConfigurationSource gitConfigurationSource = getSourceWithoutCheckout()) {
+      assertThatThrownBy(() -> gitConfigurationSource.getConfiguration(new DefaultEnvironment()))
+          .isExactlyInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  void getConfigurationReadsFromClonedBranch() throws Exception {
+    GitConfigurationSource source = getSourceBuilderForRemoteRepoWithDefaults()
+        .withBranches(TEST_ENV_BRANCH)
+        .build();
+    source.init();
+
+    try (GitConfigurationSource gitConfigurationSource = source) {
+      assertThat(gitConfigurationSource.getConfiguration(new ImmutableEnvironment(TEST_ENV_BRANCH)))
+          .containsOnly(MapEntry.entry("some.setting", "testValue"));
+    }
+  }
+
+  @Test
+  void getConfigurationWithoutCheckoutThrowsForBranchThatWasNotCloned() throws Exception {
+    GitConfigurationSource source = getSourceBuilderForRemoteRepoWithDefaults()
+        .withBranches(TEST_ENV_BRANCH)
+        .withoutCheckout()
+        .build();
+    source.init();
+
+    try (GitConfigurationSource gitConfigurationSource = source) {
+      assertThatThrownBy(() -> gitConfigurationSource.getConfiguration(new DefaultEnvironment()))
+          .isExactlyInstanceOf(MissingEnvironmentException.class);
+    }
+  }
+
+  @Test
+  void initClonesAndFetchesOnlyGivenBranches() throws Exception {
+    Path tmpPath = Files.createTempDirectory("cfg4j-git-test");
+    GitConfigurationSource source = getSourceBuilderForRemoteRepoWithDefaults()
+        .withTmpPath(tmpPath)
+        .withBranches(TEST_ENV_BRANCH)
+        .withoutCheckout()
+        .build();
+    source.init();
+
+    try (GitConfigurationSource gitConfigurationSource = source) {
+      remoteRepo.changeProperty(Paths.get("application.properties"), "some.setting", "changedValue");
+      gitConfigurationSource.getConfiguration(new ImmutableEnvironment(TEST_ENV_BRANCH));
+
+      try (Stream<Path> clones = Files.list(tmpPath);
+           Git clone = Git.open(clones.findFirst().orElseThrow(IllegalStateException::new).toFile())) {
+        assertThat(clone.getRepository().getRefDatabase().getRefs(Constants.R_REMOTES).keySet())
+            .containsOnly(Constants.DEFAULT_REMOTE_NAME + "/" + TEST_ENV_BRANCH);
+      }
+    } finally {
+      Files.delete(tmpPath);
+    }
+  }
+
+  @Test
+  void closeKeepsPersistentClone() throws Exception {
+    Path cachePath = Files.createTempDirectory("cfg4j-git-test");
+    Path clonePath = cachePath.resolve("clone");
+
+    try {
+      getSourceWithPersistentClone(clonePath).close();
+
+      assertThat(clonePath.resolve(".git")).isDirectory();
+    } finally {
+      new FileUtils().deleteDir(cachePath);
+    }
+  }
+
+  @Test
+  void initReusesPersistentCloneAndFetchesChanges() throws Exception {
+    Path cachePath = Files.createTempDirectory("cfg4j-git-test");
+    Path clonePath = cachePath.resolve("clone");
+
+    try {
+      try (GitConfigurationSource gitConfigurationSource = getSourceWithPersistentClone(clonePath)) {
+        gitConfigurationSource.getConfiguration(new DefaultEnvironment());
+      }
+      Path marker = Files.createFile(clonePath.resolve(".git").resolve("marker"));
+      remoteRepo.changeProperty(Paths.get("application.properties"), "some.setting", "changedValue");
+
+      try (GitConfigurationSource gitConfigurationSource = getSourceWithPersistentClone(clonePath)) {
+        assertThat(marker).exists();
+        assertThat(gitConfigurationSource.getConfiguration(new DefaultEnvironment()))
+            .containsOnly(MapEntry.entry("some.setting", "changedValue"));
+      }
+    } finally {
+      new FileUtils().deleteDir(cachePath);
+    }
+  }
+
+  @Test
+  void initReclonesInvalidPersistentClone() throws Exception {
+    Path cachePath = Files.createTempDirectory("cfg4j-git-test");
+    Path clonePath = Files.createDirectories(cachePath.resolve("clone").resolve(".git"));
+    Files.write(clonePath.resolve("HEAD"), Collections.singletonList("garbage"));
+
+    try (GitConfigurationSource gitConfigurationSource = getSourceWithPersistentClone(cachePath.resolve("clone"))) {
+      assertThat(gitConfigurationSource.getConfiguration(new DefaultEnvironment()))
+          .containsOnly(MapEntry.entry("some.setting", "masterValue"));
+    } finally {
+      new FileUtils().deleteDir(cachePath);
+    }
+  }
+
+  @Test
+  void initReclonesPersistentCloneOfOtherRepository() throws Exception {
+    Path cachePath = Files.createTempDirectory("cfg4j-git-test");
+    Path clonePath = cachePath.resolve("clone");
+
+    try {
+      getSourceWithPersistentClone(clonePath).close();
+      try (Git clone = Git.open(clonePath.toFile())) {
+        StoredConfig config = clone.getRepository().getConfig();
+        config.setString("remote", "origin", "url", "/some/other/repository");
+        config.save();
+      }
+      Path marker = Files.createFile(clonePath.resolve(".git").resolve("marker"));
+
+      try (GitConfigurationSource gitConfigurationSource = getSourceWithPersistentClone(clonePath)) {
+        assertThat(marker).doesNotExist();
+        assertThat(gitConfigurationSource.getConfiguration(new DefaultEnvironment()))
+            .containsOnly(MapEntry.entry("some.setting", "masterValue"));
+      }
+    } finally {
+      new FileUtils().deleteDir(cachePath);
+    }
+  }
+
+  @Test
+  void getConfigurationReadsFromPersistentCloneSharedBySources() throws Exception {
+    Path cachePath = Files.createTempDirectory("cfg4j-git-test");
+    Path clonePath = cachePath.resolve("clone");
+
+    try (GitConfigurationSource firstSource = getSourceWithPersistentClone(clonePath);
+         GitConfigurationSource secondSource = getSourceWithPersistentClone(clonePath)) {
+      assertThat(firstSource.getConfiguration(new ImmutableEnvironment(TEST_ENV_BRANCH)))
+          .containsOnly(MapEntry.entry("some.setting", "testValue"));
+      assertThat(secondSource.getConfiguration(new DefaultEnvironment()))
+          .containsOnly(MapEntry.entry("some.setting", "masterValue"));
+
+      remoteRepo.changeProperty(Paths.get("application.properties"), "some.setting", "changedValue");
+
+      assertThat(firstSource.getConfiguration(new DefaultEnvironment()))
+          .containsOnly(MapEntry.entry("some.setting", "changedValue"));
+      assertThat(secondSource.getConfiguration(new ImmutableEnvironment(TEST_ENV_BRANCH)))
+          .containsOnly(MapEntry.entry("some.setting", "testValue"));
+    } finally {
+      new FileUtils().deleteDir(cachePath);
+    }
+  }
+
+  @Test
+  void getConfigurationWithoutCheckoutServesEnvironmentsConcurrently() throws Exception {
+    GitConfigurationSource source = getSourceBuilderForRemoteRepoWithDefaults()
+        .withRepositoryURI(remoteRepo.dirPath.toUri().toString())
+        .withoutCheckout()
+        .build();
+    source.init();
+
+    try (GitConfigurationSource gitConfigurationSource = source) {
+      assertServesEnvironmentsConcurrently(gitConfigurationSource);
+    }
+  }
+
+  @Test
+  void getConfigurationServesEnvironmentsConcurrently() throws Exception {
+    GitConfigurationSource source = getSourceBuilderForRemoteRepoWithDefaults()
+        .withRepositoryURI(remoteRepo.dirPath.toUri().toString())
+        .build();
+    source.init();
+
+    try (GitConfigurationSource gitConfigurationSource = source) {
+      assertServesEnvironmentsConcurrently(gitConfigurationSource);
+    }
+  }
+
   @Test
   void closeSucceedsWhenInitFails() throws Exception {
     GitConfigurationSource gitConfigurationSource = getSourceBuilderForRemoteRepoWithDefaults().build();
     gitConfigurationSource.close();
   }
 
+  private void assertServesEnvironmentsConcurrently(GitConfigurationSource source) throws Exception {
+    int readers = 8;
+    int reads = 25;
+    int commits = 10;
+    ExecutorService executor = Executors.newFixedThreadPool(readers);
+    CountDownLatch start = new CountDownLatch(1);
+
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int i = 0; i < readers; i++) {
+        boolean testEnv = i % 2 == 0;
+
+        results.add(executor.submit(() -> {
+          start.await();
+
+          for (int j = 0; j < reads; j++) {
+            if (testEnv) {
+              assertThat(source.getConfiguration(new ImmutableEnvironment(TEST_ENV_BRANCH)))
+                  .containsOnly(MapEntry.entry("some.setting", "testValue"));
+            } else {
+              assertThat(source.getConfiguration(new DefaultEnvironment()).getProperty("some.setting"))
+                  .startsWith("masterValue");
+            }
+          }
+
+          return null;
+        }));
+      }
+
+      start.countDown();
+      for (int i = 0; i < commits; i++) {
+        remoteRepo.changeProperty(Paths.get("application.properties"), "some.setting", "masterValue" + i);
+      }
+
+      for (Future<?> result : results) {
+        result.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(source.getConfiguration(new DefaultEnvironment()))
+        .containsOnly(MapEntry.entry("some.setting", "masterValue" + (commits - 1)));
+  }
+
   private GitConfigurationSource getSourceForRemoteRepoWithDefaults() {
     GitConfigurationSource source = getSourceBuilderForRemoteRepoWithDefaults().build();
     source.init();
@@ -188,6 +665,24 @@ class GitConfigurationSourceIntegrationTest {
     return source;
   }
 
+  private GitConfigurationSource getSourceWithoutCheckout() {
+    GitConfigurationSource source = getSourceBuilderForRemoteRepoWithDefaults()
+        .withoutCheckout()
+        .build();
+    source.init();
+
+    return source;
+  }
+
+  private GitConfigurationSource getSourceWithPersistentClone(Path clonePath) {
+    GitConfigurationSource source = getSourceBuilderForRemoteRepoWithDefaults()
+        .withLocalClonePath(clonePath)
+        .build();
+    source.init();
+
+    return source;
+  }
+
   private GitConfigurationSource getSourceForRemoteRepoWithBranchResolver(BranchResolver branchResolver) {
     GitConfigurationSource source = getSourceBuilderForRemoteRepoWithDefaults()
         .withBranchResolver(branchResolver)
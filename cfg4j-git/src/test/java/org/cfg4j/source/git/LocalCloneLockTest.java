@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.git;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.cfg4j.utils.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+class LocalCloneLockTest {
+
+  private Path cachePath;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    cachePath = Files.createTempDirectory("cfg4j-git-test");
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    new FileUtils().deleteDir(cachePath);
+  }
+
+  @Test
+  void acquireCreatesLockFileNextToClone() {
+    try (LocalCloneLock lock = LocalCloneLock.acquire(cachePath.resolve("clone"))) {
+      assertThat(cachePath.resolve("clone.lock")).isRegularFile();
+      assertThat(cachePath.resolve("clone")).doesNotExist();
+    }
+  }
+
+  @Test
+  void acquireBlocksUntilReleased() throws Exception {
+    Path clonePath = cachePath.resolve("clone");
+    CompletableFuture<Void> otherAcquired;
+
+    try (LocalCloneLock lock = LocalCloneLock.acquire(clonePath)) {
+      otherAcquired = CompletableFuture.runAsync(() -> LocalCloneLock.acquire(clonePath).close());
+
+      assertThat(otherAcquired).isNotDone();
+      try {
+        otherAcquired.get(200, TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+        // expected
+      }
+      assertThat(otherAcquired).isNotDone();
+    }
+
+    otherAcquired.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void acquireSucceedsAfterRelease() {
+    Path clonePath = cachePath.resolve("clone");
+
+    LocalCloneLock.acquire(clonePath).close();
+
+    try (LocalCloneLock lock = LocalCloneLock.acquire(clonePath)) {
+      assertThat(lock).isNotNull();
+    }
+  }
+
+  @Test
+  void acquireLocksClonesIndependently() {
+    try (LocalCloneLock lock = LocalCloneLock.acquire(cachePath.resolve("clone"));
+         LocalCloneLock otherLock = LocalCloneLock.acquire(cachePath.resolve("otherClone"))) {
+      assertThat(otherLock).isNotSameAs(lock);
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2015-2018 Norbert Potocki (norbert.potocki@nort.pl)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cfg4j.source.git;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.cfg4j.source.context.propertiesprovider.PropertiesProvider;
+import org.cfg4j.source.context.propertiesprovider.PropertyBasedPropertiesProvider;
+import org.cfg4j.source.context.propertiesprovider.YamlBasedPropertiesProvider;
+import org.eclipse.jgit.lib.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+class ParsedBlobCacheTest {
+
+  private static final ObjectId BLOB_ID = ObjectId.fromString("0123456789012345678901234567890123456789");
+  private static final ObjectId OTHER_BLOB_ID = ObjectId.fromString("9876543210987654321098765432109876543210");
+
+  private PropertiesProvider provider;
+  private Properties properties;
+  private ParsedBlobCache cache;
+
+  @BeforeEach
+  void setUp() {
+    provider = new PropertyBasedPropertiesProvider();
+    properties = new Properties();
+    cache = new ParsedBlobCache(2);
+  }
+
+  @Test
+  void getReturnsCachedProperties() {
+    cache.put(BLOB_ID, "application.properties", provider, properties);
+
+    assertThat(cache.get(ObjectId.fromString(BLOB_ID.name()), "application.properties", provider)).isSameAs(properties);
+  }
+
+  @Test
+  void getReturnsNullForOtherBlob() {
+    cache.put(BLOB_ID, "application.properties", provider, properties);
+
+    assertThat(cache.get(OTHER_BLOB_ID, "application.properties", provider)).isNull();
+  }
+
+  @Test
+  void getReturnsNullForOtherPath() {
+    cache.put(BLOB_ID, "application.properties", provider, properties);
+
+    assertThat(cache.get(BLOB_ID, "other/application.properties", provider)).isNull();
+  }
+
+  @Test
+  void getReturnsNullForOtherProvider() {
+    cache.put(BLOB_ID, "application.properties", provider, properties);
+
+    assertThat(cache.get(BLOB_ID, "application.properties", new YamlBasedPropertiesProvider())).isNull();
+  }
+
+  @Test
+  void putEvictsLeastRecentlyUsedEntry() {
+    cache.put(BLOB_ID, "first.properties", provider, properties);
+    cache.put(BLOB_ID, "second.properties", provider, properties);
+    cache.get(BLOB_ID, "first.properties", provider);
+
+    cache.put(BLOB_ID, "third.properties", provider, properties);
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get(BLOB_ID, "first.properties", provider)).isSameAs(properties);
+    assertThat(cache.get(BLOB_ID, "second.properties", provider)).isNull();
+  }
+
+  @Test
+  void emptyCacheDoesNotHoldEntries() {
+    cache = new ParsedBlobCache(0);
+
+    cache.put(BLOB_ID, "application.properties", provider, properties);
+
+    assertThat(cache.get(BLOB_ID, "application.properties", provider)).isNull();
+  }
+
+  @Test
+  void constructorThrowsOnNegativeSize() {
+    assertThatThrownBy(() -> new ParsedBlobCache(-1)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+}